@@ -0,0 +1,44 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Fixtures shared by the benchmarks.
+ */
+final class BenchmarkSupport {
+
+    /**
+     * The signing key from {@code application.properties}, so tokens have the production size.
+     */
+    static final String JWT_KEY = "f2e9ed03291b9e10bcf8c3915f2738fab05ef7d44e808f269a66b16d07dc6d91";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Keeps {@code java.util.logging} output from the JWT classes off the console, where it would swamp the
+     * benchmark output. Only WARNING and above are written.
+     */
+    static void quietJulLogging() {
+        java.util.logging.Logger.getLogger("").setLevel(Level.WARNING);
+    }
+
+    static Task task(int id) {
+        return new Task(id, "Task " + id, StatusOfTask.IN_PROCESS, Priority.MEDIUM_PRIORITY,
+                "Description of task " + id, "executor" + id + "@example.com");
+    }
+
+    static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+}
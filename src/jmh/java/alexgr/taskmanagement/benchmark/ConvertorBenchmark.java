@@ -0,0 +1,66 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.dto.user.User;
+import alexgr.taskmanagement.entity.TaskEntity;
+import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.mapper.TaskConvertor;
+import alexgr.taskmanagement.mapper.UserConvertor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity/DTO convertors used on task creation, task reads and user registration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConvertorBenchmark {
+
+    private final TaskConvertor taskConvertor = new TaskConvertor();
+    private final UserConvertor userConvertor = new UserConvertor();
+    private Task task;
+    private TaskEntity taskEntity;
+    private User user;
+    private UpdateUser updateUser;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkSupport.task(1);
+        taskEntity = taskConvertor.convertToEntity(task);
+        user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5bVQ5GJ8mY5F9V4t5pG6rW2");
+        updateUser = new UpdateUser();
+        updateUser.setFirstName("Jane");
+        updateUser.setLastName("Roe");
+        updateUser.setEmail("jane.roe@example.com");
+    }
+
+    @Benchmark
+    public TaskEntity taskToEntity() {
+        return taskConvertor.convertToEntity(task);
+    }
+
+    @Benchmark
+    public Task taskToDto() {
+        return taskConvertor.convertToDto(taskEntity);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return userConvertor.convertToEntity(user);
+    }
+
+    @Benchmark
+    public UserEntity updateUserToEntity() {
+        return userConvertor.updateConvertor(updateUser);
+    }
+}
@@ -0,0 +1,150 @@
+package alexgr.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for comparing the application with and without the {@code virtual-threads}
+ * profile.
+ * <p>
+ * Logs in through {@code /authenticate}, then keeps {@code --concurrency} clients sending GET requests to
+ * {@code --path} for {@code --warmup} plus {@code --duration} seconds. Only requests completed after the warm-up
+ * are measured. Throughput, error count and latency percentiles are printed and written as JSON to {@code --out}.
+ * </p>
+ * <pre>
+ * mvn -Pjmh -DskipTests test-compile exec:exec@load-test \
+ *     -Dload.args="--label platform --email admin@mail.ru --password secret --path /task/search?status=PENDING"
+ * </pre>
+ */
+public final class HttpLoadGenerator {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int MAX_SAMPLES = 5_000_000;
+
+    private HttpLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String path = options.getOrDefault("path", "/task/search");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String label = options.getOrDefault("label", "run");
+        Path out = Path.of(options.getOrDefault("out", "target/load-" + label + ".json"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String token = login(client, baseUrl, options.get("email"), options.get("password"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long[] samples = new long[MAX_SAMPLES];
+        AtomicLong recorded = new AtomicLong();
+        LongAdder errors = new LongAdder();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < stopAt) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start < measureFrom || end > stopAt) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.increment();
+                            continue;
+                        }
+                        long slot = recorded.getAndIncrement();
+                        if (slot < samples.length) {
+                            samples[(int) slot] = end - start;
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        int count = (int) Math.min(recorded.get(), samples.length);
+        long[] latencies = Arrays.copyOf(samples, count);
+        Arrays.sort(latencies);
+        String json = String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"path\":\"%s\",\"concurrency\":%d,\"durationSeconds\":%d,\"requests\":%d,"
+                        + "\"errors\":%d,\"throughput\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,"
+                        + "\"p999Ms\":%.2f,\"maxMs\":%.2f}%n",
+                label, path, concurrency, duration.toSeconds(), count, errors.sum(),
+                count / (double) duration.toSeconds(), percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), percentile(latencies, 0.999), percentile(latencies, 1.0));
+        System.out.print(json);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, json);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        if (email == null || password == null) {
+            throw new IllegalArgumentException("--email and --password are required");
+        }
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,52 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.utils.JwtTokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures issuing, parsing and verifying JWTs with {@link JwtTokenService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtTokenServiceBenchmark {
+
+    private JwtTokenService tokenService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietJulLogging();
+        tokenService = new JwtTokenService();
+        ReflectionTestUtils.setField(tokenService, "KEY", BenchmarkSupport.JWT_KEY);
+        userDetails = new User("john.doe@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = tokenService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return tokenService.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return tokenService.IsTokenValid(token, userDetails);
+    }
+}
@@ -0,0 +1,290 @@
+package alexgr.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the GraalVM native image of the application with the JVM jar against one PostgreSQL database.
+ * <p>
+ * Each build is started with the {@code prod} profile and measured for: the time from process start to the first
+ * successful {@code /register}, a smoke flow through the reflective paths (register, {@code /authenticate}, which
+ * signs a JWT, then {@code /task/create}, {@code /task/search} and {@code /task/comment/{id}}, each verifying the
+ * token and reading the user through the Ehcache second-level cache), the resident set size after the smoke
+ * flow, the throughput of {@code --concurrency} closed-loop clients on {@code /task/search} for
+ * {@code --duration} seconds, and the peak resident set size. Without {@code --db-url} a {@code postgres:16}
+ * container is started with Docker and removed at the end. The results are written as a Markdown table to
+ * {@code --out}.
+ * </p>
+ * <pre>
+ * mvn -Pnative -DskipTests verify
+ * java src/jmh/java/alexgr/taskmanagement/benchmark/NativeImageReport.java \
+ *     --native target/TaskManagement --jar target/TaskManagement-0.0.1-SNAPSHOT.jar
+ * </pre>
+ * Linux only: the resident set size is read from {@code /proc/<pid>/status}.
+ */
+public final class NativeImageReport {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final String PASSWORD = "native-pass1";
+
+    private NativeImageReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        Path out = Path.of(options.getOrDefault("out", "target/native-report.md"));
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        Map<String, List<String>> builds = new LinkedHashMap<>();
+        builds.put("native image", List.of(Path.of(required(options, "native")).toAbsolutePath().toString()));
+        if (options.containsKey("jar")) {
+            builds.put("JVM jar", List.of(java, "-jar", Path.of(options.get("jar")).toAbsolutePath().toString()));
+        }
+
+        String container = null;
+        Map<String, String> database = new HashMap<>();
+        if (options.containsKey("db-url")) {
+            database.put("DB_URL", options.get("db-url"));
+            database.put("DB_USERNAME", options.getOrDefault("db-user", "postgres"));
+            database.put("DB_PASSWORD", options.getOrDefault("db-password", ""));
+        } else {
+            container = startPostgres();
+            database.put("DB_URL", "jdbc:postgresql://localhost:55432/postgres");
+            database.put("DB_USERNAME", "postgres");
+            database.put("DB_PASSWORD", "postgres");
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, List<String>> build : builds.entrySet()) {
+                Map<String, String> environment = new HashMap<>(database);
+                environment.put("SERVER_PORT", String.valueOf(port));
+                environment.put("MANAGEMENT_PORT", String.valueOf(port + 1));
+                environment.put("SPRING_PROFILES_ACTIVE", "prod");
+                Result result = measure(build.getKey(), build.getValue(), environment, "http://localhost:" + port,
+                        concurrency, duration);
+                results.put(build.getKey(), result);
+                System.out.printf(Locale.ROOT, "%-14s first request %6d ms  RSS %5d MiB  peak %5d MiB  %8.1f req/s%n",
+                        build.getKey(), result.firstRequestMillis(), result.rssKib() / 1024,
+                        result.peakRssKib() / 1024, result.throughput());
+            }
+        } finally {
+            if (container != null) {
+                new ProcessBuilder("docker", "rm", "-f", container).redirectErrorStream(true).start()
+                        .waitFor(1, TimeUnit.MINUTES);
+            }
+        }
+
+        StringBuilder report = new StringBuilder()
+                .append("| Build | First request, ms | RSS after smoke, MiB | Peak RSS, MiB | /task/search, req/s |\n")
+                .append("|---|---:|---:|---:|---:|\n");
+        results.forEach((name, result) -> report.append(String.format(Locale.ROOT, "| %s | %d | %d | %d | %.1f |%n",
+                name, result.firstRequestMillis(), result.rssKib() / 1024, result.peakRssKib() / 1024,
+                result.throughput())));
+        report.append(String.format(Locale.ROOT, "%n%d clients for %d s, smoke flow passed for every build, %s%n",
+                concurrency, duration.toSeconds(), Runtime.version()));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report);
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    private static Result measure(String name, List<String> command, Map<String, String> environment, String baseUrl,
+                                  int concurrency, Duration duration) throws Exception {
+        Path log = Path.of("target", name.replace(' ', '-') + ".log");
+        Files.createDirectories(log.getParent());
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile());
+        builder.environment().putAll(environment);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String email = name.replace(' ', '-') + "-" + System.currentTimeMillis() + "@mail.ru";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            awaitRegistration(client, baseUrl, credentials, process, start, log);
+            long firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            String token = match(TOKEN, send(client, post(baseUrl + "/authenticate", null, credentials)), "token");
+            String task = "{\"name\":\"Native smoke " + email + "\",\"statusOfTask\":\"EXPECTATION\","
+                    + "\"priority\":\"HIGH_PRIORITY\",\"description\":\"smoke\",\"executor\":\"" + email + "\"}";
+            String taskId = match(ID, send(client, post(baseUrl + "/task/create", token, task)), "task id");
+            HttpRequest search = get(baseUrl + "/task/search", token);
+            if (!send(client, search).contains(email)) {
+                throw new IllegalStateException(name + ": the created task is missing from /task/search");
+            }
+            send(client, post(baseUrl + "/task/comment/" + taskId, token, "{\"comment\":\"smoke\"}"));
+            long rssKib = status(process, "VmRSS");
+
+            double throughput = throughput(client, search, concurrency, duration);
+            return new Result(firstRequestMillis, rssKib, status(process, "VmHWM"), throughput);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void awaitRegistration(HttpClient client, String baseUrl, String credentials, Process process,
+                                          long start, Path log) throws Exception {
+        HttpRequest register = post(baseUrl + "/register", null, credentials);
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                send(client, register);
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new IllegalStateException("No response within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static double throughput(HttpClient client, HttpRequest request, int concurrency, Duration duration) {
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long stopAt = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < stopAt) {
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400) {
+                                completed.increment();
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        if (errors.sum() > 0) {
+            System.out.println(errors.sum() + " failed requests during the throughput run");
+        }
+        return completed.sum() / (double) duration.toSeconds();
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static String match(Pattern pattern, String body, String what) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No " + what + " in " + body);
+        }
+        return matcher.group(1);
+    }
+
+    /**
+     * Reads a memory figure in KiB, such as {@code VmRSS} or {@code VmHWM}, of the process.
+     */
+    private static long status(Process process, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+            if (line.startsWith(field + ":")) {
+                return Long.parseLong(line.substring(field.length() + 1).replace("kB", "").trim());
+            }
+        }
+        throw new IllegalStateException("No " + field + " for process " + process.pid());
+    }
+
+    private static String startPostgres() throws IOException, InterruptedException {
+        Process run = new ProcessBuilder("docker", "run", "-d", "--rm", "-e", "POSTGRES_PASSWORD=postgres",
+                "-p", "55432:5432", "postgres:16").redirectErrorStream(true).start();
+        String container = new String(run.getInputStream().readAllBytes()).trim();
+        if (run.waitFor() != 0) {
+            throw new IllegalStateException("docker run failed: " + container);
+        }
+        for (int i = 0; i < 120; i++) {
+            Process ready = new ProcessBuilder("docker", "exec", container, "pg_isready", "-U", "postgres",
+                    "-h", "localhost").redirectErrorStream(true).start();
+            ready.getInputStream().readAllBytes();
+            if (ready.waitFor() == 0) {
+                return container;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("PostgreSQL in container " + container + " did not become ready");
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private record Result(long firstRequestMillis, long rssKib, long peakRssKib, double throughput) {
+    }
+}
@@ -0,0 +1,130 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.config.SecurityConfig;
+import alexgr.taskmanagement.filter.JwtAuthFilter;
+import alexgr.taskmanagement.utils.JwtTokenService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a request passing through the application's Spring Security filter chain.
+ * <p>
+ * The chain is built from the real {@link SecurityConfig}, {@link JwtAuthFilter} and {@link JwtTokenService}
+ * with the URL lists from {@code application.properties}; users come from an in-memory
+ * {@link UserDetailsService} so no database is involved.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SecurityFilterChainBenchmark {
+
+    private static final String ADMIN = "admin@example.com";
+
+    private AnnotationConfigWebApplicationContext context;
+    private Filter filterChain;
+    private String adminToken;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSupport.quietJulLogging();
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources()
+                .addFirst(new ResourcePropertySource("classpath:application.properties"));
+        context.register(InMemoryUsers.class, SecurityConfig.class,
+                JwtAuthFilter.class, JwtTokenService.class);
+        context.refresh();
+        filterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        adminToken = context.getBean(JwtTokenService.class)
+                .generateToken(context.getBean(UserDetailsService.class).loadUserByUsername(ADMIN));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * An admin request with a valid bearer token to an admin-only endpoint.
+     */
+    @Benchmark
+    public int authenticatedAdminRequest() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/allPaged");
+        request.addHeader("Authorization", "Bearer " + adminToken);
+        return filter(request);
+    }
+
+    /**
+     * A request to a whitelisted endpoint without a token.
+     */
+    @Benchmark
+    public int anonymousWhitelistedRequest() throws IOException, ServletException {
+        return filter(new MockHttpServletRequest("POST", "/authenticate"));
+    }
+
+    /**
+     * A request to a protected endpoint without a token, which is rejected.
+     */
+    @Benchmark
+    public int rejectedRequest() throws IOException, ServletException {
+        return filter(new MockHttpServletRequest("GET", "/task/search"));
+    }
+
+    private int filter(MockHttpServletRequest request) throws IOException, ServletException {
+        request.setServletPath(request.getRequestURI());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filterChain.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+
+    /**
+     * Stands in for {@code ApplicationConfig}, whose user details service needs the database. Spring MVC is
+     * enabled because the security rules use MVC request matchers.
+     */
+    @Configuration
+    @EnableWebMvc
+    static class InMemoryUsers {
+
+        @Bean
+        UserDetailsService userDetailsService() {
+            String password = "{noop}password";
+            return new InMemoryUserDetailsManager(
+                    User.withUsername(ADMIN).password(password).roles("ADMIN").build(),
+                    User.withUsername("user@example.com").password(password).roles("USER").build());
+        }
+
+        @Bean
+        AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+            DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+            authenticationProvider.setUserDetailsService(userDetailsService);
+            return authenticationProvider;
+        }
+    }
+}
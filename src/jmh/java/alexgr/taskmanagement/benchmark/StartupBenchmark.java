@@ -0,0 +1,154 @@
+package alexgr.taskmanagement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the application takes to refresh its context in each startup configuration.
+ * <p>
+ * The packaged jar is extracted with Spring Boot's {@code tools} jar mode, a class-data sharing archive is recorded
+ * by a training run, and every configuration is then started {@code --runs} times with
+ * {@code -Dspring.context.exit=onRefresh} and the {@code build} profile, so no database is needed. The refresh
+ * (bean creation, Hibernate, springdoc, Tomcat setup) is the part of time-to-first-request that AOT and CDS
+ * shorten; binding the port and the database work of the ready listeners come on top in production. The median
+ * wall time of each configuration is printed and written as a Markdown table to {@code --out}.
+ * </p>
+ * <pre>
+ * mvn -Pstartup -DskipTests verify [-Dstartup.runs=5]
+ * java src/jmh/java/alexgr/taskmanagement/benchmark/StartupBenchmark.java --jar target/app.jar
+ * </pre>
+ * The jar must come from the {@code startup} Maven profile, which adds the AOT-generated classes.
+ */
+public final class StartupBenchmark {
+
+    private static final long TIMEOUT_MINUTES = 5;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path jar = Path.of(required(options, "jar")).toAbsolutePath();
+        Path work = Path.of(options.getOrDefault("work", "target/startup")).toAbsolutePath();
+        Path out = Path.of(options.getOrDefault("out", "target/startup-report.md"));
+        String profiles = options.getOrDefault("profiles", "prod,build");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        Path extracted = work.resolve("application");
+        Path extractedJar = extracted.resolve(jar.getFileName());
+        Path archive = extracted.resolve("application.jsa");
+        deleteRecursively(work);
+        Files.createDirectories(work);
+        run(work, List.of(java, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination",
+                extracted.toString()), work.resolve("extract.log"));
+
+        List<String> refresh = List.of("-Dspring.context.exit=onRefresh", "-Dspring.profiles.active=" + profiles);
+        List<String> aot = List.of("-Dspring.aot.enabled=true");
+        run(extracted, command(java, List.of("-XX:ArchiveClassesAtExit=" + archive), aot, refresh, extractedJar),
+                work.resolve("training.log"));
+
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        configurations.put("fat jar", command(java, List.of(), List.of(), refresh, jar));
+        configurations.put("extracted jar", command(java, List.of(), List.of(), refresh, extractedJar));
+        configurations.put("extracted + AOT", command(java, List.of(), aot, refresh, extractedJar));
+        configurations.put("extracted + AOT + CDS",
+                command(java, List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto"), aot, refresh, extractedJar));
+
+        Map<String, Long> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = run(extracted, configuration.getValue(), work.resolve("run.log"));
+            }
+            Arrays.sort(millis);
+            medians.put(configuration.getKey(), millis[runs / 2]);
+            System.out.printf(Locale.ROOT, "%-24s median %6d ms  runs %s%n", configuration.getKey(),
+                    millis[runs / 2], Arrays.toString(millis));
+        }
+
+        long baseline = medians.get("fat jar");
+        StringBuilder report = new StringBuilder()
+                .append("| Configuration | Median context refresh, ms | Of fat jar |\n")
+                .append("|---|---:|---:|\n");
+        medians.forEach((name, millis) -> report.append(String.format(Locale.ROOT, "| %s | %d | %.0f%% |%n",
+                name, millis, 100.0 * millis / baseline)));
+        report.append(String.format(Locale.ROOT, "%n%d runs per configuration, profiles %s, %s%n", runs, profiles,
+                Runtime.version()));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report);
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    private static List<String> command(String java, List<String> jvm, List<String> aot, List<String> refresh,
+                                        Path jar) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvm);
+        command.addAll(aot);
+        command.addAll(refresh);
+        command.add("-jar");
+        command.add(jar.toString());
+        return command;
+    }
+
+    private static long run(Path directory, List<String> command, Path log) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (!process.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Timed out: " + String.join(" ", command) + ", see " + log);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Exit code " + process.exitValue() + ": " + String.join(" ", command)
+                    + ", see " + log);
+        }
+        return millis;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
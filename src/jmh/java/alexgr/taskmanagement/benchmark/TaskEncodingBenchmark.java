@@ -0,0 +1,76 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.dto.task.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the size and the encoding cost of a page of tasks in each negotiable format.
+ * <p>
+ * The mappers are set up as in {@code MessageEncodingConfig}; {@code json-gzip} adds the compression Tomcat
+ * applies to JSON responses above {@code server.compression.min-response-size}. The encoded size per task of the
+ * current parameters is printed once per fork, the benchmark itself measures encoding only, since the server
+ * pays for that on every request.
+ * </p>
+ * <pre>
+ * mvn -Pjmh -DskipTests verify -Djmh.args="TaskEncodingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TaskEncodingBenchmark {
+
+    @Param({"json", "json-gzip", "cbor", "smile"})
+    private String format;
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private PagedModel<Task> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json", "json-gzip" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()).build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        gzip = format.endsWith("-gzip");
+        page = new PagedModel<>(new PageImpl<>(BenchmarkSupport.tasks(pageSize), PageRequest.of(0, pageSize),
+                pageSize * 10L));
+        int bytes = encodePage().length;
+        System.out.printf(Locale.ROOT, "%n%s, %d tasks: %d bytes, %.1f bytes per task%n", format, pageSize, bytes,
+                bytes / (double) pageSize);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+}
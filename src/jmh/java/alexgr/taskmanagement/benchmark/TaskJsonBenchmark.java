@@ -0,0 +1,60 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.dto.task.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson encoding and decoding of {@link Task} and of a page of tasks.
+ * <p>
+ * The mapper is built the way Spring Boot builds it, and pages are written as {@link PagedModel} because the
+ * application serializes pages {@code VIA_DTO}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TaskJsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private byte[] taskJson;
+    private PagedModel<Task> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        task = BenchmarkSupport.task(1);
+        taskJson = objectMapper.writeValueAsBytes(task);
+        page = new PagedModel<>(new PageImpl<>(BenchmarkSupport.tasks(pageSize), PageRequest.of(0, pageSize),
+                pageSize * 10L));
+    }
+
+    @Benchmark
+    public byte[] encodeTask() throws IOException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public Task decodeTask() throws IOException {
+        return objectMapper.readValue(taskJson, Task.class);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,44 @@
+package alexgr.taskmanagement.benchmark;
+
+import alexgr.taskmanagement.dto.user.UserSuggestion;
+import alexgr.taskmanagement.service.impl.UserSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures prefix lookups in {@link UserSearchIndex} with a directory of 50,000 users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UserSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Alex", "Maria", "Ivan", "Olga", "Peter", "Anna"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Ivanov", "Petrova", "Brown", "Sidorov"};
+
+    @Param({"j", "jo", "alex.smith1"})
+    private String prefix;
+
+    private UserSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new UserSearchIndex(null, 0);
+        for (int i = 1; i <= 50_000; i++) {
+            String firstName = FIRST_NAMES[i % FIRST_NAMES.length];
+            String lastName = LAST_NAMES[i % LAST_NAMES.length];
+            index.put(new UserSuggestion(i, (firstName + "." + lastName + i + "@example.com").toLowerCase(),
+                    firstName, lastName));
+        }
+    }
+
+    @Benchmark
+    public List<UserSuggestion> topTen() {
+        return index.search(prefix, 10);
+    }
+}
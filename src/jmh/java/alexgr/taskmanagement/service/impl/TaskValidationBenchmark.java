@@ -0,0 +1,40 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TaskServiceImpl#validateInput(Task)}, which runs on every task create and update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TaskValidationBenchmark {
+
+    private final Task valid = new Task(1, "Task", StatusOfTask.IN_PROCESS, Priority.HIGH_PRIORITY, "Description",
+            "executor@example.com");
+    private final Task invalid = new Task(1, "Task", null, Priority.HIGH_PRIORITY, "Description",
+            "executor@example.com");
+
+    @Benchmark
+    public void validTask() {
+        TaskServiceImpl.validateInput(valid);
+    }
+
+    @Benchmark
+    public void invalidTask(Blackhole blackhole) {
+        try {
+            TaskServiceImpl.validateInput(invalid);
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+}
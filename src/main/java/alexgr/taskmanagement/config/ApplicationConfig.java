@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -16,8 +17,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * Configuration class for setting up authentication and password encoding in a Spring application.
  * This class is annotated with {@code @Configuration} to indicate that it contains bean definitions
  * to be managed by the Spring container. It uses {@code @RequiredArgsConstructor} to generate a
- * constructor with required arguments for final fields and {@code @EnableJpaAuditing} to enable
- * JPA auditing features.
+ * constructor with required arguments for final fields, {@code @EnableJpaAuditing} to enable
+ * JPA auditing features and {@code @EnableScheduling} for background maintenance jobs.
  *
  * <p>The class configures the following beans:</p>
  * <ul>
@@ -33,6 +34,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 @RequiredArgsConstructor
 @EnableJpaAuditing
+@EnableScheduling
 public class ApplicationConfig {
     private final UserDetailsService userDetailsService;
 
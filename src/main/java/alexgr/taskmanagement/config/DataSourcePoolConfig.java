@@ -0,0 +1,53 @@
+package alexgr.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration class for sizing the HikariCP connection pool from the number of available cores.
+ * <p>
+ * When {@code datasource.pool.connections-per-core} is greater than zero, the maximum pool size is set to
+ * {@code cores * connections-per-core + effective-spindles} (the starting point suggested by the HikariCP pool
+ * sizing guide) and the pool is made fixed-size. An explicit {@code spring.datasource.hikari.maximum-pool-size}
+ * is left as configured.
+ * </p>
+ */
+@Configuration
+public class DataSourcePoolConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    /**
+     * Creates a post-processor that sizes every {@link HikariDataSource} before its pool is started.
+     *
+     * @param environment the environment to read the sizing properties from.
+     * @return the post-processor.
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        int perCore = environment.getProperty("datasource.pool.connections-per-core", Integer.class, 0);
+        int spindles = environment.getProperty("datasource.pool.effective-spindles", Integer.class, 1);
+        boolean explicit = environment.containsProperty("spring.datasource.hikari.maximum-pool-size");
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && perCore > 0 && !explicit) {
+                    int size = poolSizeFor(Runtime.getRuntime().availableProcessors(), perCore, spindles);
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    logger.info("Connection pool {} sized to {} connections", beanName, size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int poolSizeFor(int cores, int perCore, int spindles) {
+        return Math.max(2, cores * perCore + Math.max(0, spindles));
+    }
+}
@@ -0,0 +1,33 @@
+package alexgr.taskmanagement.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration of the Flyway migrations run at startup.
+ *
+ * <p>Without AOT, {@code spring.flyway.enabled=false} removes Flyway altogether. With
+ * {@code -Dspring.aot.enabled=true} the bean definitions were fixed when the jar was built, so the property is
+ * checked again before migrating; this lets the {@code build} profile refresh the AOT-processed context without a
+ * database.</p>
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Migrates the schema unless Flyway is disabled for this run.
+     *
+     * @param environment the environment holding {@code spring.flyway.enabled}.
+     * @return the migration strategy used by Spring Boot's Flyway initializer.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            }
+        };
+    }
+}
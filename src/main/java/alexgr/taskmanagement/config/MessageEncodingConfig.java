@@ -0,0 +1,53 @@
+package alexgr.taskmanagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the responses, negotiated with the {@code Accept} header next to JSON.
+ *
+ * <p>CBOR ({@value #CBOR_VALUE}) and Smile ({@value #SMILE_VALUE}) write the same document model as JSON, so
+ * {@code Page<Task>} and the DTOs need no changes, but numbers, dates and lengths are binary and nothing is quoted
+ * or escaped. The mappers come from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so the modules and
+ * {@code spring.jackson.*} settings of the JSON mapper apply to them as well. Smile additionally writes a repeated
+ * field name or short string value, such as {@code HIGH_PRIORITY} on every task of a page, as a one-byte
+ * back-reference. CBOR is kept to the plain encoding without string references, which every CBOR library
+ * decodes. JSON stays the first converter, so a request without an {@code Accept} header still gets JSON.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class MessageEncodingConfig {
+
+    public static final String CBOR_VALUE = "application/cbor";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Writes and reads {@value #CBOR_VALUE}.
+     *
+     * @param builder Spring Boot's prototype builder of the JSON mapper.
+     * @return the converter replacing Spring MVC's default CBOR converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Writes and reads {@value #SMILE_VALUE}, with back-references for repeated names and values.
+     *
+     * @param builder Spring Boot's prototype builder of the JSON mapper.
+     * @return the converter replacing Spring MVC's default Smile converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,42 @@
+package alexgr.taskmanagement.config;
+
+import alexgr.taskmanagement.utils.SqlStatementCounter;
+import alexgr.taskmanagement.utils.TraceSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the metrics that need hooks into Hibernate.
+ * <p>
+ * Request latency ({@code http.server.requests}), Hibernate session statistics ({@code hibernate.*}) and the
+ * connection pool ({@code hikaricp.*}) are bound by Spring Boot; their histograms are configured in
+ * {@code application.properties}. This class registers the {@link SqlStatementCounter} that backs the per-request
+ * statement count and the {@link TraceSessionEventListener} that times SQL for request tracing.
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Registers the {@link SqlStatementCounter} as Hibernate's statement inspector.
+     *
+     * @return the customizer adding the inspector to the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Registers the {@link TraceSessionEventListener} with every Hibernate session.
+     *
+     * @return the customizer adding the listener to the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer traceSessionEventListener() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                TraceSessionEventListener.class.getName());
+    }
+}
@@ -0,0 +1,93 @@
+package alexgr.taskmanagement.config;
+
+import alexgr.taskmanagement.dto.event.TaskEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reachability metadata of a GraalVM native image, for the code Spring's AOT processing cannot see through.
+ *
+ * <p>Beans, JPA entities, repositories and the Jackson DTOs of the controllers get their hints from Spring Boot's AOT
+ * processing, and the {@code native} Maven profile adds the GraalVM metadata repository for the libraries. What is
+ * left is listed here: the classes jjwt creates by name, the Ehcache provider Hibernate loads by name, the
+ * {@code ehcache.xml} resource with the JAXB model that reads it, and the event record the NDJSON sink writes
+ * with Jackson. The hints are only read when the native image is built; a JVM run ignores them.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageHintsConfig.LibraryHints.class)
+@RegisterReflectionForBinding(TaskEvent.class)
+public class NativeImageHintsConfig {
+
+    /**
+     * Registers the reflective access and the resources of jjwt and Ehcache.
+     */
+    static class LibraryHints implements RuntimeHintsRegistrar {
+
+        /**
+         * Created by {@code Jwts.builder()} and {@code Jwts.parserBuilder()} through {@code Class.forName}.
+         */
+        private static final String[] JJWT_CLASSES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec"
+        };
+
+        /**
+         * Named in {@code application.properties} and instantiated by Hibernate and JCache.
+         */
+        private static final String[] CACHE_CLASSES = {
+                "org.ehcache.jsr107.EhcacheCachingProvider",
+                "org.hibernate.cache.jcache.internal.JCacheRegionFactory"
+        };
+
+        private static final String EHCACHE_XML_MODEL = "classpath*:org/ehcache/xml/model/*.class";
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            for (String type : CACHE_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("ehcache.xml");
+            for (String type : ehcacheXmlModel(classLoader)) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+        }
+
+        /**
+         * Lists the JAXB classes Ehcache binds {@code ehcache.xml} to; they change between Ehcache versions, so
+         * they are read from the jar when the image is built rather than listed by hand.
+         */
+        private static List<String> ehcacheXmlModel(ClassLoader classLoader) {
+            try {
+                List<String> types = new ArrayList<>();
+                for (Resource resource : new PathMatchingResourcePatternResolver(classLoader)
+                        .getResources(EHCACHE_XML_MODEL)) {
+                    String file = resource.getFilename();
+                    if (file != null && !file.startsWith("package-info")) {
+                        types.add("org.ehcache.xml.model." + file.substring(0, file.length() - ".class".length()));
+                    }
+                }
+                return types;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not list the Ehcache XML model", e);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package alexgr.taskmanagement.config;
 import alexgr.taskmanagement.filter.JwtAuthFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -13,6 +14,8 @@ import org.springframework.security.config.annotation.web.configurers.LogoutConf
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * SecurityConfig is a configuration class that sets up security rules and filters for the application.
@@ -35,12 +38,17 @@ public class SecurityConfig {
     @Value("${security.auth.adminlist}")
     private String[] ADMIN_LIST;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     /**
      * Configures the HTTP security filter chain for the application.
      * <p>
      * This method disables CSRF, basic authentication, and form login. It defines the access rules for various endpoints:
      * <ul>
      *     <li>Endpoints listed in {@code AUTH_WHITELIST} are accessible to everyone without authentication.</li>
+     *     <li>The Prometheus and health endpoints are accessible without authentication on the separate
+     *     management port ({@code management.server.port}), if one is configured.</li>
      *     <li>Endpoints listed in {@code ADMIN_LIST} are accessible only to users with the "ADMIN" role.</li>
      *     <li>All other endpoints require authentication.</li>
      * </ul>
@@ -56,6 +64,7 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorization ->
                         authorization
+                                .requestMatchers(managementScrape()).permitAll()
                                 .requestMatchers(ADMIN_LIST).hasRole("ADMIN")
                                 .requestMatchers(AUTH_WHITELIST).permitAll()
                                 .anyRequest().authenticated()
@@ -70,6 +79,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Matches scrapes of the Prometheus and health endpoints that arrive on the management port.
+     * The management port is expected to be reachable only from inside the host or cluster.
+     *
+     * @return the request matcher.
+     */
+    private RequestMatcher managementScrape() {
+        RequestMatcher onManagementPort = request -> managementPort > 0 && request.getLocalPort() == managementPort;
+        return new AndRequestMatcher(onManagementPort, EndpointRequest.to("prometheus", "health"));
+    }
+
 
 
 }
@@ -1,24 +1,40 @@
 package alexgr.taskmanagement.config;
 
+import alexgr.taskmanagement.controller.RequestTraceAdvice;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 /**
  * WebMvcConfig is a configuration class that customizes the behavior of Spring MVC.
  * <p>
- * This class configures CORS (Cross-Origin Resource Sharing) settings and sets up OpenAPI documentation
- * for the application. It ensures that the application can handle cross-origin requests and provides
+ * This class configures CORS (Cross-Origin Resource Sharing) settings, registers the request tracing interceptor
+ * and sets up OpenAPI documentation for the application. It ensures that the application can handle cross-origin requests and provides
  * API documentation with security integration.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final RequestTraceAdvice requestTraceAdvice;
+
+    /**
+     * Registers the interceptor that times the controller phase of traced requests.
+     *
+     * @param registry the {@link InterceptorRegistry} to add the interceptor to
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestTraceAdvice);
+    }
+
     /**
      * Configures CORS (Cross-Origin Resource Sharing) mappings.
      * <p>
@@ -38,6 +38,7 @@ public class AuthController {
      */
     @Operation(summary = "Register a new user", description = "Handles user registration requests")
     @ApiResponse(responseCode = "200", description = "User successfully registered")
+    @ApiResponse(responseCode = "409", description = "Email is already registered")
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponse> register(@RequestBody AuthPayload authPayload) {
         return ResponseEntity.ok(authService.register(authPayload));
@@ -0,0 +1,114 @@
+package alexgr.taskmanagement.controller;
+
+import alexgr.taskmanagement.dto.diagnostics.FlightRecordingDump;
+import alexgr.taskmanagement.dto.diagnostics.SlowRequest;
+import alexgr.taskmanagement.utils.FlightRecorderService;
+import alexgr.taskmanagement.utils.SlowRequestRecorder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * REST controller for runtime diagnostics, available to administrators only.
+ */
+@RestController
+@RequestMapping("/diagnostics")
+@Tag(name = "DiagnosticsController", description = "Диагностика производительности (только для администраторов)")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+    private final FlightRecorderService flightRecorderService;
+
+    /**
+     * Returns the most recent slow requests captured by request tracing.
+     *
+     * @param limit the maximum number of requests to return
+     * @return a {@link ResponseEntity} containing the slow requests, newest first
+     */
+    @Operation(summary = "Последние медленные запросы", description = "Возвращает запросы, выполнявшиеся дольше " +
+            "request-tracing.slow-ms, с разбивкой времени по фазам и текстом SQL. Новые — первыми. " +
+            "Список пуст, если трассировка выключена (request-tracing.enabled).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список медленных запросов",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SlowRequest.class)))),
+            @ApiResponse(responseCode = "403", description = "Доступ только для администраторов", content = @Content)
+    })
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequest>> getSlowRequests(@RequestParam(defaultValue = "100") int limit) {
+        List<SlowRequest> requests = slowRequestRecorder.recent();
+        return ResponseEntity.ok(requests.subList(0, Math.min(Math.max(0, limit), requests.size())));
+    }
+
+    /**
+     * Writes the last minutes of the continuous flight recording to a file on the server.
+     *
+     * @param minutes how many minutes back to include
+     * @return a {@link ResponseEntity} containing the dump metadata, or 503 if the recording is not running
+     */
+    @Operation(summary = "Выгрузка записи JDK Flight Recorder", description = "Сохраняет последние minutes минут " +
+            "непрерывной записи JFR (не больше jfr.continuous.max-age-minutes) в файл в каталоге jfr.dump-dir. " +
+            "Файл скачивается через GET /diagnostics/jfr/{fileName} и открывается в JDK Mission Control.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Файл записан",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FlightRecordingDump.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ только для администраторов", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Непрерывная запись выключена", content = @Content)
+    })
+    @PostMapping("/jfr/dump")
+    public ResponseEntity<FlightRecordingDump> dumpFlightRecording(@RequestParam(defaultValue = "10") int minutes) {
+        if (!flightRecorderService.isRecording()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(flightRecorderService.dump(minutes));
+    }
+
+    /**
+     * Downloads a file written by {@link #dumpFlightRecording(int)}.
+     *
+     * @param fileName the file name from the dump metadata
+     * @return a {@link ResponseEntity} containing the recording, or 404 if there is no such dump
+     */
+    @Operation(summary = "Скачать файл записи JFR", description = "Отдаёт файл, созданный POST /diagnostics/jfr/dump.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Файл записи",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "403", description = "Доступ только для администраторов", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Файл не найден", content = @Content)
+    })
+    @GetMapping("/jfr/{fileName:.+}")
+    public ResponseEntity<Resource> downloadFlightRecording(@PathVariable String fileName) {
+        Path file = flightRecorderService.resolveDump(fileName);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
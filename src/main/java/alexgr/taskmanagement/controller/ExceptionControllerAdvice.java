@@ -1,8 +1,17 @@
 package alexgr.taskmanagement.controller;
 
+import alexgr.taskmanagement.exceptions.CommentQueueFullException;
 import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.exceptions.IdempotencyKeyInProgressException;
+import alexgr.taskmanagement.exceptions.MailDuplicationException;
+import alexgr.taskmanagement.exceptions.InvalidSyncCursorException;
+import alexgr.taskmanagement.exceptions.SyncCursorExpiredException;
+import alexgr.taskmanagement.exceptions.TaskPreconditionFailedException;
+import alexgr.taskmanagement.exceptions.TaskVersionConflictException;
+import alexgr.taskmanagement.utils.TaskETag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -30,6 +39,102 @@ public class ExceptionControllerAdvice {
         return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles a task update that lost an optimistic-locking race and could not be re-applied.
+     *
+     * @param ex the TaskVersionConflictException
+     * @return a structured error response carrying the task's current version
+     */
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskVersionConflict(TaskVersionConflictException ex) {
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+        response.getBody().put("taskId", ex.getTaskId());
+        response.getBody().put("currentVersion", ex.getCurrentVersion());
+        return response;
+    }
+
+    /**
+     * Handles a conditional task update whose If-Match no longer names the stored version.
+     *
+     * @param ex the TaskPreconditionFailedException
+     * @return a structured error response carrying the task's current version and its ETag
+     */
+    @ExceptionHandler(TaskPreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskPreconditionFailed(TaskPreconditionFailedException ex) {
+        Map<String, Object> body = buildErrorResponse(ex.getMessage(), HttpStatus.PRECONDITION_FAILED).getBody();
+        body.put("taskId", ex.getTaskId());
+        body.put("currentVersion", ex.getCurrentVersion());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(TaskETag.of(ex.getTaskId(), ex.getCurrentVersion()))
+                .body(body);
+    }
+
+    /**
+     * Handles a sync cursor that was not returned by the change feed.
+     *
+     * @param ex the InvalidSyncCursorException
+     * @return a structured error response
+     */
+    @ExceptionHandler(InvalidSyncCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidSyncCursor(InvalidSyncCursorException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles a sync cursor older than the retained tombstones; the client has to sync from the beginning.
+     *
+     * @param ex the SyncCursorExpiredException
+     * @return a structured error response
+     */
+    @ExceptionHandler(SyncCursorExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleSyncCursorExpired(SyncCursorExpiredException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.GONE);
+    }
+
+    /**
+     * Handles a request whose Idempotency-Key is still being processed or belongs to another operation.
+     *
+     * @param ex the IdempotencyKeyInProgressException
+     * @return a structured error response
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles a registration with an email that is already taken.
+     *
+     * @param ex the MailDuplicationException
+     * @return a structured error response
+     */
+    @ExceptionHandler(MailDuplicationException.class)
+    public ResponseEntity<Map<String, Object>> handleMailDuplication(MailDuplicationException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles a comment rejected because the write-behind queue is full.
+     *
+     * @param ex the CommentQueueFullException
+     * @return a structured error response
+     */
+    @ExceptionHandler(CommentQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleCommentQueueFull(CommentQueueFullException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles optimistic-locking failures on entities that are not retried (users, comments).
+     *
+     * @param ex the ObjectOptimisticLockingFailureException
+     * @return a structured error response
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return buildErrorResponse("The resource was modified concurrently", HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles validation errors from @Valid annotations.
      *
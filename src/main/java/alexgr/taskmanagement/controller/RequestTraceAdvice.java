@@ -0,0 +1,72 @@
+package alexgr.taskmanagement.controller;
+
+import alexgr.taskmanagement.filter.RequestTraceFilter;
+import alexgr.taskmanagement.utils.RequestTrace;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Splits the handler time of a traced request into the controller phase and the serialization phase.
+ * <p>
+ * As an interceptor it marks when the controller is invoked and when the request completes; as a response body
+ * advice it marks the moment the body is about to be serialized and writes the {@code Server-Timing} header, the
+ * last point at which headers can still be set. Serialization time is therefore reported only in the slow-request
+ * log, not in the header. With {@code request-tracing.server-timing=false} the phases are still marked but the
+ * header is not written. Without an active trace every method returns immediately.
+ * </p>
+ */
+@ControllerAdvice
+public class RequestTraceAdvice implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private final boolean serverTiming;
+
+    public RequestTraceAdvice(@Value("${request-tracing.server-timing:true}") boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.handlerCompleted();
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.serializationStarted();
+            if (serverTiming) {
+                response.getHeaders().set(RequestTraceFilter.SERVER_TIMING_HEADER, trace.serverTiming());
+            }
+        }
+        return body;
+    }
+}
@@ -2,12 +2,21 @@ package alexgr.taskmanagement.controller;
 
 import alexgr.taskmanagement.dto.comment.Comment;
 import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.task.TaskChangesPage;
+import alexgr.taskmanagement.dto.task.TaskListVersion;
+import alexgr.taskmanagement.dto.user.UserDirectoryPage;
+import alexgr.taskmanagement.dto.user.UserDirectorySnapshot;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.TaskEntity;
 import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.mapper.TaskConvertor;
 import alexgr.taskmanagement.service.CommentService;
+import alexgr.taskmanagement.service.IdempotencyService;
 import alexgr.taskmanagement.service.UserService;
 import alexgr.taskmanagement.service.impl.TaskServiceImpl;
+import alexgr.taskmanagement.utils.TaskETag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,18 +28,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 import java.util.List;
 import java.util.Map;
+
+import static alexgr.taskmanagement.config.MessageEncodingConfig.CBOR_VALUE;
+import static alexgr.taskmanagement.config.MessageEncodingConfig.SMILE_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
 /**
  * REST controller for managing tasks, comments, and user-related operations.
  * <p>
  * This controller provides endpoints for creating, updating, deleting, and searching tasks,
  * as well as managing comments and assigning task executors.
  * </p>
+ * <p>
+ * The read endpoints answer in JSON, CBOR or Smile, as chosen by the {@code Accept} header; see
+ * {@link alexgr.taskmanagement.config.MessageEncodingConfig}.
+ * </p>
+ * <p>
+ * Reads carry an {@code ETag} and answer a matching {@code If-None-Match} with {@code 304 Not Modified} before
+ * the data is loaded: a task is tagged by its version, a listing by the {@link TaskListVersion} of all live tasks.
+ * Updates accept the task's tag in {@code If-Match} and answer {@code 412 Precondition Failed} once the task has
+ * moved on.
+ * </p>
  */
 @RestController()
 @RequestMapping("/task")
@@ -42,70 +69,97 @@ public class TaskController {
     private final TaskServiceImpl taskService;
     private final CommentService commentService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
+    private final TaskConvertor taskConvertor;
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
     /**
      * Creates a new task.
+     * <p>
+     * A request retried with the same {@code Idempotency-Key} header returns the stored response instead of
+     * creating the task again.
+     * </p>
      *
-     * @param taskDTO the {@link Task} object containing the details of the task to be created
+     * @param taskDTO        the {@link Task} object containing the details of the task to be created
+     * @param idempotencyKey an optional client-generated key identifying this request across retries
      * @return a {@link ResponseEntity} containing the created {@link TaskEntity}
+     * @throws IdNotFoundException never thrown by task creation; declared by the idempotency wrapper
      */
     @Operation(summary = "Создать новую задачу", description = "Создает новую задачу на основе переданного объекта TaskDTO.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно создана",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskEntity.class))}),
-            @ApiResponse(responseCode = "400", description = "Неверные данные запроса", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Запрос с этим Idempotency-Key ещё выполняется", content = @Content)
     })
     @PostMapping("/create")
-    public ResponseEntity<?> createTask(@RequestBody @Valid Task taskDTO) {
-        logger.info("Creating task: {}", taskDTO);
-        TaskEntity createdTask = taskService.createTask(taskDTO);
-        return ResponseEntity.ok(createdTask);
+    public ResponseEntity<?> createTask(@RequestBody @Valid Task taskDTO,
+                                        @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+                                        String idempotencyKey) throws IdNotFoundException {
+        logger.debug("Creating task: {}", taskDTO);
+        return idempotencyService.execute(idempotencyKey, "POST /task/create",
+                () -> ResponseEntity.ok(taskService.createTask(taskDTO)));
     }
 
     /**
      * Updates a task by its executor.
+     * <p>
+     * With an {@code If-Match} header the task is only updated while it is still at the version named there.
+     * </p>
      *
      * @param id      the ID of the task to update
      * @param taskDTO the {@link Task} object containing the updated task details
-     * @return a {@link ResponseEntity} containing the updated {@link TaskEntity}
+     * @param ifMatch the optional entity tags of the versions the client has seen
+     * @return a {@link ResponseEntity} containing the updated {@link TaskEntity} and its new {@code ETag}
      * @throws IdNotFoundException if the task with the specified ID is not found
      */
-    @Operation(summary = "Обновить задачу исполнителем", description = "Обновляет задачу по её ID исполнителем.")
+    @Operation(summary = "Обновить задачу исполнителем", description = "Обновляет задачу по её ID исполнителем. " +
+            "С заголовком If-Match задача обновляется, только если её версия не изменилась.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно обновлена",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskEntity.class))}),
-            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Версия задачи не совпадает с If-Match", content = @Content)
     })
     @PatchMapping("/update/{id}")
-    public ResponseEntity<?> updateTask(@PathVariable Integer id, @RequestBody @Valid Task taskDTO) throws IdNotFoundException {
-        logger.info("Updating task with ID {}: {}", id, taskDTO);
-        TaskEntity updatedTask = taskService.updateTaskByExecutor(id, taskDTO);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<?> updateTask(@PathVariable Integer id, @RequestBody @Valid Task taskDTO,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws IdNotFoundException {
+        logger.debug("Updating task with ID {}: {}", id, taskDTO);
+        TaskEntity updatedTask = taskService.updateTaskByExecutor(id, taskDTO, TaskETag.ifMatchVersions(id, ifMatch));
+        return ResponseEntity.ok().eTag(TaskETag.of(id, updatedTask.getVersion())).body(updatedTask);
     }
 
     /**
      * Updates a task by an admin.
+     * <p>
+     * With an {@code If-Match} header the task is only updated while it is still at the version named there.
+     * </p>
      *
      * @param id      the ID of the task to update
      * @param taskDTO the {@link Task} object containing the updated task details
-     * @return a {@link ResponseEntity} containing the updated {@link TaskEntity}
+     * @param ifMatch the optional entity tags of the versions the client has seen
+     * @return a {@link ResponseEntity} containing the updated {@link TaskEntity} and its new {@code ETag}
      * @throws IdNotFoundException if the task with the specified ID is not found
      */
-    @Operation(summary = "Обновить задачу администратором", description = "Обновляет задачу по её ID администратором.")
+    @Operation(summary = "Обновить задачу администратором", description = "Обновляет задачу по её ID администратором. " +
+            "С заголовком If-Match задача обновляется, только если её версия не изменилась.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно обновлена",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskEntity.class))}),
-            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Версия задачи не совпадает с If-Match", content = @Content)
     })
     @PatchMapping("/update_admin/{id}")
-    public ResponseEntity<?> updateTaskByAdmin(@PathVariable Integer id, @RequestBody @Valid Task taskDTO) throws IdNotFoundException {
-        logger.info("Updating task by admin with ID {}: {}", id, taskDTO);
-        TaskEntity updatedTask = taskService.updateTaskByAdmin(id, taskDTO);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<?> updateTaskByAdmin(@PathVariable Integer id, @RequestBody @Valid Task taskDTO,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) throws IdNotFoundException {
+        logger.debug("Updating task by admin with ID {}: {}", id, taskDTO);
+        TaskEntity updatedTask = taskService.updateTaskByAdmin(id, taskDTO, TaskETag.ifMatchVersions(id, ifMatch));
+        return ResponseEntity.ok().eTag(TaskETag.of(id, updatedTask.getVersion())).body(updatedTask);
     }
 
     /**
@@ -122,63 +176,195 @@ public class TaskController {
     })
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable Integer id) throws IdNotFoundException {
-        logger.info("Deleting task with ID {}", id);
+        logger.debug("Deleting task with ID {}", id);
         taskService.deleteTask(id);
         return ResponseEntity.ok(createMessageResponse("Задача удалена"));
     }
 
     /**
      * Adds a comment to a task.
+     * <p>
+     * A request retried with the same {@code Idempotency-Key} header returns the stored response instead of
+     * adding a duplicate comment.
+     * </p>
      *
-     * @param id      the ID of the task to add a comment to
-     * @param comment the {@link Comment} object containing the comment details
+     * @param id             the ID of the task to add a comment to
+     * @param comment        the {@link Comment} object containing the comment details
+     * @param idempotencyKey an optional client-generated key identifying this request across retries
      * @return a {@link ResponseEntity} with a success message
      * @throws IdNotFoundException if the task with the specified ID is not found
      */
     @Operation(summary = "Добавить комментарий к задаче", description = "Добавляет комментарий к задаче по её ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Комментарий успешно добавлен", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Запрос с этим Idempotency-Key ещё выполняется", content = @Content)
     })
     @PostMapping("/comment/{id}")
-    public ResponseEntity<?> addComment(@PathVariable Integer id, @RequestBody @Valid Comment comment) throws IdNotFoundException {
-        logger.info("Adding comment" + comment);
-        commentService.addComment(id, comment);
-        return ResponseEntity.ok(createMessageResponse("Комментарий добавлен"));
+    public ResponseEntity<?> addComment(@PathVariable Integer id, @RequestBody @Valid Comment comment,
+                                        @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+                                        String idempotencyKey) throws IdNotFoundException {
+        logger.debug("Adding comment to task with ID {}", id);
+        return idempotencyService.execute(idempotencyKey, "POST /task/comment/" + id, () -> {
+            commentService.addComment(id, comment);
+            return ResponseEntity.ok(createMessageResponse("Комментарий добавлен"));
+        });
+    }
+
+    /**
+     * Retrieves a single task.
+     * <p>
+     * The response carries a strong {@code ETag} derived from the task's version, which is always read from the
+     * database with a single-column query. A request whose {@code If-None-Match} matches gets {@code 304 Not
+     * Modified} without the task being loaded; otherwise the task comes from the second-level cache while that
+     * holds the same version. The task is only served as JSON, so the strong tag always describes the same
+     * bytes.
+     * </p>
+     *
+     * @param id      the ID of the task
+     * @param request the current request, used for the conditional check
+     * @return a {@link ResponseEntity} containing the {@link Task}, or {@code null} if not modified
+     * @throws IdNotFoundException if the task with the specified ID is not found
+     */
+    @Operation(summary = "Получить задачу", description = "Возвращает задачу по её ID. Ответ содержит ETag с версией " +
+            "задачи; при совпадении If-None-Match возвращается 304.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задача успешно получена",
+                    content = {@Content(schema = @Schema(implementation = Task.class))}),
+            @ApiResponse(responseCode = "304", description = "Задача не изменилась", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена", content = @Content)
+    })
+    @GetMapping(value = "/{id:\\d+}", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<Task> getTask(@PathVariable Integer id, WebRequest request) throws IdNotFoundException {
+        int version = taskService.getTaskVersion(id);
+        if (request.checkNotModified(TaskETag.of(id, version))) {
+            return null;
+        }
+        TaskEntity task = taskService.getTask(id, version);
+        return ResponseEntity.ok()
+                .eTag(TaskETag.of(id, task.getVersion()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(taskConvertor.convertToDto(task));
     }
 
     /**
      * Retrieves all tasks with pagination.
+     * <p>
+     * The response carries a weak {@code ETag} from the {@link TaskListVersion} of all live tasks, which is read
+     * with one aggregate query; a request whose {@code If-None-Match} matches gets {@code 304 Not Modified}
+     * without the page being loaded.
+     * </p>
      *
      * @param pageable the {@link Pageable} object for pagination details
-     * @return a {@link ResponseEntity} containing a paginated list of {@link Task}
+     * @param request  the current request, used for the conditional check
+     * @return a {@link ResponseEntity} containing a paginated list of {@link Task}, or {@code null} if not modified
      */
-    @Operation(summary = "Получить все задачи с пагинацией", description = "Возвращает список всех задач с пагинацией.")
+    @Operation(summary = "Получить все задачи с пагинацией", description = "Возвращает список всех задач с пагинацией. " +
+            "Ответ содержит слабый ETag; при совпадении If-None-Match возвращается 304.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список задач успешно получен",
-                    content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Page.class))}),
+                    content = {@Content(schema = @Schema(implementation = Page.class))}),
+            @ApiResponse(responseCode = "304", description = "Задачи не изменились", content = @Content)
     })
-    @GetMapping("/allPaged")
-    public ResponseEntity<Page<Task>> getAllTasksPaged(Pageable pageable) {
-        Page<Task> tasks = taskService.getAllTasks(pageable);
-        return ResponseEntity.ok(tasks);
+    @GetMapping(value = "/allPaged", produces = {APPLICATION_JSON_VALUE, CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<Page<Task>> getAllTasksPaged(Pageable pageable, WebRequest request) {
+        String etag = taskService.getTaskListVersion().etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return conditional(etag).body(taskService.getAllTasks(pageable));
+    }
+
+    /**
+     * Retrieves the tasks created, updated or deleted since a sync cursor.
+     * <p>
+     * A client keeping a copy of the board calls this with the {@code nextCursor} of its previous call, and
+     * again right away while {@code hasMore} is set, so that it transfers only the tasks that changed. A request
+     * without {@code since} starts from the beginning and returns every task. A cursor older than the retained
+     * tombstones gets {@code 410 Gone}, after which the client syncs from the beginning.
+     * </p>
+     *
+     * @param since the cursor returned by the previous call (optional)
+     * @param size  the page size, at most 1000
+     * @return a {@link ResponseEntity} containing the changes and the cursor to continue from
+     */
+    @Operation(summary = "Изменения задач с момента курсора", description = "Возвращает созданные, изменённые и удалённые " +
+            "задачи после курсора since, каждую в последнем состоянии. Для продолжения передайте nextCursor из ответа; " +
+            "пока hasMore равно true, следующую страницу запрашивайте сразу. Без since возвращаются все задачи.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Изменения успешно получены",
+                    content = {@Content(schema = @Schema(implementation = TaskChangesPage.class))}),
+            @ApiResponse(responseCode = "400", description = "Неверный курсор", content = @Content),
+            @ApiResponse(responseCode = "410", description = "Курсор устарел, нужна полная синхронизация", content = @Content)
+    })
+    @GetMapping(value = "/changes", produces = {APPLICATION_JSON_VALUE, CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<TaskChangesPage> getChanges(@RequestParam(required = false) String since,
+                                                      @RequestParam(defaultValue = "200") int size) {
+        return ResponseEntity.ok(taskService.getChanges(since, size));
     }
 
     /**
      * Retrieves a list of all users.
+     * <p>
+     * The list comes from a cached snapshot and carries an {@code ETag}; a request whose {@code If-None-Match}
+     * matches it gets {@code 304 Not Modified} without a body.
+     * </p>
      *
-     * @return a {@link ResponseEntity} containing a list of user names
+     * @param request the current request, used for the conditional check
+     * @return a {@link ResponseEntity} containing a list of user emails, or {@code null} if not modified
      */
-    @Operation(summary = "Получить список всех пользователей", description = "Возвращает список всех пользователей.")
+    @Operation(summary = "Получить список всех пользователей", description = "Возвращает список email всех пользователей. " +
+            "Ответ содержит ETag; при совпадении If-None-Match возвращается 304.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список пользователей успешно получен",
-                    content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = List.class))}),
+                    content = {@Content(schema = @Schema(implementation = List.class))}),
+            @ApiResponse(responseCode = "304", description = "Список не изменился", content = @Content)
+    })
+    @GetMapping(value = "/all_users", produces = {APPLICATION_JSON_VALUE, CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<List<String>> getAllUsers(WebRequest request) {
+        UserDirectorySnapshot snapshot = userService.getUserDirectorySnapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return conditional(snapshot.etag()).body(snapshot.emails());
+    }
+
+    /**
+     * Retrieves one page of the user directory.
+     *
+     * @param after the ID of the last user on the previous page; omitted for the first page
+     * @param size  the page size, at most 1000
+     * @return a {@link ResponseEntity} containing the page and the cursor for the next one
+     */
+    @Operation(summary = "Постраничный справочник пользователей", description = "Возвращает ID и email пользователей " +
+            "страницами по ID. Для следующей страницы передайте nextAfter из ответа в параметре after.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница пользователей успешно получена",
+                    content = {@Content(schema = @Schema(implementation = UserDirectoryPage.class))}),
     })
-    @GetMapping("/all_users")
-    public ResponseEntity<List<String>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    @GetMapping(value = "/users", produces = {APPLICATION_JSON_VALUE, CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<UserDirectoryPage> getUserDirectory(@RequestParam(required = false) Integer after,
+                                                              @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(userService.getUserDirectory(after, size));
+    }
+
+    /**
+     * Suggests executors whose email or name starts with the typed prefix.
+     *
+     * @param prefix the typed prefix, case-insensitive
+     * @param limit  the maximum number of users to return, at most 50
+     * @return a {@link ResponseEntity} containing the matching users
+     */
+    @Operation(summary = "Подсказки исполнителей по префиксу", description = "Возвращает пользователей, у которых email, " +
+            "имя, фамилия или полное имя начинаются с указанного префикса. Поиск выполняется по индексу в памяти.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Подсказки успешно получены",
+                    content = {@Content(schema = @Schema(implementation = List.class))}),
+    })
+    @GetMapping(value = "/users/suggest", produces = {APPLICATION_JSON_VALUE, CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<List<UserSuggestion>> suggestUsers(@RequestParam String prefix,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.suggestUsers(prefix, limit));
     }
 
     /**
@@ -196,31 +382,58 @@ public class TaskController {
     })
     @PutMapping("/assign/{id}")
     public ResponseEntity<?> assignExecutor(@PathVariable Integer id, @RequestBody @Valid String email) throws IdNotFoundException {
-        logger.info("Assigning executor '{}' to task with ID {}", email, id);
+        logger.debug("Assigning executor '{}' to task with ID {}", email, id);
         taskService.appointAnExecutor(id,email);
         return ResponseEntity.ok(createMessageResponse("Исполнитель назначен: " + email));
     }
 
     /**
      * Searches for tasks by status and priority.
+     * <p>
+     * Validated like {@link #getAllTasksPaged(Pageable, WebRequest)}: a matching {@code If-None-Match} gets
+     * {@code 304 Not Modified} without the search being run.
+     * </p>
      *
      * @param status   the status to filter tasks by (optional)
      * @param priority the priority to filter tasks by (optional)
-     * @return a {@link ResponseEntity} containing a list of matching {@link TaskEntity}
+     * @param request  the current request, used for the conditional check
+     * @return a {@link ResponseEntity} containing a list of matching {@link Task}, or {@code null} if not modified
      */
-    @Operation(summary = "Поиск задач по статусу и приоритету", description = "Возвращает список задач, соответствующих заданным статусу и приоритету.")
+    @Operation(summary = "Поиск задач по статусу и приоритету", description = "Возвращает список задач, соответствующих " +
+            "заданным статусу и приоритету. Ответ содержит слабый ETag; при совпадении If-None-Match возвращается 304.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список задач успешно получен",
-                    content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = List.class))}),
+                    content = {@Content(array = @ArraySchema(schema = @Schema(implementation = Task.class)))}),
+            @ApiResponse(responseCode = "304", description = "Задачи не изменились", content = @Content)
     })
-    @GetMapping("/search")
-    public ResponseEntity<List<TaskEntity>> searchTasks(
+    @GetMapping(value = "/search", produces = {APPLICATION_JSON_VALUE, CBOR_VALUE, SMILE_VALUE})
+    public ResponseEntity<List<Task>> searchTasks(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority
+            @RequestParam(required = false) String priority,
+            WebRequest request
     ) {
-        List<TaskEntity> tasks = taskService.searchTasks(status, priority);
-        return ResponseEntity.ok(tasks);
+        String etag = taskService.getTaskListVersion().etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return conditional(etag).body(taskService.searchTasks(status, priority));
+    }
+
+    /**
+     * Starts a {@code 200} response validated by the given weak entity tag.
+     * <p>
+     * The body is negotiated from the {@code Accept} header, so caches are told to key on it, and must
+     * revalidate the stored response before every use.
+     * </p>
+     *
+     * @param etag the weak entity tag of the listing
+     * @return the response builder
+     */
+    private static ResponseEntity.BodyBuilder conditional(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT);
     }
 
     /**
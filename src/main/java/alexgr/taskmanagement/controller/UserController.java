@@ -1,8 +1,12 @@
 package alexgr.taskmanagement.controller;
 
 
+import alexgr.taskmanagement.dto.auth.AuthPayload;
+import alexgr.taskmanagement.dto.user.ProvisioningResult;
 import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.service.impl.UserProvisioningService;
 import alexgr.taskmanagement.service.impl.UserServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,8 +15,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
 /**
  * REST controller for managing user-related operations.
  * <p>
@@ -26,7 +39,12 @@ import org.springframework.web.bind.annotation.*;
 @AllArgsConstructor
 @CrossOrigin(value = "http://localhost:8080")
 public class UserController {
+    private static final byte[] NEWLINE = {'\n'};
+
     private final UserServiceImpl userService;
+    private final UserProvisioningService provisioningService;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor applicationTaskExecutor;
 
 
     /**
@@ -49,4 +67,52 @@ public class UserController {
         return ResponseEntity.ok(userService.updateUserInfo(updateUser));
     }
 
+    /**
+     * Creates many users at once.
+     * <p>
+     * Results are streamed as newline-delimited JSON, one {@link ProvisioningResult} per user, as each batch
+     * is written; the request thread is released while passwords are hashed. The response has its own timeout,
+     * {@code users.provisioning.timeout-ms}, so other asynchronous requests keep the default one.
+     * </p>
+     *
+     * @param users the emails and passwords of the users to create
+     * @return a {@link ResponseEntity} streaming the per-user results
+     */
+    @Operation(summary = "Массовое создание пользователей", description = "Создает пользователей с ролью USER. " +
+            "Пароли хешируются параллельно, пользователи сохраняются пакетами. Результат по каждому пользователю " +
+            "возвращается построчно в формате NDJSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Результаты по каждому пользователю",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = ProvisioningResult.class))),
+            @ApiResponse(responseCode = "413", description = "Слишком много пользователей в одном запросе",
+                    content = @Content)
+    })
+    @PostMapping("/provision")
+    public ResponseEntity<?> provisionUsers(@RequestBody List<AuthPayload> users) {
+        if (users.size() > provisioningService.getMaxUsers()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("message", "At most " + provisioningService.getMaxUsers() + " users per request"));
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(provisioningService.getTimeoutMs());
+        emitter.onTimeout(() -> log.warn("Provisioning {} users did not finish within {} ms", users.size(),
+                provisioningService.getTimeoutMs()));
+        applicationTaskExecutor.execute(() -> {
+            try {
+                provisioningService.provision(users, result -> {
+                    try {
+                        emitter.send(objectMapper.writeValueAsBytes(result));
+                        emitter.send(NEWLINE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
 }
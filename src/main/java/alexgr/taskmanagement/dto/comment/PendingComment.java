@@ -0,0 +1,20 @@
+package alexgr.taskmanagement.dto.comment;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A comment accepted by write-behind ingestion but not yet written to the database.
+ * <p>
+ * It references the task and the author by ID only, so no entities have to be loaded to queue or insert it.
+ * The {@code ingestId} is assigned on acceptance and makes re-inserting the comment after a crash harmless.
+ * </p>
+ *
+ * @param ingestId    the unique ID assigned when the comment was accepted.
+ * @param taskId      the ID of the task the comment belongs to.
+ * @param userId      the ID of the user who wrote the comment.
+ * @param comment     the text of the comment.
+ * @param createdDate the date and time the comment was accepted.
+ */
+public record PendingComment(UUID ingestId, Integer taskId, Integer userId, String comment, LocalDateTime createdDate) {
+}
@@ -0,0 +1,25 @@
+package alexgr.taskmanagement.dto.diagnostics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * A file written from the continuous flight recording.
+ *
+ * @param fileName  the name to download the file by.
+ * @param createdAt when the dump was taken.
+ * @param minutes   how many minutes of recording the file covers at most.
+ * @param sizeBytes the size of the file.
+ */
+@Schema(description = "Файл, выгруженный из непрерывной записи JDK Flight Recorder.")
+public record FlightRecordingDump(
+        @Schema(description = "Имя файла для скачивания.", example = "taskmanagement-20260101-120000.jfr")
+        String fileName,
+        @Schema(description = "Время выгрузки.")
+        Instant createdAt,
+        @Schema(description = "Сколько последних минут записи содержит файл (не больше).", example = "10")
+        long minutes,
+        @Schema(description = "Размер файла в байтах.", example = "5242880")
+        long sizeBytes) {
+}
@@ -0,0 +1,39 @@
+package alexgr.taskmanagement.dto.diagnostics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request that took longer than the slow-request threshold, with its timing breakdown.
+ *
+ * @param finishedAt     when the request completed.
+ * @param method         the HTTP method.
+ * @param uri            the request URI, without the query string.
+ * @param status         the response status.
+ * @param totalMs        the total time spent in the application.
+ * @param phasesMs       the time per phase; {@code db} and {@code conn} overlap the phases that issued the SQL.
+ * @param statementCount the number of SQL statements prepared.
+ * @param statements     the text of the first statements.
+ */
+@Schema(description = "Медленный запрос с разбивкой времени по фазам.")
+public record SlowRequest(
+        @Schema(description = "Время завершения запроса.")
+        Instant finishedAt,
+        @Schema(description = "HTTP-метод.", example = "GET")
+        String method,
+        @Schema(description = "URI запроса без строки параметров.", example = "/task/search")
+        String uri,
+        @Schema(description = "HTTP-статус ответа.", example = "200")
+        int status,
+        @Schema(description = "Общее время обработки, мс.", example = "912.4")
+        double totalMs,
+        @Schema(description = "Время по фазам, мс: auth, user, conn, db, handler, json.")
+        Map<String, Double> phasesMs,
+        @Schema(description = "Число SQL-запросов.", example = "3")
+        int statementCount,
+        @Schema(description = "Текст первых SQL-запросов.")
+        List<String> statements) {
+}
@@ -0,0 +1,22 @@
+package alexgr.taskmanagement.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task lifecycle event as delivered to outbox sinks.
+ * <p>
+ * Events of one task are delivered in the order they were written. Delivery is at-least-once, so consumers
+ * should use {@code id} to ignore duplicates.
+ * </p>
+ *
+ * @param id          the monotonically increasing ID of the event.
+ * @param taskId      the ID of the task the event is about.
+ * @param type        the kind of change.
+ * @param payload     a compact JSON document describing the change.
+ * @param createdDate the date and time the change was committed.
+ */
+public record TaskEvent(Long id, Integer taskId, TaskEventType type, @JsonRawValue String payload,
+                        LocalDateTime createdDate) {
+}
@@ -0,0 +1,31 @@
+package alexgr.taskmanagement.dto.event;
+
+/**
+ * Enumeration of the task lifecycle events published through the outbox.
+ */
+public enum TaskEventType {
+    /**
+     * A task was created.
+     */
+    TASK_CREATED,
+
+    /**
+     * The status, priority, name or description of a task changed.
+     */
+    TASK_UPDATED,
+
+    /**
+     * An executor was assigned to a task.
+     */
+    EXECUTOR_ASSIGNED,
+
+    /**
+     * A task was deleted.
+     */
+    TASK_DELETED,
+
+    /**
+     * A comment was added to a task.
+     */
+    COMMENT_ADDED
+}
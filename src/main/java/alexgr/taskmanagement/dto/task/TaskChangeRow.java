@@ -0,0 +1,37 @@
+package alexgr.taskmanagement.dto.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the task change feed as read from the {@code tasks} table, live or deleted.
+ * <p>
+ * The feed is read with a native query, since the JPA mapping hides deleted tasks, so the columns are exposed
+ * through this projection instead of the entity.
+ * </p>
+ */
+public interface TaskChangeRow {
+
+    Integer getId();
+
+    String getName();
+
+    String getStatus();
+
+    String getPriority();
+
+    String getDescription();
+
+    String getExecutor();
+
+    Integer getVersion();
+
+    /**
+     * @return the modification date, which together with the ID orders the feed.
+     */
+    LocalDateTime getUpdated();
+
+    /**
+     * @return the deletion date, or {@code null} if the task is live.
+     */
+    LocalDateTime getDeleted();
+}
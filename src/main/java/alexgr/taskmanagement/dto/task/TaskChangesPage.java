@@ -0,0 +1,23 @@
+package alexgr.taskmanagement.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A page of the task change feed, ordered by modification date and ID.
+ *
+ * @param changes    the tasks created, updated or deleted after the requested cursor, each once in its latest state.
+ * @param nextCursor the value to pass as {@code since} in the next request.
+ * @param hasMore    {@code true} if more changes follow and the next page should be fetched right away.
+ */
+@Schema(description = "Страница изменений задач, упорядоченная по дате изменения и ID.")
+public record TaskChangesPage(
+        @Schema(description = "Задачи, созданные, изменённые или удалённые после курсора, каждая в последнем состоянии.")
+        List<TaskDelta> changes,
+        @Schema(description = "Значение параметра since для следующего запроса.",
+                example = "MjAyNi0xMC0xOVQxMDoxNTozMC4xMjM0NTZ8NDI")
+        String nextCursor,
+        @Schema(description = "Есть ещё изменения; следующую страницу следует запросить сразу.", example = "false")
+        boolean hasMore) {
+}
@@ -0,0 +1,23 @@
+package alexgr.taskmanagement.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * The latest state of a task that changed after a sync cursor.
+ *
+ * @param id      the ID of the task.
+ * @param version the version of the task, usable as {@code If-Match} of an update.
+ * @param deleted {@code true} if the task was deleted and should be removed from the client's copy.
+ * @param task    the task, or {@code null} if it was deleted.
+ */
+@Schema(description = "Последнее состояние задачи, изменённой после курсора синхронизации.")
+public record TaskDelta(
+        @Schema(description = "ID задачи.", example = "42")
+        Integer id,
+        @Schema(description = "Версия задачи; ETag для If-Match имеет вид \"task-<id>-<version>\".", example = "3")
+        Integer version,
+        @Schema(description = "Задача удалена и должна быть удалена из локальной копии.", example = "false")
+        boolean deleted,
+        @Schema(description = "Задача; null, если задача удалена.")
+        Task task) {
+}
@@ -0,0 +1,29 @@
+package alexgr.taskmanagement.dto.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A cheap fingerprint of the live tasks used to tell whether a task listing may have changed.
+ * <p>
+ * Every write through JPA bumps the version and the modification date of the task, and a deletion removes it
+ * from the live tasks, so any change to a listed task changes at least one of the three values. The fingerprint
+ * covers all live tasks, so a change to any task also changes the tag of every page and search.
+ * </p>
+ *
+ * @param count          the number of live tasks.
+ * @param maxUpdatedDate the latest modification date, or {@code null} if there are no live tasks.
+ * @param versionSum     the sum of the versions of the live tasks, which catches two updates within the same
+ *                       millisecond.
+ */
+public record TaskListVersion(Long count, LocalDateTime maxUpdatedDate, Long versionSum) {
+
+    /**
+     * @return a weak entity tag for every listing built from the tasks described by this version; weak because
+     * the same tag is used for each page, filter and negotiated encoding of the listing.
+     */
+    public String etag() {
+        long updated = maxUpdatedDate == null ? 0 : maxUpdatedDate.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "W/\"tasks-" + count + "-" + updated + "-" + versionSum + "\"";
+    }
+}
@@ -0,0 +1,50 @@
+package alexgr.taskmanagement.dto.task;
+
+import alexgr.taskmanagement.exceptions.InvalidSyncCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * A position in the task change feed: the modification date and the ID of the last task a client has seen.
+ * <p>
+ * Tasks are ordered by {@code (updated_date, id)}, so the pair is a keyset position that stays valid while tasks
+ * change: a task updated again moves behind the cursor and is returned once more. Clients treat the encoded form
+ * as opaque.
+ * </p>
+ *
+ * @param updated the modification date of the last task seen.
+ * @param id      the ID of the last task seen.
+ */
+public record TaskSyncCursor(LocalDateTime updated, Integer id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * @return the opaque, URL-safe form of this cursor.
+     */
+    public String encode() {
+        return ENCODER.encodeToString((updated + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor returned by an earlier request.
+     *
+     * @param cursor the encoded cursor.
+     * @return the decoded cursor.
+     * @throws InvalidSyncCursorException if the value was not produced by {@link #encode()}.
+     */
+    public static TaskSyncCursor decode(String cursor) {
+        try {
+            String value = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new TaskSyncCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Integer.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidSyncCursorException("Malformed sync cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package alexgr.taskmanagement.dto.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * The outcome of provisioning one user in a bulk request.
+ *
+ * @param email   the email from the request.
+ * @param status  what happened to the user.
+ * @param id      the ID of the created user, or {@code null} if none was created.
+ * @param message the reason the user was not created, or {@code null}.
+ */
+@Schema(description = "Результат создания одного пользователя при массовой регистрации.")
+public record ProvisioningResult(
+        @Schema(description = "Email из запроса.", example = "john.doe@example.com")
+        String email,
+        @Schema(description = "Результат.", example = "CREATED")
+        Status status,
+        @Schema(description = "ID созданного пользователя.", example = "42")
+        Integer id,
+        @Schema(description = "Причина, по которой пользователь не создан.")
+        String message) {
+
+    /**
+     * What happened to a provisioned user.
+     */
+    public enum Status {
+        /** The user was created. */
+        CREATED,
+        /** A user with this email already exists or appears earlier in the same request. */
+        DUPLICATE,
+        /** The email or password does not pass validation. */
+        INVALID,
+        /** The user could not be written to the database. */
+        FAILED
+    }
+
+    public static ProvisioningResult created(String email, Integer id) {
+        return new ProvisioningResult(email, Status.CREATED, id, null);
+    }
+
+    public static ProvisioningResult rejected(String email, Status status, String message) {
+        return new ProvisioningResult(email, status, null, message);
+    }
+}
@@ -0,0 +1,10 @@
+package alexgr.taskmanagement.dto.user;
+
+/**
+ * One row of the user directory: only the columns needed to pick a user.
+ *
+ * @param id    the ID of the user.
+ * @param email the email address of the user.
+ */
+public record UserDirectoryEntry(Integer id, String email) {
+}
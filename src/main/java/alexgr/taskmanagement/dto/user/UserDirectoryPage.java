@@ -0,0 +1,19 @@
+package alexgr.taskmanagement.dto.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A page of the user directory, ordered by user ID.
+ *
+ * @param users     the users on this page.
+ * @param nextAfter the value to pass as {@code after} to fetch the next page, or {@code null} on the last page.
+ */
+@Schema(description = "Страница справочника пользователей, упорядоченная по ID.")
+public record UserDirectoryPage(
+        @Schema(description = "Пользователи на странице.")
+        List<UserDirectoryEntry> users,
+        @Schema(description = "Значение параметра after для следующей страницы; null на последней странице.", example = "120")
+        Integer nextAfter) {
+}
@@ -0,0 +1,12 @@
+package alexgr.taskmanagement.dto.user;
+
+import java.util.List;
+
+/**
+ * An immutable copy of all user emails together with the entity tag that identifies it.
+ *
+ * @param etag   the strong entity tag of this content.
+ * @param emails the emails of all users, ordered by user ID.
+ */
+public record UserDirectorySnapshot(String etag, List<String> emails) {
+}
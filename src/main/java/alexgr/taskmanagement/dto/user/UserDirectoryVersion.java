@@ -0,0 +1,22 @@
+package alexgr.taskmanagement.dto.user;
+
+/**
+ * A cheap fingerprint of the users table used to tell whether a cached directory is still current.
+ * <p>
+ * Users are never deleted, IDs only grow and emails are never changed, so the number of users and the highest
+ * ID together identify the set of emails.
+ * </p>
+ *
+ * @param count the number of users.
+ * @param maxId the highest user ID, or {@code 0} if there are no users.
+ */
+public record UserDirectoryVersion(Long count, Integer maxId) {
+
+    /**
+     * @return a weak entity tag for the directory content described by this version; weak because the same tag
+     * is used for each negotiated encoding of the directory.
+     */
+    public String etag() {
+        return "W/\"users-" + count + "-" + maxId + "\"";
+    }
+}
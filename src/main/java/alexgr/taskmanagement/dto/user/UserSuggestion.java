@@ -0,0 +1,23 @@
+package alexgr.taskmanagement.dto.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A user offered by the executor picker.
+ *
+ * @param id        the ID of the user.
+ * @param email     the email address of the user.
+ * @param firstName the first name of the user, if set.
+ * @param lastName  the last name of the user, if set.
+ */
+@Schema(description = "Пользователь, предложенный при выборе исполнителя.")
+public record UserSuggestion(
+        @Schema(description = "ID пользователя.", example = "42")
+        Integer id,
+        @Schema(description = "Электронная почта пользователя.", example = "john.doe@example.com")
+        String email,
+        @Schema(description = "Имя пользователя.", example = "John")
+        String firstName,
+        @Schema(description = "Фамилия пользователя.", example = "Doe")
+        String lastName) {
+}
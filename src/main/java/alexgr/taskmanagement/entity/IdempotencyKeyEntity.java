@@ -0,0 +1,72 @@
+package alexgr.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a client-supplied idempotency key and the response it produced.
+ * <p>
+ * This class maps to the "idempotency_keys" table. A row is inserted and completed with the response
+ * status and body in the transaction of the original request, so other requests only see it once the
+ * response is stored. Keys are scoped to the authenticated user and expire after a configurable TTL.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_owner_key",
+                columnNames = {"owner", "idempotency_key"}))
+public class IdempotencyKeyEntity {
+
+    /**
+     * The unique identifier for the row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The value of the {@code Idempotency-Key} header sent by the client.
+     */
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    /**
+     * The email of the user who sent the request; keys of different users never collide.
+     */
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    /**
+     * The operation the key was first used for, e.g. {@code POST /task/create}.
+     */
+    @Column(name = "operation", nullable = false)
+    private String operation;
+
+    /**
+     * The HTTP status of the stored response; {@code null} only inside the transaction of the original request.
+     */
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    /**
+     * The JSON body of the stored response.
+     */
+    @Column(name = "response_body")
+    private String responseBody;
+
+    /**
+     * The date and time when the key was first seen.
+     */
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+
+    /**
+     * The date and time after which the key is purged and may be reused.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+}
@@ -3,13 +3,21 @@ package alexgr.taskmanagement.entity;
 import alexgr.taskmanagement.dto.role.Role;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 /**
  * Represents a role entity in the database.
  * <p>
  * This entity maps roles to the `roles` table and is used to assign user roles, such as `USER` or `ADMIN`.
+ * Roles are seeded by the schema migration and never change, so they are immutable and cached read-only in
+ * the {@code roles} second-level cache region.
  * </p>
  */
 @Entity
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 @Data
 @Table(name = "roles")
 public class RoleEntity {
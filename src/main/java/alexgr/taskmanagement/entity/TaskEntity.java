@@ -4,7 +4,10 @@ import alexgr.taskmanagement.dto.task.Priority;
 import alexgr.taskmanagement.dto.task.StatusOfTask;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -23,11 +26,23 @@ import java.util.List;
  * associated user, associated comments, creation date, last modified date, and version.
  * It is annotated with JPA annotations to define the entity and its relationships.
  * </p>
+ * <p>
+ * Deleted tasks are kept as tombstones with {@code deleted_at} set until the background purger removes them;
+ * the {@code @SQLRestriction} hides them from every JPA read.
+ * </p>
+ * <p>
+ * Tasks are kept in the {@code tasks} second-level cache region (read-write). The restriction is not applied to
+ * cache hits, so a deleted task can be served from the region until it expires or is purged;
+ * {@code TaskRepo.findTaskEntityById} filters such tombstones out.
+ * </p>
  */
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "tasks")
+@SQLRestriction("deleted_at IS NULL")
 public class TaskEntity {
 
     /**
@@ -143,5 +158,15 @@ public class TaskEntity {
     @Column(name = "version", nullable = false)
     private int version;
 
+    /**
+     * The date and time when the task was deleted.
+     * <p>
+     * This field is {@code null} for live tasks. A deleted task is invisible to all reads and is
+     * physically removed, together with its comments, by the background purger.
+     * </p>
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
 }
 
@@ -0,0 +1,53 @@
+package alexgr.taskmanagement.entity;
+
+import alexgr.taskmanagement.dto.event.TaskEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a task lifecycle event waiting in the outbox.
+ * <p>
+ * This class maps to the "task_events" table. Rows are appended in the same transaction as the change they
+ * describe and deleted by the relay once every sink has received them.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "task_events")
+public class TaskEventEntity {
+
+    /**
+     * The unique, monotonically increasing identifier of the event.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the task the event is about.
+     */
+    @Column(name = "task_id", nullable = false)
+    private Integer taskId;
+
+    /**
+     * The kind of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private TaskEventType eventType;
+
+    /**
+     * A compact JSON document describing the change.
+     */
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    /**
+     * The date and time when the event was written.
+     */
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+
+}
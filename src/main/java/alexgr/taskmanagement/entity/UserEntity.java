@@ -4,6 +4,10 @@ import alexgr.taskmanagement.dto.role.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,9 +22,17 @@ import java.util.List;
  * This entity maps to the `users` table in the database and contains information about the user, their tasks,
  * and comments. It also includes auditing fields for tracking creation and modification dates.
  * </p>
+ * <p>
+ * Users are kept in the {@code users} second-level cache region (read-write), and the email-to-ID mapping of
+ * the natural ID in {@code users-by-email}, so the per-request lookup by email is served from memory. The
+ * collections are not cached.
+ * </p>
  */
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "users")
 public class UserEntity {
@@ -50,9 +62,11 @@ public class UserEntity {
     /**
      * The user's email address.
      * <p>
-     * This field must be unique and is validated to ensure it follows the email format.
+     * This field must be unique and is validated to ensure it follows the email format. It is the natural ID
+     * of the user and never changes.
      * </p>
      */
+    @NaturalId
     @Email
     @Column(name = "email", unique = true, nullable = false)
     private String email;
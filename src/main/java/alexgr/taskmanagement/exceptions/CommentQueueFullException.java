@@ -0,0 +1,20 @@
+package alexgr.taskmanagement.exceptions;
+
+/**
+ * Custom runtime exception to indicate that the write-behind comment queue is full.
+ * <p>
+ * This exception is thrown when comments arrive faster than they can be flushed to the database.
+ * The client should retry after a short delay.
+ * </p>
+ */
+public class CommentQueueFullException extends RuntimeException {
+
+    /**
+     * Constructs a new CommentQueueFullException with the specified detail message.
+     *
+     * @param message The detail message explaining the cause of the exception.
+     */
+    public CommentQueueFullException(String message) {
+        super(message);
+    }
+}
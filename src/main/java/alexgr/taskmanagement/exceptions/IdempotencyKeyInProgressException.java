@@ -0,0 +1,21 @@
+package alexgr.taskmanagement.exceptions;
+
+/**
+ * Custom runtime exception to indicate that a request reused an idempotency key that is still being processed
+ * or that was issued for a different operation.
+ * <p>
+ * This exception is thrown when a client retries faster than the original request completes. The client
+ * should wait and retry with the same key to receive the stored response.
+ * </p>
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException with the specified detail message.
+     *
+     * @param message The detail message explaining the cause of the exception.
+     */
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package alexgr.taskmanagement.exceptions;
+
+/**
+ * Custom runtime exception to indicate that a task sync cursor could not be read.
+ * <p>
+ * This exception is thrown when the {@code since} parameter of the change feed was not returned by an earlier
+ * request, for example because the client changed or truncated it.
+ * </p>
+ */
+public class InvalidSyncCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidSyncCursorException with the specified detail message.
+     *
+     * @param message The detail message explaining the cause of the exception.
+     */
+    public InvalidSyncCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package alexgr.taskmanagement.exceptions;
+
+/**
+ * Custom runtime exception to indicate that a task sync cursor is older than the tombstones kept for it.
+ * <p>
+ * Deleted tasks are purged once their grace period has passed, so a client that has not synced for longer may
+ * have missed deletions. It should discard its copy and sync again from the beginning.
+ * </p>
+ */
+public class SyncCursorExpiredException extends RuntimeException {
+
+    /**
+     * Constructs a new SyncCursorExpiredException with the specified detail message.
+     *
+     * @param message The detail message explaining the cause of the exception.
+     */
+    public SyncCursorExpiredException(String message) {
+        super(message);
+    }
+}
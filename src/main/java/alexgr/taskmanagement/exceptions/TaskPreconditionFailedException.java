@@ -0,0 +1,37 @@
+package alexgr.taskmanagement.exceptions;
+
+/**
+ * Custom runtime exception to indicate that a conditional task update was sent for a version that is no longer
+ * current.
+ * <p>
+ * This exception is thrown when none of the entity tags in the {@code If-Match} header of an update names the
+ * version currently stored. Unlike {@link TaskVersionConflictException}, the change is never re-applied on top of
+ * the newer row: the client asked to write only over the version it has seen. It carries the current version so
+ * that the client can reload the task and resubmit its change.
+ * </p>
+ */
+public class TaskPreconditionFailedException extends RuntimeException {
+
+    private final Integer taskId;
+    private final Integer currentVersion;
+
+    /**
+     * Constructs a new TaskPreconditionFailedException for the given task.
+     *
+     * @param taskId         The ID of the task whose update was rejected.
+     * @param currentVersion The version of the task currently stored.
+     */
+    public TaskPreconditionFailedException(Integer taskId, Integer currentVersion) {
+        super("Task with id " + taskId + " is no longer at the version given in If-Match");
+        this.taskId = taskId;
+        this.currentVersion = currentVersion;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Integer getCurrentVersion() {
+        return currentVersion;
+    }
+}
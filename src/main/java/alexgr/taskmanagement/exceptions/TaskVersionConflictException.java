@@ -0,0 +1,36 @@
+package alexgr.taskmanagement.exceptions;
+
+/**
+ * Custom runtime exception to indicate that a task update lost an optimistic-locking race.
+ * <p>
+ * This exception is thrown when a concurrent writer has changed the same non-commutative
+ * fields of a task (name, description or priority) or when the retry budget for a hot task
+ * has been exhausted. It carries the version currently stored in the database so that the
+ * client can reload the task and resubmit its change.
+ * </p>
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    private final Integer taskId;
+    private final Integer currentVersion;
+
+    /**
+     * Constructs a new TaskVersionConflictException for the given task.
+     *
+     * @param taskId         The ID of the task whose update conflicted.
+     * @param currentVersion The version of the task currently stored, or {@code null} if it is gone.
+     */
+    public TaskVersionConflictException(Integer taskId, Integer currentVersion) {
+        super("Task with id " + taskId + " was modified concurrently");
+        this.taskId = taskId;
+        this.currentVersion = currentVersion;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Integer getCurrentVersion() {
+        return currentVersion;
+    }
+}
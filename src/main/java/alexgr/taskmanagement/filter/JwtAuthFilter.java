@@ -2,12 +2,12 @@ package alexgr.taskmanagement.filter;
 
 
 import alexgr.taskmanagement.utils.JwtTokenService;
+import alexgr.taskmanagement.utils.RequestTrace;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -19,8 +19,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.logging.Logger;
 /**
  * A filter that intercepts incoming HTTP requests to authenticate users using JWT.
  * <p>
@@ -34,7 +32,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtTokenService;
     private final UserDetailsService userDetailsService;
-    private final Logger logger = Logger.getAnonymousLogger();
 
     /**
      * Filters incoming requests to extract and validate JWT tokens.
@@ -56,15 +53,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
+        long authStart = RequestTrace.start();
         jwt = authHeader.substring(7);
         email = jwtTokenService.extractUserName(jwt);
-        logger.info("email " + email);
-        logger.info("jwt " + jwt);
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long lookupStart = RequestTrace.start();
             UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-            logger.info("email in filter " + email );
-            logger.info("userdetails " + userDetails);
+            RequestTrace.stop(RequestTrace.Phase.USER_LOOKUP, lookupStart);
             if (jwtTokenService.IsTokenValid(jwt, userDetails)) {
 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
@@ -80,6 +75,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
         }
+        RequestTrace.stop(RequestTrace.Phase.AUTH, authStart);
         filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,89 @@
+package alexgr.taskmanagement.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A filter that writes one summary line per request instead of INFO lines from every layer.
+ * <p>
+ * Only a sample of the requests ({@code logging.requests.sample-rate}) is logged, plus every request that failed
+ * with a server error or took longer than {@code logging.requests.slow-ms}. A request carrying the
+ * {@value #SQL_DEBUG_HEADER} header with the value of {@code logging.sql-debug.token} is always logged, and the
+ * SQL statements and bind values it executes are logged as well through {@link SqlDebugTurboFilter}.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String SQL_DEBUG_HEADER = "X-Debug-Sql";
+
+    private static final Logger requestLog = LoggerFactory.getLogger("alexgr.taskmanagement.requests");
+
+    private final double sampleRate;
+    private final long slowNanos;
+    private final byte[] sqlDebugToken;
+
+    public RequestLogFilter(@Value("${logging.requests.sample-rate:1.0}") double sampleRate,
+                            @Value("${logging.requests.slow-ms:1000}") long slowMs,
+                            @Value("${logging.sql-debug.token:}") String sqlDebugToken) {
+        this.sampleRate = sampleRate;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.sqlDebugToken = sqlDebugToken.isBlank() ? null : sqlDebugToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Times the request and logs it if it is sampled, failed, slow or traced.
+     *
+     * @param request     the incoming {@link HttpServletRequest}
+     * @param response    the outgoing {@link HttpServletResponse}
+     * @param filterChain the {@link FilterChain} to continue processing the request
+     * @throws ServletException if an error occurs during request processing
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean sqlDebug = isSqlDebugRequested(request.getHeader(SQL_DEBUG_HEADER));
+        if (sqlDebug) {
+            MDC.put(SqlDebugTurboFilter.MDC_KEY, "true");
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = response.getStatus();
+            if (sqlDebug || status >= 500 || elapsed >= slowNanos
+                    || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                requestLog.info("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            if (sqlDebug) {
+                MDC.remove(SqlDebugTurboFilter.MDC_KEY);
+            }
+        }
+    }
+
+    boolean isSqlDebugRequested(String header) {
+        return sqlDebugToken != null && header != null
+                && MessageDigest.isEqual(sqlDebugToken, header.getBytes(StandardCharsets.UTF_8));
+    }
+}
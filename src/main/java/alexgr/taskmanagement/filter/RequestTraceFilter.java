@@ -0,0 +1,84 @@
+package alexgr.taskmanagement.filter;
+
+import alexgr.taskmanagement.dto.diagnostics.SlowRequest;
+import alexgr.taskmanagement.utils.RequestTrace;
+import alexgr.taskmanagement.utils.SlowRequestRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * A filter that traces each request when {@code request-tracing.enabled} is set.
+ * <p>
+ * The filter starts a {@link RequestTrace} that the instrumented code fills with phase timings and SQL
+ * statements. The {@value #SERVER_TIMING_HEADER} header is written just before the response body (see
+ * {@code RequestTraceAdvice}), or at the end for responses without a body. Requests slower than
+ * {@code request-tracing.slow-ms} are stored in the {@link SlowRequestRecorder}. The header carries internal
+ * timings, so {@code request-tracing.server-timing} can turn it off while slow requests are still captured. When
+ * tracing is disabled the filter only passes the request on.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SlowRequestRecorder slowRequests;
+    private final boolean enabled;
+    private final int maxStatements;
+    private final boolean serverTiming;
+
+    public RequestTraceFilter(SlowRequestRecorder slowRequests,
+                              @Value("${request-tracing.enabled:false}") boolean enabled,
+                              @Value("${request-tracing.max-statements:50}") int maxStatements,
+                              @Value("${request-tracing.server-timing:true}") boolean serverTiming) {
+        this.slowRequests = slowRequests;
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.serverTiming = serverTiming;
+    }
+
+    /**
+     * Traces the request and records it if it was slow.
+     *
+     * @param request     the incoming {@link HttpServletRequest}
+     * @param response    the outgoing {@link HttpServletResponse}
+     * @param filterChain the {@link FilterChain} to continue processing the request
+     * @throws ServletException if an error occurs during request processing
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestTrace trace = RequestTrace.begin(maxStatements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace.end();
+            if (serverTiming && !response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+                response.setHeader(SERVER_TIMING_HEADER, trace.serverTiming());
+            }
+            long elapsed = trace.elapsedNanos();
+            if (slowRequests.isSlow(elapsed)) {
+                slowRequests.record(new SlowRequest(Instant.now(), request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), elapsed / 1_000_000.0, trace.phasesMillis(), trace.statementCount(),
+                        trace.statements()));
+            }
+        }
+    }
+}
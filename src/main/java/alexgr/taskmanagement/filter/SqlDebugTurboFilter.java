@@ -0,0 +1,35 @@
+package alexgr.taskmanagement.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * A Logback turbo filter that enables Hibernate's SQL and bind-value logging for a single request.
+ * <p>
+ * {@link RequestLogFilter} puts {@value #MDC_KEY} into the MDC for a request that asked for SQL logging. While it
+ * is there, events of the {@code org.hibernate.SQL} and {@code org.hibernate.orm.jdbc.bind} loggers are accepted
+ * regardless of their configured level; for every other request the filter stays neutral and the levels apply.
+ * Registered in {@code logback-spring.xml}.
+ * </p>
+ */
+public class SqlDebugTurboFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "sqlDebug";
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+    private static final String BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        String name = logger.getName();
+        if ((name.startsWith(SQL_LOGGER) || name.startsWith(BIND_LOGGER)) && MDC.get(MDC_KEY) != null) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
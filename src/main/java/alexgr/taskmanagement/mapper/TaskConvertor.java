@@ -3,22 +3,16 @@ package alexgr.taskmanagement.mapper;
 
 import alexgr.taskmanagement.dto.task.Task;
 import alexgr.taskmanagement.entity.TaskEntity;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.stereotype.Component;
 /**
  * A utility component for converting between {@link TaskEntity} and {@link Task} objects.
  * <p>
- * This class uses {@link ModelMapper} to handle the mapping of properties between the entity and DTO.
+ * Properties are copied field by field without reflection. The convertor holds no state and is safe to share
+ * between threads.
  * </p>
  */
 @Component
 public class TaskConvertor {
-    /**
-     * ModelMapper instance used for object mapping.
-     */
-    private final ModelMapper modelMapper = new ModelMapper();
-
 
     /**
      * Converts a {@link TaskEntity} object to a {@link Task} DTO.
@@ -27,31 +21,39 @@ public class TaskConvertor {
      * @return the converted {@link Task} DTO, or {@code null} if the input is {@code null}
      */
     public Task convertToDto(TaskEntity taskEntity) {
-        configureModelMapper();
         if (taskEntity == null) {
             return null;
         }
-        return modelMapper.map(taskEntity, Task.class);
+        return new Task(
+                taskEntity.getId(),
+                taskEntity.getName(),
+                taskEntity.getStatusOfTask(),
+                taskEntity.getPriority(),
+                taskEntity.getDescription(),
+                taskEntity.getExecutor()
+        );
     }
 
     /**
      * Converts a {@link Task} DTO to a {@link TaskEntity}.
+     * <p>
+     * The owner of the task is not part of the DTO and is left unset; the caller assigns it.
+     * </p>
      *
      * @param task the {@link Task} DTO to convert
      * @return the converted {@link TaskEntity}, or {@code null} if the input is {@code null}
      */
     public TaskEntity convertToEntity(Task task) {
-        configureModelMapper();
         if (task == null) {
             return null;
         }
-        return modelMapper.map(task, TaskEntity.class);
-    }
-
-    /**
-     * Configures the {@link ModelMapper} with a loose matching strategy for flexible property mapping.
-     */
-    private void configureModelMapper() {
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+        TaskEntity entity = new TaskEntity();
+        entity.setId(task.getId());
+        entity.setName(task.getName());
+        entity.setStatusOfTask(task.getStatusOfTask());
+        entity.setPriority(task.getPriority());
+        entity.setDescription(task.getDescription());
+        entity.setExecutor(task.getExecutor());
+        return entity;
     }
 }
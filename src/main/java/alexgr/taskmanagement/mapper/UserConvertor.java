@@ -1,24 +1,16 @@
 package alexgr.taskmanagement.mapper;
 
+import alexgr.taskmanagement.dto.auth.AuthPayload;
 import alexgr.taskmanagement.dto.user.UpdateUser;
 import alexgr.taskmanagement.dto.user.User;
 import alexgr.taskmanagement.entity.UserEntity;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.stereotype.Component;
 /**
  * A converter class for transforming objects between User, UserEntity, and UpdateUser.
- * Uses ModelMapper for mapping properties between objects.
+ * Properties are copied field by field without reflection; the converter holds no state and is thread-safe.
  */
 @Component
-@RequiredArgsConstructor
 public class UserConvertor {
-    /**
-     * ModelMapper instance for object mapping.
-     * The mapping strategy is configured to LOOSE matching.
-     */
-    private final ModelMapper modelMapper = new ModelMapper();
 
     /**
      * Converts a UserEntity object to a User object.
@@ -28,11 +20,15 @@ public class UserConvertor {
      * @return the converted User object, or null if the input is null.
      */
     public User convertToDto(UserEntity userEntity) {
-        configureModelMapper();
         if (userEntity == null) {
             return null;
         }
-        return modelMapper.map(userEntity, User.class);
+        User user = new User();
+        user.setFirstName(userEntity.getFirstName());
+        user.setLastName(userEntity.getLastName());
+        user.setEmail(userEntity.getEmail());
+        user.setPassword(userEntity.getPassword());
+        return user;
     }
 
     /**
@@ -43,32 +39,49 @@ public class UserConvertor {
      * @return the converted UserEntity object, or null if the input is null.
      */
     public UserEntity updateConvertor(UpdateUser updateUser) {
-        configureModelMapper();
         if (updateUser == null) {
             return null;
         }
-        return modelMapper.map(updateUser, UserEntity.class);
+        UserEntity entity = new UserEntity();
+        entity.setFirstName(updateUser.getFirstName());
+        entity.setLastName(updateUser.getLastName());
+        entity.setEmail(updateUser.getEmail());
+        return entity;
     }
 
     /**
-     * Converts a generic Object to a UserEntity object.
+     * Converts a User object to a UserEntity object.
      *
-     * @param user the object to be converted.
+     * @param user the User object to be converted.
      *             If the input is null, the method returns null.
      * @return the converted UserEntity object, or null if the input is null.
      */
-    public UserEntity convertToEntity(Object user) {
-        configureModelMapper();
+    public UserEntity convertToEntity(User user) {
         if (user == null) {
             return null;
         }
-        return modelMapper.map(user, UserEntity.class);
+        UserEntity entity = new UserEntity();
+        entity.setFirstName(user.getFirstName());
+        entity.setLastName(user.getLastName());
+        entity.setEmail(user.getEmail());
+        entity.setPassword(user.getPassword());
+        return entity;
     }
 
     /**
-     * Configures the ModelMapper instance with a LOOSE matching strategy.
+     * Converts an authentication payload to a UserEntity object.
+     *
+     * @param authPayload the payload to be converted.
+     *                    If the input is null, the method returns null.
+     * @return the converted UserEntity object, or null if the input is null.
      */
-    private void configureModelMapper() {
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+    public UserEntity convertToEntity(AuthPayload authPayload) {
+        if (authPayload == null) {
+            return null;
+        }
+        UserEntity entity = new UserEntity();
+        entity.setEmail(authPayload.getEmail());
+        entity.setPassword(authPayload.getPassword());
+        return entity;
     }
 }
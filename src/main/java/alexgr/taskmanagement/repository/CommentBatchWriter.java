@@ -0,0 +1,91 @@
+package alexgr.taskmanagement.repository;
+
+import alexgr.taskmanagement.dto.comment.PendingComment;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes queued comments with multi-row {@code INSERT} statements through JDBC.
+ *
+ * <p>Comments are inserted by task and user ID without loading any entities. Rows whose {@code ingest_id}
+ * already exists are skipped, so a batch can safely be written again after a crash. The same statement appends a
+ * {@code COMMENT_ADDED} row to the {@code task_events} outbox for every comment it actually inserted.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentBatchWriter.class);
+    private static final String INSERT_PREFIX = "WITH inserted AS ("
+            + "INSERT INTO comments (ingest_id, task_id, user_id, comment, created_date, updated_date, version) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_SUFFIX = " ON CONFLICT (ingest_id) DO NOTHING RETURNING id, task_id, user_id) "
+            + "INSERT INTO task_events (task_id, event_type, payload, created_date) "
+            + "SELECT task_id, 'COMMENT_ADDED', json_build_object('commentId', id, 'userId', user_id)::text, now() "
+            + "FROM inserted ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the comments in chunks, one statement per chunk.
+     * <p>
+     * If a chunk violates a constraint (for example, its task was deleted in the meantime), its rows are retried
+     * one by one and only the offending rows are dropped.
+     * </p>
+     *
+     * @param comments  the comments to insert.
+     * @param chunkSize the maximum number of rows per statement.
+     * @return the number of rows inserted.
+     */
+    public int insert(List<PendingComment> comments, int chunkSize) {
+        int inserted = 0;
+        for (int from = 0; from < comments.size(); from += chunkSize) {
+            List<PendingComment> chunk = comments.subList(from, Math.min(from + chunkSize, comments.size()));
+            try {
+                inserted += insertChunk(chunk);
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Batch of {} comments violates a constraint, inserting row by row", chunk.size());
+                for (PendingComment comment : chunk) {
+                    try {
+                        inserted += insertChunk(List.of(comment));
+                    } catch (DataIntegrityViolationException rowFailure) {
+                        logger.warn("Dropping comment {} for task {}: {}", comment.ingestId(), comment.taskId(),
+                                rowFailure.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private int insertChunk(List<PendingComment> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + chunk.size() * (ROW.length() + 2)
+                + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(chunk.size() * 6);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            PendingComment comment = chunk.get(i);
+            Timestamp created = Timestamp.valueOf(comment.createdDate());
+            args.add(comment.ingestId());
+            args.add(comment.taskId());
+            args.add(comment.userId());
+            args.add(comment.comment());
+            args.add(created);
+            args.add(created);
+        }
+        sql.append(INSERT_SUFFIX);
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
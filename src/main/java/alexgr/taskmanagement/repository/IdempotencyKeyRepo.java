@@ -0,0 +1,41 @@
+package alexgr.taskmanagement.repository;
+
+import alexgr.taskmanagement.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for managing {@link IdempotencyKeyEntity} entities.
+ *
+ * <p>Extends {@link JpaRepository} to provide CRUD operations and the TTL cleanup query.</p>
+ *
+ * @see JpaRepository
+ */
+public interface IdempotencyKeyRepo extends JpaRepository<IdempotencyKeyEntity, Integer> {
+
+    /**
+     * Finds a key by its owner and value.
+     *
+     * @param owner          the email of the user who sent the key.
+     * @param idempotencyKey the value of the key.
+     * @return the stored key, or {@code null} if it has not been seen or has been purged.
+     */
+    IdempotencyKeyEntity findByOwnerAndIdempotencyKey(String owner, String idempotencyKey);
+
+    /**
+     * Deletes all keys whose TTL has passed.
+     *
+     * @param now the current date and time.
+     * @return the number of deleted keys.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
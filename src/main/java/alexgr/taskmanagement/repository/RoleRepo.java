@@ -2,7 +2,10 @@ package alexgr.taskmanagement.repository;
 
 import alexgr.taskmanagement.dto.role.Role;
 import alexgr.taskmanagement.entity.RoleEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 /**
@@ -16,10 +19,14 @@ public interface RoleRepo extends JpaRepository<RoleEntity, Integer> {
 
     /**
      * Finds a {@link RoleEntity} by the specified {@link Role}.
+     * <p>
+     * The result is kept in the query cache; roles never change, so it is never invalidated.
+     * </p>
      *
      * @param role the {@link Role} to search for.
      * @return an {@link Optional} containing the found {@link RoleEntity}, or empty if no entity is found.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleEntity> findByRole(Role role);
 
 }
@@ -0,0 +1,42 @@
+package alexgr.taskmanagement.repository;
+
+import alexgr.taskmanagement.entity.TaskEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for the {@link TaskEventEntity} outbox.
+ *
+ * <p>Extends {@link JpaRepository} to provide CRUD operations and the locking query used by the relay.</p>
+ *
+ * @see JpaRepository
+ */
+public interface TaskEventRepo extends JpaRepository<TaskEventEntity, Long> {
+
+    /**
+     * Locks the oldest undelivered events for the current transaction.
+     *
+     * <p>The candidates are picked first: the oldest {@code limit} rows not locked by another relay. Only then is
+     * a transaction-scoped advisory lock taken per task of those candidates, so a relay never holds tasks it has
+     * not picked. A candidate is dropped if its task is held by another relay, or if an older event of its task
+     * is outside the batch (still locked by another relay, or picked before that relay rolled back). All events
+     * of one task therefore go through a single relay at a time and in order, while other instances keep draining
+     * other tasks. The {@code candidates} CTE is referenced twice, so PostgreSQL evaluates it once, before the
+     * outer filter.</p>
+     *
+     * @param limit the maximum number of events to lock.
+     * @return the locked events, ordered by ID.
+     */
+    @Query(value = "WITH candidates AS (" +
+            "SELECT id, task_id FROM task_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "SELECT e.* FROM task_events e JOIN candidates c ON c.id = e.id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM task_events o WHERE o.task_id = c.task_id AND o.id < c.id " +
+            "AND o.id NOT IN (SELECT id FROM candidates)) " +
+            "AND pg_try_advisory_xact_lock(hashtext('task_events'), c.task_id) " +
+            "ORDER BY e.id", nativeQuery = true)
+    List<TaskEventEntity> lockNextBatch(@Param("limit") int limit);
+
+}
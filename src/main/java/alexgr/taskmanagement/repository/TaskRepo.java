@@ -1,29 +1,62 @@
 package alexgr.taskmanagement.repository;
 
+import alexgr.taskmanagement.dto.task.TaskChangeRow;
+import alexgr.taskmanagement.dto.task.TaskListVersion;
 import alexgr.taskmanagement.entity.TaskEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Repository interface for managing {@link TaskEntity} entities.
  *
- * <p>Extends {@link JpaRepository} to provide CRUD operations and custom query methods for {@link TaskEntity}.</p>
+ * <p>Extends {@link JpaRepository} to provide CRUD operations and custom query methods for {@link TaskEntity}.
+ * All JPQL and derived queries see only live tasks; the native purge queries below work on soft-deleted ones.
+ * Each purge query names the table it changes, so Hibernate invalidates only the matching cache regions instead
+ * of the whole second-level cache.</p>
  *
  * @see JpaRepository
  */
 public interface TaskRepo extends JpaRepository<TaskEntity,Integer> {
 
     /**
-     * Finds a {@link TaskEntity} by its unique identifier.
+     * Finds a live {@link TaskEntity} by its unique identifier.
+     *
+     * <p>The task is served from the second-level cache when present. Cache hits bypass the soft-delete
+     * restriction, so a task found with {@code deleted_at} set is treated as missing.</p>
+     *
+     * @param id the unique identifier of the task.
+     * @return the {@link TaskEntity} with the specified ID, or {@code null} if no live entity is found.
+     */
+    default TaskEntity findTaskEntityById(Integer id) {
+        return findById(id).filter(task -> task.getDeletedAt() == null).orElse(null);
+    }
+
+    /**
+     * Reads a live {@link TaskEntity} from the database, bypassing the second-level cache.
+     *
+     * <p>The {@code tasks} region is local to each instance, so after a write on another instance it can hold an
+     * older version for up to its TTL. Writes and version checks read the task through this query; the row read
+     * also replaces the cached entry, so the next cached read on this instance sees it.</p>
      *
      * @param id the unique identifier of the task.
-     * @return the {@link TaskEntity} with the specified ID, or {@code null} if no entity is found.
+     * @return the current {@link TaskEntity}, or {@code null} if no live entity is found.
      */
-    TaskEntity findTaskEntityById(Integer id);
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT t FROM TaskEntity t WHERE t.id = :id")
+    TaskEntity findCurrentById(@Param("id") Integer id);
 
     /**
      * Checks if a task with the specified name exists.
@@ -33,6 +66,47 @@ public interface TaskRepo extends JpaRepository<TaskEntity,Integer> {
      */
     boolean existsByName(String name);
 
+    /**
+     * Reads only the optimistic-locking version of a live task, always from the database.
+     *
+     * @param id the unique identifier of the task.
+     * @return the current version, or {@code null} if no live task with this ID exists.
+     */
+    @Query("SELECT t.version FROM TaskEntity t WHERE t.id = :id")
+    Integer findVersionById(@Param("id") Integer id);
+
+    /**
+     * Reads the fingerprint of the live tasks: their count, latest modification date and version sum.
+     *
+     * <p>The aggregate is computed by the database in one statement without loading any task.</p>
+     *
+     * @return the current {@link TaskListVersion}.
+     */
+    @Query("SELECT new alexgr.taskmanagement.dto.task.TaskListVersion(count(t), max(t.updatedDate), " +
+            "coalesce(sum(t.version), 0L)) FROM TaskEntity t")
+    TaskListVersion findListVersion();
+
+    /**
+     * Reads the tasks changed after a keyset position, live tasks and tombstones alike, in feed order.
+     *
+     * <p>A native query, since the JPA mapping hides tombstones. The row-value comparison lets the database
+     * seek {@code idx_tasks_updated_date_id} to the cursor and read the page from there.</p>
+     *
+     * @param afterUpdated the modification date of the cursor.
+     * @param afterId      the task ID of the cursor.
+     * @param until        rows modified at or after this moment are left for a later request.
+     * @param limit        the maximum number of rows.
+     * @return the changed tasks, ordered by modification date and ID.
+     */
+    @Query(value = "SELECT id, name, status, priority, description, executor, version, " +
+            "updated_date AS updated, deleted_at AS deleted FROM tasks " +
+            "WHERE (updated_date, id) > (:afterUpdated, :afterId) AND updated_date < :until " +
+            "ORDER BY updated_date, id LIMIT :limit", nativeQuery = true)
+    List<TaskChangeRow> findChangesAfter(@Param("afterUpdated") LocalDateTime afterUpdated,
+                                         @Param("afterId") int afterId,
+                                         @Param("until") LocalDateTime until,
+                                         @Param("limit") int limit);
+
     /**
      * Finds a list of {@link TaskEntity} based on the specified parameters.
      *
@@ -52,5 +126,51 @@ public interface TaskRepo extends JpaRepository<TaskEntity,Integer> {
             @Param("priority") String priority
     );
 
+    /**
+     * Finds the IDs of tasks that were soft-deleted before the given moment, oldest first.
+     *
+     * @param before only tasks deleted before this moment are returned.
+     * @param limit  the maximum number of IDs to return.
+     * @return the IDs of purgeable tasks.
+     */
+    @Query(value = "SELECT id FROM tasks WHERE deleted_at < :before ORDER BY deleted_at LIMIT :limit",
+            nativeQuery = true)
+    List<Integer> findPurgeableIds(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Deletes up to {@code limit} comments of the given tasks.
+     *
+     * @param taskIds the IDs of soft-deleted tasks.
+     * @param limit   the maximum number of comments to delete.
+     * @return the number of deleted comments.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"))
+    @Query(value = "DELETE FROM comments WHERE id IN " +
+            "(SELECT id FROM comments WHERE task_id IN (:taskIds) LIMIT :limit)", nativeQuery = true)
+    int purgeComments(@Param("taskIds") List<Integer> taskIds, @Param("limit") int limit);
+
+    /**
+     * Deletes the user links of the given tasks.
+     *
+     * @param taskIds the IDs of soft-deleted tasks.
+     * @return the number of deleted links.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_task"))
+    @Query(value = "DELETE FROM user_task WHERE task_id IN (:taskIds)", nativeQuery = true)
+    int purgeUserLinks(@Param("taskIds") List<Integer> taskIds);
+
+    /**
+     * Physically deletes soft-deleted tasks that no longer have comments.
+     *
+     * @param taskIds the IDs of soft-deleted tasks.
+     * @return the number of deleted tasks.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "DELETE FROM tasks t WHERE t.id IN (:taskIds) AND t.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.task_id = t.id)", nativeQuery = true)
+    int purgeTasks(@Param("taskIds") List<Integer> taskIds);
 
 }
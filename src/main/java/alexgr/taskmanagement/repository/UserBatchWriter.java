@@ -0,0 +1,66 @@
+package alexgr.taskmanagement.repository;
+
+import alexgr.taskmanagement.dto.role.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts users with multi-row {@code INSERT} statements through JDBC.
+ *
+ * <p>Rows whose email already exists are skipped by {@code ON CONFLICT DO NOTHING} instead of failing the whole
+ * statement, and the statement returns the IDs of the rows it did insert.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO users (email, password, role, created_date, updated_date, version) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_SUFFIX = " ON CONFLICT (email) DO NOTHING RETURNING id, email";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts users in one statement.
+     *
+     * @param users the users to insert, as email to password hash; emails must be distinct.
+     * @param role  the role of every user.
+     * @return the IDs of the inserted users by email; emails that already existed are absent.
+     */
+    public Map<String, Integer> insert(Map<String, String> users, Role role) {
+        Map<String, Integer> inserted = new HashMap<>();
+        if (users.isEmpty()) {
+            return inserted;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + users.size() * (ROW.length() + 2)
+                + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(users.size() * 5);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<String, String> user : users.entrySet()) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            args.add(user.getKey());
+            args.add(user.getValue());
+            args.add(role.name());
+            args.add(now);
+            args.add(now);
+        }
+        sql.append(INSERT_SUFFIX);
+        jdbcTemplate.query(sql.toString(), rs -> {
+            inserted.put(rs.getString("email"), rs.getInt("id"));
+        }, args.toArray());
+        return inserted;
+    }
+}
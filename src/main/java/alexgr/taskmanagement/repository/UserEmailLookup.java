@@ -0,0 +1,19 @@
+package alexgr.taskmanagement.repository;
+
+import alexgr.taskmanagement.entity.UserEntity;
+
+/**
+ * Repository fragment that loads users by email through the natural-ID cache.
+ *
+ * @see UserRepo
+ */
+public interface UserEmailLookup {
+
+    /**
+     * Finds a {@link UserEntity} by its email address.
+     *
+     * @param email the email address of the user.
+     * @return the {@link UserEntity} with the specified email, or {@code null} if no user is found.
+     */
+    UserEntity findUserByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package alexgr.taskmanagement.repository;
+
+import alexgr.taskmanagement.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link UserEmailLookup}.
+ *
+ * <p>A derived query would go to the database on every call, which for the user lookup of JWT authentication
+ * means once per request. The natural-ID load resolves the email to an ID in the {@code users-by-email} region
+ * and the user in the {@code users} region, and queries only on a miss.</p>
+ */
+public class UserEmailLookupImpl implements UserEmailLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserEntity findUserByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(UserEntity.class).load(email);
+    }
+}
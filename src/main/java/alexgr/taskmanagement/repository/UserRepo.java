@@ -1,15 +1,24 @@
 package alexgr.taskmanagement.repository;
 
+import alexgr.taskmanagement.dto.user.UserDirectoryEntry;
+import alexgr.taskmanagement.dto.user.UserDirectoryVersion;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 /**
  * Repository interface for managing {@link UserEntity} entities.
  *
- * <p>Extends {@link JpaRepository} to provide CRUD operations and custom query methods for {@link UserEntity}.</p>
+ * <p>Extends {@link JpaRepository} to provide CRUD operations and custom query methods for {@link UserEntity}.
+ * The lookup by email comes from {@link UserEmailLookup} and goes through the natural-ID cache.</p>
  *
  * @see JpaRepository
  */
-public interface UserRepo extends JpaRepository<UserEntity, Integer> {
+public interface UserRepo extends JpaRepository<UserEntity, Integer>, UserEmailLookup {
     /**
      * Finds a {@link UserEntity} by its unique identifier.
      *
@@ -19,11 +28,51 @@ public interface UserRepo extends JpaRepository<UserEntity, Integer> {
     UserEntity findUserById(Integer id);
 
     /**
-     * Finds a {@link UserEntity} by its email address.
+     * Finds only the ID of a user by email address, without loading the entity.
      *
      * @param email the email address of the user.
-     * @return the {@link UserEntity} with the specified email, or {@code null} if no user is found.
+     * @return the ID of the user, or {@code null} if no user is found.
+     */
+    @Query("SELECT u.id FROM UserEntity u WHERE u.email = :email")
+    Integer findIdByEmail(@Param("email") String email);
+
+    /**
+     * Reads one page of the user directory by keyset, selecting only the ID and email columns.
+     *
+     * @param after the ID after which the page starts; {@code 0} for the first page.
+     * @param limit the maximum number of rows.
+     * @return the directory entries, ordered by ID.
+     */
+    @Query("SELECT new alexgr.taskmanagement.dto.user.UserDirectoryEntry(u.id, u.email) FROM UserEntity u " +
+            "WHERE u.id > :after ORDER BY u.id")
+    List<UserDirectoryEntry> findDirectoryPage(@Param("after") int after, Limit limit);
+
+    /**
+     * Reads the email of every user without loading the entities.
+     *
+     * @return the emails, ordered by user ID.
+     */
+    @Query("SELECT u.email FROM UserEntity u ORDER BY u.id")
+    List<String> findAllEmails();
+
+    /**
+     * Computes the fingerprint of the users table.
+     *
+     * @return the number of users and the highest user ID.
+     */
+    @Query("SELECT new alexgr.taskmanagement.dto.user.UserDirectoryVersion(count(u), coalesce(max(u.id), 0)) " +
+            "FROM UserEntity u")
+    UserDirectoryVersion findDirectoryVersion();
+
+    /**
+     * Reads one page of users for the search index by keyset, selecting only the searchable columns.
+     *
+     * @param after the ID after which the page starts; {@code 0} for the first page.
+     * @param limit the maximum number of rows.
+     * @return the users, ordered by ID.
      */
-    UserEntity findUserByEmail(String email);
+    @Query("SELECT new alexgr.taskmanagement.dto.user.UserSuggestion(u.id, u.email, u.firstName, u.lastName) " +
+            "FROM UserEntity u WHERE u.id > :after ORDER BY u.id")
+    List<UserSuggestion> findSuggestionPage(@Param("after") int after, Limit limit);
 
 }
@@ -0,0 +1,34 @@
+package alexgr.taskmanagement.service;
+
+import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Service interface for replaying responses of requests retried with the same {@code Idempotency-Key}.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Name of the request header carrying the client-generated key.
+     */
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Runs the action once per key and returns the stored response for every retry with the same key.
+     *
+     * @param key       the value of the {@code Idempotency-Key} header, or {@code null} to run without protection.
+     * @param operation a short description of the operation, e.g. {@code POST /task/create}.
+     * @param action    the write to protect.
+     * @return the response of the action, or the stored response if the key was seen before.
+     * @throws IdNotFoundException if the action fails because an entity is missing.
+     */
+    ResponseEntity<?> execute(String key, String operation, IdempotentAction action) throws IdNotFoundException;
+
+    /**
+     * A write protected by an idempotency key.
+     */
+    @FunctionalInterface
+    interface IdempotentAction {
+        ResponseEntity<?> run() throws IdNotFoundException;
+    }
+}
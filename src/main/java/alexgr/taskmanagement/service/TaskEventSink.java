@@ -0,0 +1,23 @@
+package alexgr.taskmanagement.service;
+
+import alexgr.taskmanagement.dto.event.TaskEvent;
+
+import java.util.List;
+
+/**
+ * Destination for task lifecycle events drained from the outbox.
+ */
+public interface TaskEventSink {
+
+    /**
+     * Delivers a batch of events, ordered by event ID.
+     * <p>
+     * The batch is removed from the outbox only if every sink returns normally; throwing makes the relay
+     * deliver the same batch again later, so implementations must tolerate duplicates.
+     * </p>
+     *
+     * @param events the events to deliver.
+     * @throws Exception if the events could not be delivered.
+     */
+    void deliver(List<TaskEvent> events) throws Exception;
+}
@@ -1,6 +1,8 @@
 package alexgr.taskmanagement.service;
 
 import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.task.TaskChangesPage;
+import alexgr.taskmanagement.dto.task.TaskListVersion;
 import alexgr.taskmanagement.entity.TaskEntity;
 import alexgr.taskmanagement.exceptions.IdNotFoundException;
 import alexgr.taskmanagement.exceptions.NameDuplicateException;
@@ -9,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service interface for managing tasks.
@@ -33,6 +36,19 @@ public interface TaskService {
      */
     TaskEntity updateTaskByExecutor(Integer id, Task task) throws IdNotFoundException;
 
+    /**
+     * Updates a task's details if the current user is its executor and the task is still at one of the given
+     * versions.
+     *
+     * @param id               the ID of the task to update.
+     * @param task             the task DTO containing the updated details.
+     * @param expectedVersions the versions named by the client's {@code If-Match}, or {@code null} to update
+     *                         unconditionally.
+     * @return the updated TaskEntity.
+     * @throws IdNotFoundException if the task with the specified ID is not found.
+     */
+    TaskEntity updateTaskByExecutor(Integer id, Task task, Set<Integer> expectedVersions) throws IdNotFoundException;
+
     /**
      * Updates a task's details as an administrator.
      *
@@ -43,6 +59,18 @@ public interface TaskService {
      */
     TaskEntity updateTaskByAdmin(Integer id, Task task) throws IdNotFoundException;
 
+    /**
+     * Updates a task's details as an administrator if the task is still at one of the given versions.
+     *
+     * @param id               the ID of the task to update.
+     * @param task             the task DTO containing the updated details.
+     * @param expectedVersions the versions named by the client's {@code If-Match}, or {@code null} to update
+     *                         unconditionally.
+     * @return the updated TaskEntity.
+     * @throws IdNotFoundException if the task with the specified ID is not found.
+     */
+    TaskEntity updateTaskByAdmin(Integer id, Task task, Set<Integer> expectedVersions) throws IdNotFoundException;
+
     /**
      * Deletes a task specified by its ID.
      *
@@ -60,6 +88,41 @@ public interface TaskService {
      */
     void appointAnExecutor(Integer taskId, String email) throws IdNotFoundException;
 
+    /**
+     * Retrieves a single live task.
+     *
+     * @param id the ID of the task.
+     * @return the TaskEntity.
+     * @throws IdNotFoundException if the task with the specified ID is not found.
+     */
+    TaskEntity getTask(Integer id) throws IdNotFoundException;
+
+    /**
+     * Retrieves a single live task whose version has just been read with {@link #getTaskVersion(Integer)}.
+     *
+     * @param id      the ID of the task.
+     * @param version the version read from the database.
+     * @return the TaskEntity.
+     * @throws IdNotFoundException if the task with the specified ID is not found.
+     */
+    TaskEntity getTask(Integer id, int version) throws IdNotFoundException;
+
+    /**
+     * Reads only the version of a live task, which single-task responses are validated against.
+     *
+     * @param id the ID of the task.
+     * @return the current version.
+     * @throws IdNotFoundException if the task with the specified ID is not found.
+     */
+    int getTaskVersion(Integer id) throws IdNotFoundException;
+
+    /**
+     * Reads the fingerprint of the live tasks that the task listings are validated against.
+     *
+     * @return the current {@link TaskListVersion}.
+     */
+    TaskListVersion getTaskListVersion();
+
     /**
      * Retrieves a paginated list of all tasks.
      *
@@ -75,6 +138,15 @@ public interface TaskService {
      * @param priority the priority of the tasks to search for (optional).
      * @return a list of tasks matching the specified parameters.
      */
-    List<TaskEntity> searchTasks(String status, String priority);
+    List<Task> searchTasks(String status, String priority);
+
+    /**
+     * Retrieves the tasks created, updated or deleted after a sync cursor.
+     *
+     * @param since the cursor returned by the previous call, or {@code null} to start from the beginning.
+     * @param size  the maximum number of changes to return.
+     * @return a page of changes with the cursor to continue from.
+     */
+    TaskChangesPage getChanges(String since, int size);
 }
 
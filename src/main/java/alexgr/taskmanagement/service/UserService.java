@@ -3,6 +3,9 @@ package alexgr.taskmanagement.service;
 
 
 import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.dto.user.UserDirectoryPage;
+import alexgr.taskmanagement.dto.user.UserDirectorySnapshot;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.UserEntity;
 
 import java.util.ArrayList;
@@ -28,6 +31,31 @@ public interface UserService {
      */
     List<String> getAllUsers();
 
+    /**
+     * Retrieves the cached snapshot of all user email addresses together with its entity tag.
+     *
+     * @return the current {@link UserDirectorySnapshot}.
+     */
+    UserDirectorySnapshot getUserDirectorySnapshot();
+
+    /**
+     * Retrieves one page of the user directory, reading only user IDs and emails.
+     *
+     * @param after the ID after which the page starts, or {@code null} for the first page.
+     * @param size  the requested page size; capped at the directory's maximum page size.
+     * @return the requested {@link UserDirectoryPage}.
+     */
+    UserDirectoryPage getUserDirectory(Integer after, int size);
+
+    /**
+     * Finds users whose email or name starts with the given prefix.
+     *
+     * @param prefix the prefix typed by the client.
+     * @param limit  the maximum number of users to return.
+     * @return the best matches, at most {@code limit} of them.
+     */
+    List<UserSuggestion> suggestUsers(String prefix, int limit);
+
     /**
      * Retrieves the email of the currently authenticated user.
      *
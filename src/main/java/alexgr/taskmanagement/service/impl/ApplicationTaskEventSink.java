@@ -0,0 +1,28 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.event.TaskEvent;
+import alexgr.taskmanagement.service.TaskEventSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-process {@link TaskEventSink} that republishes every event as a Spring application event.
+ *
+ * <p>Components inside the application can receive task events with
+ * {@code @EventListener void on(TaskEvent event)}. Listeners run on the relay thread; an exception thrown by a
+ * listener makes the batch be delivered again.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationTaskEventSink implements TaskEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void deliver(List<TaskEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -3,17 +3,20 @@ package alexgr.taskmanagement.service.impl;
 import alexgr.taskmanagement.dto.auth.AuthPayload;
 import alexgr.taskmanagement.dto.role.Role;
 import alexgr.taskmanagement.dto.user.User;
-import alexgr.taskmanagement.entity.RoleEntity;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.exceptions.MailDuplicationException;
 import alexgr.taskmanagement.exceptions.WrongLoginPasswordException;
 import alexgr.taskmanagement.mapper.UserConvertor;
-import alexgr.taskmanagement.repository.RoleRepo;
 import alexgr.taskmanagement.repository.UserRepo;
 import alexgr.taskmanagement.utils.AuthenticationResponse;
 import alexgr.taskmanagement.utils.JwtTokenService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -22,7 +25,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -39,33 +41,44 @@ public class AuthService {
     private final JwtTokenService tokenService;
     private final UserConvertor userConvertor;
     private final AuthenticationManager authenticationManager;
-    private final RoleRepo roleRepo;
+    private final RoleTable roleTable;
+    private final UserDirectory userDirectory;
+    private final UserSearchIndex userSearchIndex;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     /**
      * Registers a new user with the provided authentication payload.
+     * <p>
+     * The user is written with a single insert; an email that is already taken is reported by the unique
+     * constraint instead of a lookup beforehand. The token is issued for the saved user.
+     * </p>
      *
      * @param authPayload the authentication payload containing the user's email and password.
      * @return an {@link AuthenticationResponse} containing a JWT token for the registered user.
-     * @throws RuntimeException if the user's role cannot be found in the role repository.
+     * @throws MailDuplicationException if a user with the same email already exists.
      */
     public AuthenticationResponse register(AuthPayload authPayload) {
-        logger.info("Registering user with email: {}", authPayload.getEmail());
+        logger.debug("Registering user with email: {}", authPayload.getEmail());
         User user = new User();
         user.setEmail(authPayload.getEmail());
         user.setPassword(passwordEncoder.encode(authPayload.getPassword()));
-        RoleEntity roleEntity = roleRepo.findByRole(Role.USER).orElseThrow(() -> new RuntimeException("no roles match"));
 
         UserEntity entity = userConvertor.convertToEntity(user);
-        entity.setRole(roleEntity.getRole());
-        userRepo.save(entity);
-        logger.info("User registered successfully.");
-
-        String token = tokenService.generateToken(new org.springframework.security.core.userdetails.User(
-                user.getEmail(), user.getPassword(), new ArrayList<>()));
+        entity.setRole(roleTable.get(Role.USER).getRole());
+        try {
+            entity = userRepo.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new MailDuplicationException("Email is already registered: " + authPayload.getEmail());
+            }
+            throw e;
+        }
+        userDirectory.invalidate();
+        userSearchIndex.put(new UserSuggestion(entity.getId(), entity.getEmail(), null, null));
+        logger.debug("User registered successfully.");
 
         return AuthenticationResponse.builder()
-                .token(token)
+                .token(tokenService.generateToken(principalOf(entity)))
                 .build();
     }
 
@@ -77,24 +90,39 @@ public class AuthService {
      * @throws org.springframework.security.authentication.BadCredentialsException if authentication fails.
      */
     public AuthenticationResponse authenticate(AuthPayload authPayload) {
-        logger.info("Authenticating user with email: {}", authPayload.getEmail());
+        logger.debug("Authenticating user with email: {}", authPayload.getEmail());
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(authPayload.getEmail(), authPayload.getPassword())
         );
 
         UserEntity userEntity = userRepo.findUserByEmail(authPayload.getEmail());
+        String token = tokenService.generateToken(principalOf(userEntity));
 
+        return AuthenticationResponse.builder()
+                .token(token)
+                .build();
+    }
+
+    /**
+     * Builds the security principal of a stored user, with the user's role as its only authority.
+     *
+     * @param userEntity the stored user.
+     * @return the {@link UserDetails} to issue a token for.
+     */
+    private static UserDetails principalOf(UserEntity userEntity) {
         List<GrantedAuthority> authorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + userEntity.getRole().name())
         );
-
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+        return new org.springframework.security.core.userdetails.User(
                 userEntity.getEmail(), userEntity.getPassword(), authorities);
+    }
 
-        String token = tokenService.generateToken(userDetails);
-
-        return AuthenticationResponse.builder()
-                .token(token)
-                .build();
+    /**
+     * Tells whether a failed insert violated a unique constraint, which on the users table can only be the email.
+     */
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        return e instanceof DuplicateKeyException
+                || e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
     }
 }
@@ -0,0 +1,323 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.comment.PendingComment;
+import alexgr.taskmanagement.exceptions.CommentQueueFullException;
+import alexgr.taskmanagement.repository.CommentBatchWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for comments, enabled with {@code comments.ingestion.mode=write-behind}.
+ *
+ * <p>An accepted comment is appended to a local journal file and to an in-memory list, and the request is
+ * acknowledged right away. A scheduled flusher periodically seals the journal into a segment file and writes the
+ * segment to the database with multi-row inserts through {@link CommentBatchWriter}; the segment file is deleted
+ * only after its rows are committed. Segments left behind by a crash are replayed on startup, and the
+ * {@code ingest_id} of each comment keeps replays from creating duplicates.</p>
+ *
+ * <p>The number of comments accepted but not yet written is bounded; beyond it new comments are rejected with
+ * {@link CommentQueueFullException} so that a database outage cannot exhaust memory.</p>
+ */
+@Component
+public class CommentIngestionBuffer {
+
+    static final String JOURNAL_FILE = "comments.journal";
+    private static final String SEGMENT_PREFIX = "comments-";
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentIngestionBuffer.class);
+
+    private final CommentBatchWriter batchWriter;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final boolean fsync;
+    private final Path journalDir;
+
+    // Locks rather than monitors: both are held across file or database I/O, which would pin a virtual thread.
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Deque<Segment> unflushed = new ArrayDeque<>();
+    private List<PendingComment> pending = new ArrayList<>();
+    private FileChannel journal;
+    private long segmentSeq;
+
+    public CommentIngestionBuffer(CommentBatchWriter batchWriter,
+                                  @Value("${comments.ingestion.mode:sync}") String mode,
+                                  @Value("${comments.ingestion.capacity:10000}") int capacity,
+                                  @Value("${comments.ingestion.batch-size:500}") int batchSize,
+                                  @Value("${comments.ingestion.journal-fsync:false}") boolean fsync,
+                                  @Value("${comments.ingestion.journal-dir:data/comment-journal}") String journalDir) {
+        this.batchWriter = batchWriter;
+        this.enabled = "write-behind".equalsIgnoreCase(mode);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.fsync = fsync;
+        this.journalDir = Path.of(journalDir);
+    }
+
+    /**
+     * Opens the journal and picks up segments left by a previous run.
+     *
+     * @throws IOException if the journal directory cannot be read or written.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(journalDir);
+        recover();
+        journal = openJournal();
+        logger.info("Write-behind comment ingestion enabled, journal in {}", journalDir.toAbsolutePath());
+    }
+
+    /**
+     * Flushes everything still buffered and closes the journal.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        journalLock.lock();
+        try {
+            closeQuietly();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if comments should be queued instead of written synchronously.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Journals and queues a comment.
+     *
+     * @param taskId  the ID of the task the comment belongs to.
+     * @param userId  the ID of the comment's author.
+     * @param comment the text of the comment.
+     * @return the queued comment.
+     * @throws CommentQueueFullException if too many comments are waiting to be written.
+     */
+    public PendingComment enqueue(Integer taskId, Integer userId, String comment) {
+        PendingComment pendingComment = new PendingComment(UUID.randomUUID(), taskId, userId, comment,
+                LocalDateTime.now());
+        ByteBuffer line = ByteBuffer.wrap(encode(pendingComment));
+        journalLock.lock();
+        try {
+            if (backlog.get() >= capacity) {
+                throw new CommentQueueFullException("Too many comments are waiting to be saved, retry later");
+            }
+            try {
+                if (journal == null || !journal.isOpen()) {
+                    journal = openJournal();
+                }
+                while (line.hasRemaining()) {
+                    journal.write(line);
+                }
+                if (fsync) {
+                    journal.force(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot journal comment", e);
+            }
+            pending.add(pendingComment);
+            backlog.incrementAndGet();
+        } finally {
+            journalLock.unlock();
+        }
+        return pendingComment;
+    }
+
+    /**
+     * Seals the current journal into a segment and writes all unflushed segments in order.
+     * <p>
+     * If the database rejects a segment, flushing stops and the segment is retried on the next run.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${comments.ingestion.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            seal();
+            while (!unflushed.isEmpty()) {
+                Segment segment = unflushed.peek();
+                try {
+                    batchWriter.insert(segment.comments(), batchSize);
+                } catch (DataAccessException e) {
+                    logger.warn("Writing {} queued comments failed, will retry", segment.comments().size(), e);
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(segment.path());
+                } catch (IOException e) {
+                    logger.warn("Cannot delete flushed journal segment {}", segment.path(), e);
+                }
+                unflushed.poll();
+                backlog.addAndGet(-segment.comments().size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of comments accepted but not yet written to the database.
+     */
+    public int backlog() {
+        return backlog.get();
+    }
+
+    /**
+     * Moves the journal and the comments it holds into a new segment, then starts an empty journal.
+     * <p>
+     * If the new journal cannot be opened, the next {@link #enqueue} opens it, so a transient file system error
+     * does not disable the buffer until a restart.
+     * </p>
+     */
+    private void seal() {
+        journalLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Path segmentPath = nextSegmentPath();
+            try {
+                journal.close();
+                Files.move(journalDir.resolve(JOURNAL_FILE), segmentPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot seal comment journal", e);
+            } finally {
+                try {
+                    journal = openJournal();
+                } catch (IOException e) {
+                    journal = null;
+                    logger.error("Cannot reopen comment journal, will retry on the next comment", e);
+                }
+            }
+            unflushed.add(new Segment(segmentPath, pending));
+            pending = new ArrayList<>();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Loads segments and the journal left by a previous run so the next flush writes them.
+     */
+    private void recover() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalDir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        for (Path segment : segments) {
+            String name = segment.getFileName().toString();
+            segmentSeq = Math.max(segmentSeq,
+                    Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+        }
+        Path leftover = journalDir.resolve(JOURNAL_FILE);
+        if (Files.exists(leftover) && Files.size(leftover) > 0) {
+            Path segment = nextSegmentPath();
+            Files.move(leftover, segment);
+            segments.add(segment);
+        }
+        int recovered = 0;
+        for (Path segment : segments) {
+            List<PendingComment> comments = read(segment);
+            unflushed.add(new Segment(segment, comments));
+            recovered += comments.size();
+        }
+        backlog.addAndGet(recovered);
+        if (recovered > 0) {
+            logger.info("Recovered {} unsaved comments from {} journal segments", recovered, segments.size());
+        }
+    }
+
+    FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalDir.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeQuietly() {
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot close comment journal", e);
+        }
+    }
+
+    private Path nextSegmentPath() {
+        return journalDir.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, ++segmentSeq, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Encodes a comment as one tab-separated journal line; the text is Base64-encoded so it cannot break the line.
+     */
+    static byte[] encode(PendingComment comment) {
+        String text = Base64.getEncoder().encodeToString(comment.comment().getBytes(StandardCharsets.UTF_8));
+        return (comment.ingestId() + "\t" + comment.taskId() + "\t" + comment.userId() + "\t"
+                + comment.createdDate() + "\t" + text + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a segment, skipping a line torn by a crash in the middle of a write.
+     */
+    static List<PendingComment> read(Path segment) throws IOException {
+        List<PendingComment> comments = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            String[] parts = line.split("\t");
+            try {
+                comments.add(new PendingComment(UUID.fromString(parts[0]), Integer.valueOf(parts[1]),
+                        Integer.valueOf(parts[2]), new String(Base64.getDecoder().decode(parts[4]), StandardCharsets.UTF_8),
+                        LocalDateTime.parse(parts[3])));
+            } catch (RuntimeException e) {
+                logger.warn("Skipping unreadable line in comment journal {}", segment);
+            }
+        }
+        return comments;
+    }
+
+    /**
+     * A sealed journal file and the comments it holds.
+     */
+    private record Segment(Path path, List<PendingComment> comments) {
+    }
+}
@@ -5,19 +5,25 @@ import alexgr.taskmanagement.entity.CommentEntity;
 import alexgr.taskmanagement.entity.TaskEntity;
 import alexgr.taskmanagement.entity.UserEntity;
 import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.exceptions.UserEmailNotFoundException;
 import alexgr.taskmanagement.repository.CommentsRepo;
 import alexgr.taskmanagement.repository.TaskRepo;
 import alexgr.taskmanagement.repository.UserRepo;
 import alexgr.taskmanagement.service.CommentService;
 import alexgr.taskmanagement.service.UserService;
+import alexgr.taskmanagement.utils.TaskMetrics;
+import alexgr.taskmanagement.utils.TaskOperationEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 /**
  * Implementation of the {@link CommentService} interface.
  *
- * <p>This service handles operations related to comments, including adding comments to tasks.</p>
+ * <p>This service handles operations related to comments, including adding comments to tasks. In
+ * write-behind mode comments are handed to {@link CommentIngestionBuffer} instead of being saved in the
+ * request.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +34,9 @@ public class CommentServiceImpl implements CommentService {
     private final UserRepo userRepo;
     private final CommentsRepo commentsRepo;
     private final UserService userService;
+    private final CommentIngestionBuffer ingestionBuffer;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TaskMetrics taskMetrics;
 
     /**
      * Adds a comment to a specific task.
@@ -36,26 +45,59 @@ public class CommentServiceImpl implements CommentService {
      * @param commentDto the comment data transfer object containing the comment content.
      * @throws IdNotFoundException if the task with the specified ID is not found.
      */
+    @Transactional
     @Override
     public void addComment(Integer taskId, Comment commentDto) throws IdNotFoundException {
-        TaskEntity entity = taskRepo.findTaskEntityById(taskId);
-        logger.info("task id " + taskId);
-        if (entity != null) {
-            String user = userService.getCurrentUser();
-            UserEntity userEntity = userRepo.findUserByEmail(user);
-            userEntity.setEmail(user);
-            entity.setId(taskId);
-            CommentEntity comment = new CommentEntity();
-            comment.setComment(commentDto.getComment());
-            comment.setUser(userEntity);
-            comment.setTask(entity);
-            entity.getCommentEntityList().add(comment);
-            commentsRepo.save(comment);
-            logger.info("comment id" + comment.getId());
-            logger.info("user" + userEntity.getEmail());
-            logger.info("task" + entity.getName());
-        } else {
+        TaskOperationEvent event = TaskOperationEvent.begin(TaskOperationEvent.COMMENT).task(taskId);
+        try {
+            if (ingestionBuffer.isEnabled()) {
+                queueComment(taskId, commentDto);
+                event.succeeded(taskId, 0);
+                return;
+            }
+            TaskEntity entity = taskRepo.findTaskEntityById(taskId);
+            if (entity != null) {
+                String user = userService.getCurrentUser();
+                UserEntity userEntity = userRepo.findUserByEmail(user);
+                userEntity.setEmail(user);
+                entity.setId(taskId);
+                CommentEntity comment = new CommentEntity();
+                comment.setComment(commentDto.getComment());
+                comment.setUser(userEntity);
+                comment.setTask(entity);
+                entity.getCommentEntityList().add(comment);
+                commentsRepo.save(comment);
+                taskEventOutbox.commentAdded(taskId, comment.getId(), userEntity.getId());
+                taskMetrics.commentAdded();
+                event.succeeded(taskId, 1);
+                logger.debug("Comment {} added to task {} by user {}", comment.getId(), taskId, userEntity.getId());
+            } else {
+                throw new IdNotFoundException("id not found");
+            }
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Queues a comment for write-behind ingestion, checking the task and resolving the author by ID only.
+     * The outbox event is written by {@link alexgr.taskmanagement.repository.CommentBatchWriter} together with
+     * the comment row.
+     *
+     * @param taskId     the ID of the task to which the comment should be added.
+     * @param commentDto the comment data transfer object containing the comment content.
+     * @throws IdNotFoundException if the task with the specified ID is not found.
+     */
+    private void queueComment(Integer taskId, Comment commentDto) throws IdNotFoundException {
+        if (!taskRepo.existsById(taskId)) {
             throw new IdNotFoundException("id not found");
         }
+        String user = userService.getCurrentUser();
+        Integer userId = userRepo.findIdByEmail(user);
+        if (userId == null) {
+            throw new UserEmailNotFoundException("Email not found: " + user);
+        }
+        ingestionBuffer.enqueue(taskId, userId, commentDto.getComment());
+        taskMetrics.commentQueued();
     }
 }
@@ -0,0 +1,280 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.entity.IdempotencyKeyEntity;
+import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.exceptions.IdempotencyKeyInProgressException;
+import alexgr.taskmanagement.repository.IdempotencyKeyRepo;
+import alexgr.taskmanagement.service.IdempotencyService;
+import alexgr.taskmanagement.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link IdempotencyService} interface.
+ *
+ * <p>Completed responses are kept in a bounded in-memory window so that quick retries are answered without
+ * touching the database. Behind it, the {@code idempotency_keys} table makes keys survive restarts and work
+ * across instances. Expired keys are purged by a scheduled job.</p>
+ *
+ * <p>The key is reserved, the action runs and its response is stored in one transaction. A concurrent retry
+ * inserting the same key waits on the unique {@code (owner, idempotency_key)} constraint until the first request
+ * ends, then replays its response; if the first request fails or its instance dies, the transaction rolls back
+ * together with the reservation and the retry runs the action itself. No key is ever left reserved by a request
+ * that is no longer running.</p>
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private final IdempotencyKeyRepo idempotencyKeyRepo;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration memoryWindow;
+    private final Map<String, StoredResponse> window;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepo idempotencyKeyRepo,
+                                  UserService userService,
+                                  ObjectMapper objectMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${idempotency.memory-window-seconds:600}") long memoryWindowSeconds,
+                                  @Value("${idempotency.memory-max-entries:10000}") int memoryMaxEntries) {
+        this.idempotencyKeyRepo = idempotencyKeyRepo;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.memoryWindow = Duration.ofSeconds(memoryWindowSeconds);
+        this.window = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs the action once per key and user, replaying the stored response for every retry.
+     *
+     * @param key       the value of the {@code Idempotency-Key} header, or {@code null} to run without protection.
+     * @param operation a short description of the operation, e.g. {@code POST /task/create}.
+     * @param action    the write to protect.
+     * @return the response of the action, or the stored response if the key was seen before.
+     * @throws IdNotFoundException if the action fails because an entity is missing.
+     * @throws IdempotencyKeyInProgressException if the key is in use by a running request or another operation.
+     */
+    @Override
+    public ResponseEntity<?> execute(String key, String operation, IdempotentAction action) throws IdNotFoundException {
+        if (key == null || key.isBlank()) {
+            return action.run();
+        }
+        String owner = currentOwner();
+        String windowKey = owner + '\n' + key;
+        LocalDateTime now = LocalDateTime.now();
+
+        StoredResponse cached = fromWindow(windowKey, now);
+        if (cached != null) {
+            return replay(cached, operation);
+        }
+
+        Outcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> runOnce(owner, key, operation, action, now));
+        } catch (KeyTakenException e) {
+            outcome = storedOutcome(idempotencyKeyRepo.findByOwnerAndIdempotencyKey(owner, key), now);
+            if (outcome == null) {
+                throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still in progress");
+            }
+        } catch (ActionFailedException e) {
+            throw e.getCause();
+        }
+        if (outcome.stored() != null) {
+            toWindow(windowKey, outcome.stored());
+        }
+        return outcome.response() != null ? outcome.response() : replay(outcome.stored(), operation);
+    }
+
+    /**
+     * Replays the stored response of the key, or reserves the key, runs the action and stores its response.
+     * Runs in the caller's transaction; an exception of the action rolls back the reservation with it.
+     */
+    private Outcome runOnce(String owner, String key, String operation, IdempotentAction action, LocalDateTime now) {
+        IdempotencyKeyEntity stored = idempotencyKeyRepo.findByOwnerAndIdempotencyKey(owner, key);
+        if (stored != null && (stored.getExpiresAt().isBefore(now) || stored.getResponseStatus() == null)) {
+            // Expired, or reserved by a request that ran outside a transaction before an upgrade and never ended.
+            idempotencyKeyRepo.deleteById(stored.getId());
+            idempotencyKeyRepo.flush();
+            stored = null;
+        }
+        if (stored != null) {
+            return storedOutcome(stored, now);
+        }
+
+        IdempotencyKeyEntity reserved = reserve(owner, key, operation, now);
+        ResponseEntity<?> response;
+        try {
+            response = action.run();
+        } catch (IdNotFoundException e) {
+            throw new ActionFailedException(e);
+        }
+        return new Outcome(response, complete(reserved, response, now));
+    }
+
+    private Outcome storedOutcome(IdempotencyKeyEntity stored, LocalDateTime now) {
+        if (stored == null || stored.getResponseStatus() == null) {
+            return null;
+        }
+        return new Outcome(null, new StoredResponse(stored.getOperation(), stored.getResponseStatus(),
+                stored.getResponseBody(), windowExpiry(now, stored.getExpiresAt())));
+    }
+
+    /**
+     * Deletes expired keys from the table and the in-memory window.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (window) {
+            window.values().removeIf(response -> response.expiresAt().isBefore(now));
+        }
+        int deleted = idempotencyKeyRepo.deleteExpired(now);
+        if (deleted > 0) {
+            logger.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Inserts the row of a key. The insert waits while a concurrent request holds the same key; a
+     * unique-constraint violation means that request committed first.
+     */
+    private IdempotencyKeyEntity reserve(String owner, String key, String operation, LocalDateTime now) {
+        IdempotencyKeyEntity entity = new IdempotencyKeyEntity();
+        entity.setOwner(owner);
+        entity.setIdempotencyKey(key);
+        entity.setOperation(operation);
+        entity.setCreatedDate(now);
+        entity.setExpiresAt(now.plus(ttl));
+        try {
+            return idempotencyKeyRepo.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new KeyTakenException();
+        }
+    }
+
+    /**
+     * Stores a successful response for replay. Unsuccessful or unserializable responses release the key instead.
+     *
+     * @return the response to keep in the in-memory window once the transaction has committed, or {@code null}.
+     */
+    private StoredResponse complete(IdempotencyKeyEntity reserved, ResponseEntity<?> response, LocalDateTime now) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            idempotencyKeyRepo.deleteById(reserved.getId());
+            return null;
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            logger.warn("Response for {} cannot be stored for replay, releasing the key", reserved.getOperation(), e);
+            idempotencyKeyRepo.deleteById(reserved.getId());
+            return null;
+        }
+        reserved.setResponseStatus(response.getStatusCode().value());
+        reserved.setResponseBody(body);
+        idempotencyKeyRepo.save(reserved);
+        return new StoredResponse(reserved.getOperation(), reserved.getResponseStatus(), body,
+                windowExpiry(now, reserved.getExpiresAt()));
+    }
+
+    private ResponseEntity<?> replay(StoredResponse response, String operation) {
+        if (!response.operation().equals(operation)) {
+            throw new IdempotencyKeyInProgressException("Idempotency-Key was already used for " + response.operation());
+        }
+        return ResponseEntity.status(response.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(response.body());
+    }
+
+    private StoredResponse fromWindow(String windowKey, LocalDateTime now) {
+        synchronized (window) {
+            StoredResponse response = window.get(windowKey);
+            if (response != null && response.expiresAt().isBefore(now)) {
+                window.remove(windowKey);
+                return null;
+            }
+            return response;
+        }
+    }
+
+    private void toWindow(String windowKey, StoredResponse response) {
+        synchronized (window) {
+            window.put(windowKey, response);
+        }
+    }
+
+    private LocalDateTime windowExpiry(LocalDateTime now, LocalDateTime keyExpiry) {
+        LocalDateTime windowEnd = now.plus(memoryWindow);
+        return windowEnd.isBefore(keyExpiry) ? windowEnd : keyExpiry;
+    }
+
+    private String currentOwner() {
+        String user = userService.getCurrentUser();
+        return user != null ? user : "anonymous";
+    }
+
+    /**
+     * A completed response held in the in-memory window.
+     */
+    private record StoredResponse(String operation, int status, String body, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * The result of a protected request: the fresh response of the action, or the stored response to replay,
+     * and the response to keep in the in-memory window.
+     */
+    private record Outcome(ResponseEntity<?> response, StoredResponse stored) {
+    }
+
+    /**
+     * Thrown when a concurrent request with the same key committed first; rolls back this request's transaction.
+     */
+    private static final class KeyTakenException extends RuntimeException {
+        private KeyTakenException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Carries the checked exception of the action out of the transaction callback, rolling the transaction back.
+     */
+    private static final class ActionFailedException extends RuntimeException {
+        private ActionFailedException(IdNotFoundException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IdNotFoundException getCause() {
+            return (IdNotFoundException) super.getCause();
+        }
+    }
+}
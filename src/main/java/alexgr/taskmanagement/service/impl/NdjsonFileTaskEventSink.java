@@ -0,0 +1,57 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.event.TaskEvent;
+import alexgr.taskmanagement.service.TaskEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link TaskEventSink} that appends events to a local file, one JSON document per line (NDJSON).
+ *
+ * <p>Enabled with {@code outbox.sinks.file.enabled=true}. Each batch is written and forced to disk before the
+ * relay deletes it from the outbox, so integrations can tail the file without polling the task endpoints.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sinks.file.enabled", havingValue = "true")
+public class NdjsonFileTaskEventSink implements TaskEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public NdjsonFileTaskEventSink(ObjectMapper objectMapper,
+                                   @Value("${outbox.sinks.file.path:data/task-events.ndjson}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public void deliver(List<TaskEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 160);
+        for (TaskEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.entity.RoleEntity;
+import alexgr.taskmanagement.repository.RoleRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable table of the role rows, keyed by {@link Role}.
+ *
+ * <p>Roles are seeded by the schema migration and never change at runtime, so they are read once at startup
+ * instead of on every registration. Startup fails if a role defined in {@link Role} has no row.</p>
+ *
+ * <p>The rows are read when the application is ready, or by the first {@link #get(Role)} before that, not while
+ * the context is refreshed: the class-data sharing training run refreshes the context without a database.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleTable {
+
+    private final RoleRepo roleRepo;
+    private volatile Map<Role, RoleEntity> roles;
+
+    /**
+     * Loads all roles.
+     *
+     * @throws IllegalStateException if a role is missing from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Role, RoleEntity> loaded = new EnumMap<>(Role.class);
+        for (RoleEntity roleEntity : roleRepo.findAll()) {
+            loaded.put(roleEntity.getRole(), roleEntity);
+        }
+        Set<Role> missing = EnumSet.allOf(Role.class);
+        missing.removeAll(loaded.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Roles missing from the roles table: " + missing);
+        }
+        roles = Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * Returns the row of a role.
+     *
+     * @param role the role.
+     * @return the {@link RoleEntity} loaded at startup.
+     * @throws IllegalStateException if the roles are not loaded yet and a role is missing from the database.
+     */
+    public RoleEntity get(Role role) {
+        if (roles == null) {
+            load();
+        }
+        return roles.get(role);
+    }
+}
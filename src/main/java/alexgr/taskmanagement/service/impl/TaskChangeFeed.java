@@ -0,0 +1,139 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.task.TaskChangeRow;
+import alexgr.taskmanagement.dto.task.TaskChangesPage;
+import alexgr.taskmanagement.dto.task.TaskDelta;
+import alexgr.taskmanagement.dto.task.TaskSyncCursor;
+import alexgr.taskmanagement.exceptions.SyncCursorExpiredException;
+import alexgr.taskmanagement.repository.TaskRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves the tasks created, updated or deleted after a sync cursor, so that clients keeping a copy of the board
+ * fetch only what changed.
+ *
+ * <p>Every write bumps {@code updated_date} and deletions leave a tombstone, so ordering the whole table by
+ * {@code (updated_date, id)} yields each changed task once, in its latest state. Two things keep the cursor
+ * monotonic:</p>
+ * <ul>
+ *     <li>{@code updated_date} is stamped before commit, so a slow transaction, for example one waiting on a row
+ *     lock, can become visible with an older date than rows a client has already read. Rows younger than
+ *     {@code settle} are left for a later request. This is safe only if every transaction commits within
+ *     {@code settle} of its stamp, so {@code spring.transaction.default-timeout} bounds all transactions and
+ *     startup fails unless {@code settle} is longer than it; the difference absorbs clock skew between
+ *     instances.</li>
+ *     <li>Tombstones are purged once {@code task.purge.grace-period-minutes} have passed. A cursor older than that
+ *     may have missed deletions and is rejected, and the client syncs again from the beginning.</li>
+ * </ul>
+ */
+@Component
+public class TaskChangeFeed {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    /**
+     * The position before every task; the first sync starts here.
+     */
+    private static final TaskSyncCursor ORIGIN = new TaskSyncCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private final TaskRepo taskRepo;
+    private final Clock clock;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    public TaskChangeFeed(TaskRepo taskRepo,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${task.changes.settle-ms:10000}") long settleMs,
+                          @Value("${task.purge.grace-period-minutes:60}") long gracePeriodMinutes) {
+        this(taskRepo, Clock.systemDefaultZone(), Duration.ofMillis(settleMs), Duration.ofMinutes(gracePeriodMinutes));
+        checkSettle(settle, transactionManager instanceof AbstractPlatformTransactionManager manager
+                ? manager.getDefaultTimeout() : TransactionDefinition.TIMEOUT_DEFAULT);
+    }
+
+    TaskChangeFeed(TaskRepo taskRepo, Clock clock, Duration settle, Duration tombstoneRetention) {
+        this.taskRepo = taskRepo;
+        this.clock = clock;
+        this.settle = settle;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Checks that a transaction cannot stay uncommitted longer than the settle period.
+     *
+     * @param settle         the settle period.
+     * @param timeoutSeconds the default transaction timeout, or {@link TransactionDefinition#TIMEOUT_DEFAULT}.
+     * @throws IllegalStateException if transactions may run as long as the settle period or longer.
+     */
+    static void checkSettle(Duration settle, int timeoutSeconds) {
+        if (timeoutSeconds == TransactionDefinition.TIMEOUT_DEFAULT) {
+            logger.warn("spring.transaction.default-timeout is not set: a write that commits more than {} ms after "
+                    + "its updated_date can be missed by /task/changes", settle.toMillis());
+        } else if (settle.compareTo(Duration.ofSeconds(timeoutSeconds)) <= 0) {
+            throw new IllegalStateException("task.changes.settle-ms (" + settle.toMillis() + ") must be longer than "
+                    + "spring.transaction.default-timeout (" + timeoutSeconds + " s)");
+        }
+    }
+
+    /**
+     * Reads one page of changes after the given cursor.
+     *
+     * @param since the cursor returned by the previous request, or {@code null} for a full sync.
+     * @param size  the requested page size, clamped to between 1 and {@value #MAX_PAGE_SIZE}.
+     * @return the changes and the cursor to continue from.
+     * @throws alexgr.taskmanagement.exceptions.InvalidSyncCursorException if the cursor cannot be read.
+     * @throws SyncCursorExpiredException if tombstones newer than the cursor may already have been purged.
+     */
+    public TaskChangesPage changesSince(String since, int size) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        TaskSyncCursor cursor = since == null || since.isBlank() ? ORIGIN : TaskSyncCursor.decode(since);
+        // deleted_at is stamped slightly before updated_date, within the same transaction: one settle period of
+        // margin keeps a tombstone next to the cursor from having been purged already.
+        if (cursor != ORIGIN && cursor.updated().isBefore(now.minus(tombstoneRetention).plus(settle))) {
+            throw new SyncCursorExpiredException("Sync cursor is older than the retained tombstones; sync again "
+                    + "without since");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime until = now.minus(settle);
+        List<TaskChangeRow> rows = taskRepo.findChangesAfter(cursor.updated(), cursor.id(), until, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<TaskDelta> changes = new ArrayList<>(Math.min(rows.size(), limit));
+        for (TaskChangeRow row : rows.subList(0, Math.min(rows.size(), limit))) {
+            changes.add(toDelta(row));
+            cursor = new TaskSyncCursor(row.getUpdated(), row.getId());
+        }
+        if (!hasMore && cursor.updated().isBefore(until)) {
+            // Everything before the settle horizon has been read: move the cursor up to it, so that the cursor of
+            // an idle client keeps pace with the tombstone retention instead of expiring.
+            cursor = new TaskSyncCursor(until, 0);
+        }
+        return new TaskChangesPage(changes, cursor.encode(), hasMore);
+    }
+
+    private static TaskDelta toDelta(TaskChangeRow row) {
+        if (row.getDeleted() != null) {
+            return new TaskDelta(row.getId(), row.getVersion(), true, null);
+        }
+        Task task = new Task(row.getId(), row.getName(), StatusOfTask.valueOf(row.getStatus()),
+                Priority.valueOf(row.getPriority()), row.getDescription(), row.getExecutor());
+        return new TaskDelta(row.getId(), row.getVersion(), false, task);
+    }
+}
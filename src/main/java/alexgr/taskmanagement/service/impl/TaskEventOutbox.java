@@ -0,0 +1,78 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.event.TaskEventType;
+import alexgr.taskmanagement.entity.TaskEntity;
+import alexgr.taskmanagement.entity.TaskEventEntity;
+import alexgr.taskmanagement.repository.TaskEventRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends task lifecycle events to the {@code task_events} outbox.
+ *
+ * <p>Events must be written in the transaction of the change they describe, so that an event exists if and only
+ * if the change was committed; calling this component outside a transaction fails.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskEventOutbox {
+
+    private final TaskEventRepo taskEventRepo;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records a change to a task, with a snapshot of its state after the change.
+     *
+     * @param type       the kind of change.
+     * @param taskEntity the task after the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskChanged(TaskEventType type, TaskEntity taskEntity) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", taskEntity.getId());
+        payload.put("version", taskEntity.getVersion());
+        if (type != TaskEventType.TASK_DELETED) {
+            payload.put("name", taskEntity.getName());
+            payload.put("status", taskEntity.getStatusOfTask());
+            payload.put("priority", taskEntity.getPriority());
+            payload.put("executor", taskEntity.getExecutor());
+        }
+        append(type, taskEntity.getId(), payload);
+    }
+
+    /**
+     * Records a comment added to a task.
+     *
+     * @param taskId    the ID of the task.
+     * @param commentId the ID of the new comment.
+     * @param userId    the ID of the comment's author.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void commentAdded(Integer taskId, Integer commentId, Integer userId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("commentId", commentId);
+        payload.put("userId", userId);
+        append(TaskEventType.COMMENT_ADDED, taskId, payload);
+    }
+
+    private void append(TaskEventType type, Integer taskId, Map<String, Object> payload) {
+        TaskEventEntity event = new TaskEventEntity();
+        event.setTaskId(taskId);
+        event.setEventType(type);
+        event.setCreatedDate(LocalDateTime.now());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize task event payload", e);
+        }
+        taskEventRepo.save(event);
+    }
+}
@@ -0,0 +1,91 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.event.TaskEvent;
+import alexgr.taskmanagement.entity.TaskEventEntity;
+import alexgr.taskmanagement.repository.TaskEventRepo;
+import alexgr.taskmanagement.service.TaskEventSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the {@code task_events} outbox and hands events to every registered {@link TaskEventSink}.
+ *
+ * <p>Each run locks a batch with {@code FOR UPDATE SKIP LOCKED}, delivers it to all sinks and deletes it in the
+ * same transaction. If a sink fails the transaction rolls back and the batch is delivered again on the next run,
+ * which gives at-least-once delivery in per-task order.</p>
+ */
+@Component
+public class TaskEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventRelay.class);
+
+    private final TaskEventRepo taskEventRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final List<TaskEventSink> sinks;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public TaskEventRelay(TaskEventRepo taskEventRepo,
+                          TransactionTemplate transactionTemplate,
+                          List<TaskEventSink> sinks,
+                          @Value("${outbox.relay.enabled:true}") boolean enabled,
+                          @Value("${outbox.relay.batch-size:200}") int batchSize) {
+        this.taskEventRepo = taskEventRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.sinks = sinks;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Delivers batches until the outbox is empty or a delivery fails.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> relayBatch());
+            } while (delivered != null && delivered == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Task event delivery failed, will retry", e);
+        }
+    }
+
+    /**
+     * Delivers one batch inside the caller's transaction.
+     *
+     * @return the number of delivered events.
+     */
+    private int relayBatch() {
+        List<TaskEventEntity> batch = taskEventRepo.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<TaskEvent> events = batch.stream()
+                .map(event -> new TaskEvent(event.getId(), event.getTaskId(), event.getEventType(),
+                        event.getPayload(), event.getCreatedDate()))
+                .toList();
+        for (TaskEventSink sink : sinks) {
+            try {
+                sink.deliver(events);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Sink " + sink.getClass().getSimpleName() + " failed", e);
+            }
+        }
+        taskEventRepo.deleteAllInBatch(batch);
+        logger.debug("Delivered {} task events to {} sinks", events.size(), sinks.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,111 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.repository.TaskRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Physically removes soft-deleted tasks and their comments in the background.
+ *
+ * <p>The purger runs on a cron schedule meant to cover quiet hours. Each run takes a small batch of tasks whose
+ * grace period has passed, deletes their comments in short transactions of at most {@code comment-chunk} rows
+ * with a pause between them, and then deletes the task rows. A run stops when its time budget is used up, so a
+ * task with a very large comment history is purged over several runs instead of holding locks for long.</p>
+ */
+@Component
+public class TaskPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPurger.class);
+
+    private final TaskRepo taskRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+    private final int taskBatch;
+    private final int commentChunk;
+    private final long pauseMs;
+    private final Duration maxRun;
+
+    public TaskPurger(TaskRepo taskRepo,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${task.purge.grace-period-minutes:60}") long gracePeriodMinutes,
+                      @Value("${task.purge.task-batch:20}") int taskBatch,
+                      @Value("${task.purge.comment-chunk:500}") int commentChunk,
+                      @Value("${task.purge.pause-ms:50}") long pauseMs,
+                      @Value("${task.purge.max-run-seconds:60}") long maxRunSeconds) {
+        this.taskRepo = taskRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.gracePeriod = Duration.ofMinutes(gracePeriodMinutes);
+        this.taskBatch = taskBatch;
+        this.commentChunk = commentChunk;
+        this.pauseMs = pauseMs;
+        this.maxRun = Duration.ofSeconds(maxRunSeconds);
+    }
+
+    /**
+     * Purges batches of expired tombstones until none are left or the run's time budget is used up.
+     */
+    @Scheduled(cron = "${task.purge.cron:0 */5 0-5 * * *}")
+    public void purge() {
+        long deadline = System.nanoTime() + maxRun.toNanos();
+        int purgedTasks = 0;
+        int purgedComments = 0;
+        while (System.nanoTime() < deadline) {
+            List<Integer> taskIds = taskRepo.findPurgeableIds(LocalDateTime.now().minus(gracePeriod), taskBatch);
+            if (taskIds.isEmpty()) {
+                break;
+            }
+            int deleted;
+            do {
+                deleted = inTransaction(() -> taskRepo.purgeComments(taskIds, commentChunk));
+                purgedComments += deleted;
+                if (!pause() || System.nanoTime() >= deadline) {
+                    logPurged(purgedTasks, purgedComments);
+                    return;
+                }
+            } while (deleted == commentChunk);
+            purgedTasks += inTransaction(() -> {
+                taskRepo.purgeUserLinks(taskIds);
+                return taskRepo.purgeTasks(taskIds);
+            });
+        }
+        logPurged(purgedTasks, purgedComments);
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(status -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    /**
+     * Sleeps between chunks to cap the purge rate.
+     *
+     * @return {@code false} if the thread was interrupted and the run should stop.
+     */
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void logPurged(int tasks, int comments) {
+        if (tasks > 0 || comments > 0) {
+            logger.info("Purged {} deleted tasks and {} of their comments", tasks, comments);
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package alexgr.taskmanagement.service.impl;
 
+import alexgr.taskmanagement.dto.event.TaskEventType;
 import alexgr.taskmanagement.dto.task.Priority;
 import alexgr.taskmanagement.dto.task.StatusOfTask;
 import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.task.TaskChangesPage;
+import alexgr.taskmanagement.dto.task.TaskListVersion;
 import alexgr.taskmanagement.entity.TaskEntity;
 import alexgr.taskmanagement.entity.UserEntity;
 import alexgr.taskmanagement.exceptions.IdNotFoundException;
 import alexgr.taskmanagement.exceptions.NameDuplicateException;
+import alexgr.taskmanagement.exceptions.TaskPreconditionFailedException;
+import alexgr.taskmanagement.exceptions.TaskVersionConflictException;
 import alexgr.taskmanagement.mapper.TaskConvertor;
 import alexgr.taskmanagement.repository.TaskRepo;
 import alexgr.taskmanagement.repository.UserRepo;
 import alexgr.taskmanagement.service.TaskService;
 import alexgr.taskmanagement.service.UserService;
+import alexgr.taskmanagement.utils.OptimisticLockRetrier;
+import alexgr.taskmanagement.utils.TaskMetrics;
+import alexgr.taskmanagement.utils.TaskOperationEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,12 +29,21 @@ import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Implementation of the {@link TaskService} interface.
@@ -43,6 +60,11 @@ public class TaskServiceImpl implements TaskService {
     private final UserRepo userRepo;
     private final UserService userService;
     private final TaskConvertor taskConvertor;
+    private final OptimisticLockRetrier conflictRetrier;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TaskMetrics taskMetrics;
+    private final TaskChangeFeed taskChangeFeed;
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
 
 
@@ -56,57 +78,91 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     @Override
     public TaskEntity createTask(Task taskDto) {
-        validateInput(taskDto);
+        TaskOperationEvent event = TaskOperationEvent.begin(TaskOperationEvent.CREATE);
+        try {
+            validateInput(taskDto);
 
-        if (taskRepo.existsByName(taskDto.getName())) {
-            throw new NameDuplicateException("Task name is already in use");
-        }
+            if (taskRepo.existsByName(taskDto.getName())) {
+                throw new NameDuplicateException("Task name is already in use");
+            }
 
-        Task task = new Task(
-                taskDto.getId(),
-                taskDto.getName(),
-                taskDto.getStatusOfTask(),
-                taskDto.getPriority(),
-                taskDto.getDescription(),
-                taskDto.getExecutor()
-        );
-        task.setDescription(taskDto.getDescription());
-        task.setStatusOfTask(taskDto.getStatusOfTask());
-        task.setName(taskDto.getName());
-        task.setExecutor(taskDto.getExecutor());
-        task.setPriority(taskDto.getPriority());
+            Task task = new Task(
+                    taskDto.getId(),
+                    taskDto.getName(),
+                    taskDto.getStatusOfTask(),
+                    taskDto.getPriority(),
+                    taskDto.getDescription(),
+                    taskDto.getExecutor()
+            );
+            task.setDescription(taskDto.getDescription());
+            task.setStatusOfTask(taskDto.getStatusOfTask());
+            task.setName(taskDto.getName());
+            task.setExecutor(taskDto.getExecutor());
+            task.setPriority(taskDto.getPriority());
 
-        TaskEntity entity = taskConvertor.convertToEntity(task);
+            TaskEntity entity = taskConvertor.convertToEntity(task);
 
-        String user = userService.getCurrentUser();
-        UserEntity userEntity = userRepo.findUserByEmail(user);
-        entity.setUser(userEntity);
-        entity.setExecutor(user);
-        logger.info("task was saved by " + userEntity);
-        taskRepo.save(entity);
-        return entity;
+            String user = userService.getCurrentUser();
+            UserEntity userEntity = userRepo.findUserByEmail(user);
+            entity.setUser(userEntity);
+            entity.setExecutor(user);
+            taskRepo.save(entity);
+            logger.debug("Task {} created by {}", entity.getId(), user);
+            taskEventOutbox.taskChanged(TaskEventType.TASK_CREATED, entity);
+            taskMetrics.taskChanged(TaskEventType.TASK_CREATED);
+            event.succeeded(entity.getId(), 1);
+            return entity;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
      * Updates a task's details if the current user is the executor of the task.
+     * <p>
+     * Runs under the optimistic-lock retry budget: if a concurrent writer wins the race, only the fields this
+     * request actually changes are re-applied on top of the fresh row, unless the other writer changed the same
+     * non-commutative field.
+     * </p>
      *
      * @param id   the ID of the task to update.
      * @param task the new task details.
      * @return the updated {@link TaskEntity}.
      * @throws IdNotFoundException if the task with the given ID is not found.
      * @throws AccessDeniedException if the current user is not the executor of the task.
+     * @throws TaskVersionConflictException if the update conflicts with a concurrent change.
      */
-    @Transactional
     public TaskEntity updateTaskByExecutor(Integer id, Task task) throws IdNotFoundException {
+        return updateTaskByExecutor(id, task, null);
+    }
+
+    /**
+     * Updates a task's details if the current user is the executor of the task and the task is still at one of
+     * the versions the client has seen.
+     * <p>
+     * The version is checked before every attempt, so when a concurrent writer wins the race the change is
+     * rejected instead of being re-applied on top of a version the client has not seen.
+     * </p>
+     *
+     * @param id               the ID of the task to update.
+     * @param task             the new task details.
+     * @param expectedVersions the versions named by {@code If-Match}, or {@code null} to update unconditionally.
+     * @return the updated {@link TaskEntity}.
+     * @throws IdNotFoundException if the task with the given ID is not found.
+     * @throws AccessDeniedException if the current user is not the executor of the task.
+     * @throws TaskPreconditionFailedException if the task is no longer at any of the expected versions.
+     * @throws TaskVersionConflictException if the update conflicts with a concurrent change.
+     */
+    public TaskEntity updateTaskByExecutor(Integer id, Task task, Set<Integer> expectedVersions)
+            throws IdNotFoundException {
         String currentUser = userService.getCurrentUser();
-        TaskEntity taskEntity = taskRepo.findById(id)
-                .orElseThrow(() -> new IdNotFoundException("Task with id " + id + " not found"));
         validateInput(task);
-        if (!taskEntity.getExecutor().equals(currentUser)) {
-            throw new AccessDeniedException("You are not the executor of this task.");
-        }
-        updateTaskFields(taskEntity, task);
-        return taskRepo.save(taskEntity);
+        return writeWithRetry(new TaskChange(id, task, TaskField.EDITABLE), TaskEventType.TASK_UPDATED, taskEntity -> {
+            if (!taskEntity.getExecutor().equals(currentUser)) {
+                throw new AccessDeniedException("You are not the executor of this task.");
+            }
+            requireVersion(taskEntity, expectedVersions);
+        });
     }
 
 
@@ -117,42 +173,108 @@ public class TaskServiceImpl implements TaskService {
      * @param task the new task details.
      * @return the updated {@link TaskEntity}.
      * @throws IdNotFoundException if the task with the given ID is not found.
+     * @throws TaskVersionConflictException if the update conflicts with a concurrent change.
      */
-    @Transactional
     public TaskEntity updateTaskByAdmin(Integer id, Task task) throws IdNotFoundException {
-        TaskEntity taskEntity = taskRepo.findById(id)
-                .orElseThrow(() -> new IdNotFoundException("Task with id " + id + " not found"));
+        return updateTaskByAdmin(id, task, null);
+    }
+
+    /**
+     * Updates a task's details with administrator privileges if the task is still at one of the versions the
+     * client has seen.
+     *
+     * @param id               the ID of the task to update.
+     * @param task             the new task details.
+     * @param expectedVersions the versions named by {@code If-Match}, or {@code null} to update unconditionally.
+     * @return the updated {@link TaskEntity}.
+     * @throws IdNotFoundException if the task with the given ID is not found.
+     * @throws TaskPreconditionFailedException if the task is no longer at any of the expected versions.
+     * @throws TaskVersionConflictException if the update conflicts with a concurrent change.
+     */
+    public TaskEntity updateTaskByAdmin(Integer id, Task task, Set<Integer> expectedVersions)
+            throws IdNotFoundException {
         validateInput(task);
-        updateTaskFields(taskEntity, task);
-        return taskRepo.save(taskEntity);
+        return writeWithRetry(new TaskChange(id, task, TaskField.EDITABLE), TaskEventType.TASK_UPDATED,
+                taskEntity -> requireVersion(taskEntity, expectedVersions));
     }
 
     /**
-     * Updates the fields of a task entity with the values from the given task DTO.
+     * Rejects a conditional update of a task that has moved past the versions the client has seen.
      *
-     * @param taskEntity the task entity to update.
-     * @param task       the task DTO containing new field values.
+     * @param taskEntity       the freshly loaded task.
+     * @param expectedVersions the accepted versions, or {@code null} if the update is unconditional.
+     * @throws TaskPreconditionFailedException if the task is at none of the accepted versions.
      */
-    private void updateTaskFields(TaskEntity taskEntity, Task task) {
-        taskEntity.setStatusOfTask(task.getStatusOfTask());
-        taskEntity.setPriority(task.getPriority());
-        taskEntity.setName(task.getName());
-        taskEntity.setDescription(task.getDescription());
+    private static void requireVersion(TaskEntity taskEntity, Set<Integer> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(taskEntity.getVersion())) {
+            throw new TaskPreconditionFailedException(taskEntity.getId(), taskEntity.getVersion());
+        }
+    }
+
+    /**
+     * Applies a change to a task in its own transaction, retrying on optimistic-lock failures.
+     *
+     * @param change    the change to apply, which also acts as the conflict policy.
+     * @param eventType the outbox event written in the same transaction as the change.
+     * @param guard     a check run against the task freshly read from the database before every attempt.
+     * @return the saved {@link TaskEntity}.
+     * @throws IdNotFoundException if the task does not exist.
+     */
+    private TaskEntity writeWithRetry(TaskChange change, TaskEventType eventType, Consumer<TaskEntity> guard)
+            throws IdNotFoundException {
+        TaskOperationEvent event = TaskOperationEvent.begin(eventType == TaskEventType.EXECUTOR_ASSIGNED
+                ? TaskOperationEvent.ASSIGN : TaskOperationEvent.UPDATE).task(change.taskId);
+        try {
+            TaskEntity saved = conflictRetrier.execute(change.taskId, () -> transactionTemplate.execute(status -> {
+                TaskEntity taskEntity = taskRepo.findCurrentById(change.taskId);
+                if (taskEntity == null) {
+                    return null;
+                }
+                guard.accept(taskEntity);
+                change.applyTo(taskEntity);
+                TaskEntity written = taskRepo.saveAndFlush(taskEntity);
+                taskEventOutbox.taskChanged(eventType, written);
+                taskMetrics.taskChanged(eventType);
+                return written;
+            }), change);
+            if (saved == null) {
+                throw new IdNotFoundException("Task with id " + change.taskId + " not found");
+            }
+            event.succeeded(change.taskId, 1);
+            return saved;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
      * Deletes a task by its ID.
+     * <p>
+     * The task is only marked as deleted, which hides it from every read; its row and comments are removed
+     * later by {@link TaskPurger}, off the request path.
+     * </p>
      *
      * @param id the ID of the task to delete.
      * @throws IdNotFoundException if the task with the given ID is not found.
      */
     @Transactional
     public void deleteTask(Integer id) throws IdNotFoundException {
-        TaskEntity task = taskRepo.findById(id)
-                .orElseThrow(() -> new IdNotFoundException("Task with id " + id + " not found"));
+        TaskOperationEvent event = TaskOperationEvent.begin(TaskOperationEvent.DELETE).task(id);
+        try {
+            TaskEntity task = taskRepo.findCurrentById(id);
+            if (task == null) {
+                throw new IdNotFoundException("Task with id " + id + " not found");
+            }
 
-        taskRepo.delete(task);
-        logger.info("Task with id {} was deleted", id);
+            task.setDeletedAt(LocalDateTime.now());
+            taskRepo.save(task);
+            taskEventOutbox.taskChanged(TaskEventType.TASK_DELETED, task);
+            taskMetrics.taskChanged(TaskEventType.TASK_DELETED);
+            event.succeeded(id, 1);
+            logger.debug("Task with id {} was deleted", id);
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -161,15 +283,80 @@ public class TaskServiceImpl implements TaskService {
      * @param taskId the ID of the task.
      * @param email  the email of the executor.
      * @throws IdNotFoundException if the task with the given ID is not found.
+     * @throws TaskVersionConflictException if the retry budget is exhausted.
      */
-    @Transactional
     public void appointAnExecutor(Integer taskId,String email) throws IdNotFoundException {
-        TaskEntity entity = taskRepo.findById(taskId)
-                .orElseThrow(() -> new IdNotFoundException("Task with id " + taskId + " not found"));
+        Task executor = new Task(taskId, null, null, null, null, email);
+        writeWithRetry(new TaskChange(taskId, executor, EnumSet.of(TaskField.EXECUTOR)), TaskEventType.EXECUTOR_ASSIGNED,
+                taskEntity -> { });
+        logger.debug("Executor {} appointed to task with id {}", email, taskId);
+    }
+
+    /**
+     * Retrieves a single live task at its current version.
+     * <p>
+     * The version is read from the database and the task from the second-level cache. The cache is local to
+     * each instance and may still hold an older version written elsewhere; the task is then read from the
+     * database, which also refreshes the cached entry.
+     * </p>
+     *
+     * @param id the ID of the task.
+     * @return the {@link TaskEntity}.
+     * @throws IdNotFoundException if the task with the given ID is not found.
+     */
+    public TaskEntity getTask(Integer id) throws IdNotFoundException {
+        return getTask(id, getTaskVersion(id));
+    }
+
+    /**
+     * Retrieves a single live task at a version already read from the database.
+     * <p>
+     * The task comes from the second-level cache if that holds this version, and from the database otherwise.
+     * The returned task may be newer than {@code version} if it was changed in between.
+     * </p>
+     *
+     * @param id      the ID of the task.
+     * @param version the version read with {@link #getTaskVersion(Integer)}.
+     * @return the {@link TaskEntity}.
+     * @throws IdNotFoundException if the task with the given ID is not found.
+     */
+    public TaskEntity getTask(Integer id, int version) throws IdNotFoundException {
+        TaskEntity task = taskRepo.findTaskEntityById(id);
+        if (task != null && task.getVersion() != version) {
+            task = taskRepo.findCurrentById(id);
+        }
+        if (task == null) {
+            throw new IdNotFoundException("Task with id " + id + " not found");
+        }
+        return task;
+    }
 
-        entity.setExecutor(email);
-        taskRepo.save(entity);
-        logger.info("Executor {} appointed to task with id {}", email, taskId);
+    /**
+     * Reads only the version of a live task, always from the database.
+     *
+     * @param id the ID of the task.
+     * @return the current version.
+     * @throws IdNotFoundException if the task with the given ID is not found.
+     */
+    public int getTaskVersion(Integer id) throws IdNotFoundException {
+        Integer version = taskRepo.findVersionById(id);
+        if (version == null) {
+            throw new IdNotFoundException("Task with id " + id + " not found");
+        }
+        return version;
+    }
+
+    /**
+     * Reads the fingerprint of the live tasks with a single aggregate query.
+     * <p>
+     * It is read before the listing itself, so a write landing in between makes the client download the listing
+     * once more rather than keep a stale one.
+     * </p>
+     *
+     * @return the current {@link TaskListVersion}.
+     */
+    public TaskListVersion getTaskListVersion() {
+        return taskRepo.findListVersion();
     }
 
     /**
@@ -192,13 +379,40 @@ public class TaskServiceImpl implements TaskService {
 
     /**
      * Searches for tasks based on status and priority filters.
+     * <p>
+     * The tasks are returned as DTOs, like {@link #getAllTasks(Pageable)}: serializing the entities would
+     * lazily load the owner and comments of every row.
+     * </p>
      *
      * @param status   the task status filter.
      * @param priority the task priority filter.
      * @return a list of tasks matching the filters.
      */
-    public List<TaskEntity> searchTasks(String status, String priority) {
-        return taskRepo.findTasksByParams(status, priority);
+    public List<Task> searchTasks(String status, String priority) {
+        TaskOperationEvent event = TaskOperationEvent.begin(TaskOperationEvent.SEARCH);
+        try {
+            List<TaskEntity> entities = taskRepo.findTasksByParams(status, priority);
+            List<Task> tasks = new ArrayList<>(entities.size());
+            for (TaskEntity entity : entities) {
+                tasks.add(taskConvertor.convertToDto(entity));
+            }
+            event.succeeded(null, tasks.size());
+            return tasks;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Retrieves the tasks created, updated or deleted after a sync cursor, tombstones included.
+     *
+     * @param since the cursor returned by the previous call, or {@code null} to start from the beginning.
+     * @param size  the maximum number of changes to return.
+     * @return a page of changes with the cursor to continue from.
+     * @see TaskChangeFeed
+     */
+    public TaskChangesPage getChanges(String since, int size) {
+        return taskChangeFeed.changesSince(since, size);
     }
 
 
@@ -208,7 +422,7 @@ public class TaskServiceImpl implements TaskService {
      * @param task the task to validate.
      * @throws IllegalArgumentException if the task or its fields are invalid.
      */
-    private static void validateInput(Task task) {
+    static void validateInput(Task task) {
         if (task == null) {
             throw new IllegalArgumentException("Task is null");
         }
@@ -228,4 +442,101 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Invalid status. Allowed values: " + Arrays.toString(StatusOfTask.values()));
         }
     }
+
+    /**
+     * Task fields that can be written through the update endpoints.
+     * <p>
+     * Status and executor are commutative: when two writers race, the last one wins and re-applying the
+     * change is safe. Priority, name and description are not, so a concurrent change to them is reported.
+     * </p>
+     */
+    private enum TaskField {
+        STATUS(true, TaskEntity::getStatusOfTask, Task::getStatusOfTask,
+                (entity, value) -> entity.setStatusOfTask((StatusOfTask) value)),
+        PRIORITY(false, TaskEntity::getPriority, Task::getPriority,
+                (entity, value) -> entity.setPriority((Priority) value)),
+        NAME(false, TaskEntity::getName, Task::getName,
+                (entity, value) -> entity.setName((String) value)),
+        DESCRIPTION(false, TaskEntity::getDescription, Task::getDescription,
+                (entity, value) -> entity.setDescription((String) value)),
+        EXECUTOR(true, TaskEntity::getExecutor, Task::getExecutor,
+                (entity, value) -> entity.setExecutor((String) value));
+
+        static final Set<TaskField> EDITABLE = EnumSet.of(STATUS, PRIORITY, NAME, DESCRIPTION);
+
+        private final boolean commutative;
+        private final Function<TaskEntity, Object> stored;
+        private final Function<Task, Object> requested;
+        private final BiConsumer<TaskEntity, Object> writer;
+
+        TaskField(boolean commutative, Function<TaskEntity, Object> stored, Function<Task, Object> requested,
+                  BiConsumer<TaskEntity, Object> writer) {
+            this.commutative = commutative;
+            this.stored = stored;
+            this.requested = requested;
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * A requested change to one task, remembered across retry attempts.
+     * <p>
+     * The first attempt records the task as it was read and the subset of fields the request really changes.
+     * Later attempts re-apply only that subset to the fresh row, so fields the request merely echoed back do not
+     * overwrite a concurrent writer.
+     * </p>
+     */
+    private final class TaskChange implements OptimisticLockRetrier.ConflictPolicy {
+
+        private final Integer taskId;
+        private final Task requested;
+        private final Set<TaskField> fields;
+        private Map<TaskField, Object> baseline;
+        private Set<TaskField> changed;
+
+        private TaskChange(Integer taskId, Task requested, Set<TaskField> fields) {
+            this.taskId = taskId;
+            this.requested = requested;
+            this.fields = fields;
+        }
+
+        private void applyTo(TaskEntity taskEntity) {
+            if (baseline == null) {
+                baseline = new EnumMap<>(TaskField.class);
+                changed = EnumSet.noneOf(TaskField.class);
+                for (TaskField field : fields) {
+                    Object stored = field.stored.apply(taskEntity);
+                    baseline.put(field, stored);
+                    if (!Objects.equals(stored, field.requested.apply(requested))) {
+                        changed.add(field);
+                    }
+                }
+            }
+            for (TaskField field : changed) {
+                field.writer.accept(taskEntity, field.requested.apply(requested));
+            }
+        }
+
+        @Override
+        public boolean isRetryable() {
+            TaskEntity current = taskRepo.findCurrentById(taskId);
+            if (current == null || baseline == null) {
+                return true;
+            }
+            for (TaskField field : changed) {
+                Object now = field.stored.apply(current);
+                if (!field.commutative
+                        && !Objects.equals(now, baseline.get(field))
+                        && !Objects.equals(now, field.requested.apply(requested))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Integer currentVersion() {
+            return taskRepo.findVersionById(taskId);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.user.UserDirectorySnapshot;
+import alexgr.taskmanagement.dto.user.UserDirectoryVersion;
+import alexgr.taskmanagement.repository.UserRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a cached, versioned snapshot of all user emails.
+ *
+ * <p>The snapshot is tagged with the {@link UserDirectoryVersion} it was built from. The version is re-read at
+ * most every {@code users.directory.revalidate-ms}, or on the next request after {@link #invalidate()}; the
+ * emails are re-read only when the version has changed. Since the version comes from the database, every
+ * instance computes the same entity tag for the same content.</p>
+ */
+@Component
+public class UserDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDirectory.class);
+
+    private final UserRepo userRepo;
+    private final long revalidateNanos;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Cached cached;
+    private volatile boolean invalidated;
+
+    public UserDirectory(UserRepo userRepo,
+                         @Value("${users.directory.revalidate-ms:5000}") long revalidateMs) {
+        this.userRepo = userRepo;
+        this.revalidateNanos = TimeUnit.MILLISECONDS.toNanos(revalidateMs);
+    }
+
+    /**
+     * Returns the current snapshot, refreshing it first if it may be out of date.
+     *
+     * @return the snapshot of all user emails.
+     */
+    public UserDirectorySnapshot snapshot() {
+        Cached current = cached;
+        if (current != null && !invalidated && System.nanoTime() - current.checkedAt() < revalidateNanos) {
+            return current.snapshot();
+        }
+        refreshLock.lock();
+        try {
+            current = cached;
+            if (current != null && !invalidated && System.nanoTime() - current.checkedAt() < revalidateNanos) {
+                return current.snapshot();
+            }
+            invalidated = false;
+            UserDirectoryVersion version = userRepo.findDirectoryVersion();
+            UserDirectorySnapshot snapshot;
+            if (current != null && current.version().equals(version)) {
+                snapshot = current.snapshot();
+            } else {
+                List<String> emails = List.copyOf(userRepo.findAllEmails());
+                snapshot = new UserDirectorySnapshot(version.etag(), emails);
+                logger.debug("Rebuilt user directory snapshot with {} users", emails.size());
+            }
+            cached = new Cached(version, snapshot, System.nanoTime());
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the next {@link #snapshot()} call re-check the database, for use after users were added.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    private record Cached(UserDirectoryVersion version, UserDirectorySnapshot snapshot, long checkedAt) {
+    }
+}
@@ -0,0 +1,227 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.auth.AuthPayload;
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.dto.user.ProvisioningResult;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
+import alexgr.taskmanagement.repository.UserBatchWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users at once for administrators.
+ *
+ * <p>Passwords are hashed on a dedicated, bounded worker pool, so a large request neither runs BCrypt serially nor
+ * takes over the request threads. Users are written in batches of {@code users.provisioning.batch-size} with one
+ * multi-row insert each. The next batch is hashed while the current one is written. When the pool queue is full, the
+ * submitting thread hashes the password itself, which slows the producer down instead of queueing without
+ * bound.</p>
+ *
+ * <p>Every user gets exactly one {@link ProvisioningResult}, reported as soon as its batch is done.</p>
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserBatchWriter batchWriter;
+    private final RoleTable roleTable;
+    private final UserDirectory userDirectory;
+    private final UserSearchIndex userSearchIndex;
+    private final Validator validator;
+    private final ThreadPoolExecutor hashPool;
+    private final int batchSize;
+    private final int maxUsers;
+    private final long timeoutMs;
+
+    public UserProvisioningService(PasswordEncoder passwordEncoder,
+                                   UserBatchWriter batchWriter,
+                                   RoleTable roleTable,
+                                   UserDirectory userDirectory,
+                                   UserSearchIndex userSearchIndex,
+                                   Validator validator,
+                                   @Value("${users.provisioning.hash-threads:0}") int hashThreads,
+                                   @Value("${users.provisioning.batch-size:500}") int batchSize,
+                                   @Value("${users.provisioning.max-users:10000}") int maxUsers,
+                                   @Value("${users.provisioning.timeout-ms:600000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.batchWriter = batchWriter;
+        this.roleTable = roleTable;
+        this.userDirectory = userDirectory;
+        this.userSearchIndex = userSearchIndex;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxUsers = maxUsers;
+        this.timeoutMs = timeoutMs;
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchSize * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.hashPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stops the hashing pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    /**
+     * @return the largest number of users accepted in one request.
+     */
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    /**
+     * @return how long a provisioning response may stream before it is timed out.
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Creates the users with the {@link Role#USER} role.
+     *
+     * @param users   the emails and passwords of the users to create.
+     * @param results receives one result per user, in request order within each batch.
+     */
+    public void provision(List<AuthPayload> users, Consumer<ProvisioningResult> results) {
+        Set<String> seen = new HashSet<>();
+        List<AuthPayload> accepted = new ArrayList<>(users.size());
+        for (AuthPayload user : users) {
+            String email = user == null ? null : user.getEmail();
+            String error = validate(user);
+            if (error != null) {
+                results.accept(ProvisioningResult.rejected(email, ProvisioningResult.Status.INVALID, error));
+            } else if (!seen.add(email)) {
+                results.accept(ProvisioningResult.rejected(email, ProvisioningResult.Status.DUPLICATE,
+                        "Email appears more than once in the request"));
+            } else {
+                accepted.add(user);
+            }
+        }
+
+        long start = System.nanoTime();
+        int created = 0;
+        CompletableFuture<Map<String, String>> next = accepted.isEmpty() ? null : hash(batch(accepted, 0));
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<AuthPayload> batch = batch(accepted, from);
+            CompletableFuture<Map<String, String>> current = next;
+            next = from + batchSize < accepted.size() ? hash(batch(accepted, from + batchSize)) : null;
+            created += write(batch, current, results);
+        }
+        if (created > 0) {
+            userDirectory.invalidate();
+        }
+        logger.info("Provisioned {} of {} users in {} ms", created, users.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<AuthPayload> batch(List<AuthPayload> users, int from) {
+        return users.subList(from, Math.min(from + batchSize, users.size()));
+    }
+
+    /**
+     * Starts hashing the passwords of a batch on the pool.
+     *
+     * @return a future of the password hashes by email, in batch order.
+     */
+    private CompletableFuture<Map<String, String>> hash(List<AuthPayload> batch) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(batch.size());
+        for (AuthPayload user : batch) {
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(user.getPassword()), hashPool));
+        }
+        return CompletableFuture.allOf(hashes.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<String, String> byEmail = new LinkedHashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                byEmail.put(batch.get(i).getEmail(), hashes.get(i).join());
+            }
+            return byEmail;
+        });
+    }
+
+    /**
+     * Waits for a batch's hashes, inserts the batch and reports the outcome of every user in it.
+     *
+     * @return the number of users created.
+     */
+    private int write(List<AuthPayload> batch, CompletableFuture<Map<String, String>> hashes,
+                      Consumer<ProvisioningResult> results) {
+        Map<String, Integer> ids;
+        try {
+            ids = batchWriter.insert(hashes.join(), roleTable.get(Role.USER).getRole());
+        } catch (CompletionException | DataAccessException e) {
+            logger.warn("Provisioning a batch of {} users failed", batch.size(), e);
+            for (AuthPayload user : batch) {
+                results.accept(ProvisioningResult.rejected(user.getEmail(), ProvisioningResult.Status.FAILED,
+                        "The user could not be saved"));
+            }
+            return 0;
+        }
+        for (AuthPayload user : batch) {
+            Integer id = ids.get(user.getEmail());
+            if (id != null) {
+                userSearchIndex.put(new UserSuggestion(id, user.getEmail(), null, null));
+                results.accept(ProvisioningResult.created(user.getEmail(), id));
+            } else {
+                results.accept(ProvisioningResult.rejected(user.getEmail(), ProvisioningResult.Status.DUPLICATE,
+                        "Email is already registered"));
+            }
+        }
+        return ids.size();
+    }
+
+    /**
+     * Applies the constraints declared on {@link AuthPayload}, with the same validator and messages as the
+     * registration endpoint.
+     *
+     * @return the violation messages, or {@code null} if the payload is valid.
+     */
+    private String validate(AuthPayload user) {
+        if (user == null) {
+            return "The user entry is empty";
+        }
+        Set<ConstraintViolation<AuthPayload>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing((ConstraintViolation<AuthPayload> v) -> v.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+}
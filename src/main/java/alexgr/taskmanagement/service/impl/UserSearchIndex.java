@@ -0,0 +1,216 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.user.UserSuggestion;
+import alexgr.taskmanagement.repository.UserRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory prefix index of users for the executor picker.
+ *
+ * <p>Every user is indexed under the lower-cased email, first name, last name and full name, in a concurrent
+ * sorted map. A prefix lookup is a range scan over that map that stops after the requested number of users, so it
+ * does not touch the database and its cost does not grow with the number of users.</p>
+ *
+ * <p>The index is loaded when the application starts and updated in place on registration and profile changes,
+ * once the change has committed. It is also rebuilt periodically so that changes made through other instances are
+ * picked up.</p>
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    private static final char SEPARATOR = '\0';
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final UserRepo userRepo;
+    private final int loadBatch;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Index index = new Index();
+    /**
+     * The users put while a rebuild loads the database, or {@code null} if no rebuild runs; guarded by
+     * {@code this}, together with the swap of {@link #index}.
+     */
+    private Map<String, UserSuggestion> putDuringRebuild;
+
+    public UserSearchIndex(UserRepo userRepo,
+                           @Value("${users.search.load-batch:5000}") int loadBatch) {
+        this.userRepo = userRepo;
+        this.loadBatch = loadBatch;
+    }
+
+    /**
+     * Loads all users into a fresh index and swaps it in.
+     * <p>
+     * A page may have been read before a concurrent change of one of its users committed. The users put while the
+     * load runs are therefore recorded and re-applied to the fresh index after the load, in the same step as the
+     * swap, so the page never overwrites a newer entry.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${users.search.rebuild-interval-ms:600000}",
+            fixedDelayString = "${users.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        Index fresh = new Index();
+        synchronized (this) {
+            putDuringRebuild = new HashMap<>();
+        }
+        try {
+            int after = 0;
+            List<UserSuggestion> page;
+            do {
+                page = userRepo.findSuggestionPage(after, Limit.of(loadBatch));
+                for (UserSuggestion user : page) {
+                    fresh.put(user);
+                }
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == loadBatch);
+            synchronized (this) {
+                putDuringRebuild.values().forEach(fresh::put);
+                index = fresh;
+            }
+            logger.info("User search index loaded with {} users", fresh.size());
+        } finally {
+            synchronized (this) {
+                putDuringRebuild = null;
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a user to the index or replaces the entry with the same email.
+     * <p>
+     * Called inside a transaction, the entry is only published after the transaction commits, so a rolled-back
+     * change never reaches the index.
+     * </p>
+     *
+     * @param user the user as it is now stored.
+     */
+    public void put(UserSuggestion user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(user);
+                }
+            });
+        } else {
+            publish(user);
+        }
+    }
+
+    private synchronized void publish(UserSuggestion user) {
+        index.put(user);
+        if (putDuringRebuild != null) {
+            putDuringRebuild.put(user.email(), user);
+        }
+    }
+
+    /**
+     * Finds users whose email, first name, last name or full name starts with the prefix, ignoring case.
+     *
+     * @param prefix the typed prefix.
+     * @param limit  the maximum number of users to return.
+     * @return up to {@code limit} distinct users, ordered by the matching term.
+     */
+    public List<UserSuggestion> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized == null || limit <= 0) {
+            return List.of();
+        }
+        Index current = index;
+        List<UserSuggestion> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (String email : current.terms.subMap(normalized, normalized + MAX_CHAR).values()) {
+            if (seen.add(email)) {
+                UserSuggestion user = current.users.get(email);
+                if (user != null) {
+                    result.add(user);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The index data: the user per email and the sorted terms, each keyed by {@code term + '\0' + email} and
+     * pointing back at the email.
+     */
+    private static final class Index {
+
+        private final Map<String, UserSuggestion> users = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<String, String> terms = new ConcurrentSkipListMap<>();
+
+        synchronized void put(UserSuggestion user) {
+            UserSuggestion previous = users.put(user.email(), user);
+            if (previous != null) {
+                for (String term : termsOf(previous)) {
+                    terms.remove(term + SEPARATOR + previous.email());
+                }
+            }
+            for (String term : termsOf(user)) {
+                terms.put(term + SEPARATOR + user.email(), user.email());
+            }
+        }
+
+        int size() {
+            return users.size();
+        }
+
+        private static Set<String> termsOf(UserSuggestion user) {
+            Set<String> result = new HashSet<>(4);
+            String email = normalize(user.email());
+            String firstName = normalize(user.firstName());
+            String lastName = normalize(user.lastName());
+            if (email != null) {
+                result.add(email);
+            }
+            if (firstName != null) {
+                result.add(firstName);
+            }
+            if (lastName != null) {
+                result.add(lastName);
+            }
+            if (firstName != null && lastName != null) {
+                result.add(firstName + ' ' + lastName);
+            }
+            return result;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package alexgr.taskmanagement.service.impl;
 
 
 import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.dto.user.UserDirectoryEntry;
+import alexgr.taskmanagement.dto.user.UserDirectoryPage;
+import alexgr.taskmanagement.dto.user.UserDirectorySnapshot;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.UserEntity;
 import alexgr.taskmanagement.exceptions.UserEmailNotFoundException;
 import alexgr.taskmanagement.repository.UserRepo;
@@ -9,6 +13,7 @@ import alexgr.taskmanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,7 +26,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 /**
  * class for working with users
  */
@@ -29,7 +33,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    /**
+     * The largest page the user directory returns.
+     */
+    static final int MAX_DIRECTORY_PAGE_SIZE = 1000;
+
+    /**
+     * The largest number of suggestions a prefix search returns.
+     */
+    static final int MAX_SUGGESTIONS = 50;
+
     private final UserRepo userRepo;
+    private final UserDirectory userDirectory;
+    private final UserSearchIndex userSearchIndex;
     private final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     /**
@@ -53,33 +69,67 @@ public class UserServiceImpl implements UserService {
         user.setFirstName(updateUser.getFirstName());
         user.setLastName(updateUser.getLastName());
         userRepo.save(user);
+        userSearchIndex.put(new UserSuggestion(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName()));
 
-        logger.info("User information updated successfully for email: {}", email);
+        logger.debug("User information updated successfully for email: {}", email);
         return updateUser;
     }
 
     /**
-     * Retrieves all users from the repository.
+     * Retrieves the emails of all users from the cached directory snapshot.
      *
-     * @return List of all users.
+     * @return List of all user emails.
      */
     @Override
     public List<String> getAllUsers() {
-        List<UserEntity> list = userRepo.findAll();
-        return list.stream().map(UserEntity::getEmail).collect(Collectors.toList());
+        return userDirectory.snapshot().emails();
     }
 
 
     /**
-     * Retrieves the first names of all users.
+     * Retrieves the emails of all users.
      *
-     * @return List of first names of all users.
+     * @return List of emails of all users.
      */
     public List<String> getNamesOfAllUsers() {
-        return userRepo.findAll()
-                .stream()
-                .map(UserEntity::getEmail)
-                .collect(Collectors.toList());
+        return getAllUsers();
+    }
+
+    /**
+     * Retrieves the cached snapshot of all user emails.
+     *
+     * @return the current snapshot and its entity tag.
+     */
+    @Override
+    public UserDirectorySnapshot getUserDirectorySnapshot() {
+        return userDirectory.snapshot();
+    }
+
+    /**
+     * Retrieves one page of the user directory by keyset, selecting only IDs and emails.
+     *
+     * @param after the ID after which the page starts, or {@code null} for the first page.
+     * @param size  the requested page size, clamped to between 1 and {@value #MAX_DIRECTORY_PAGE_SIZE}.
+     * @return the page and the cursor for the next one.
+     */
+    @Override
+    public UserDirectoryPage getUserDirectory(Integer after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE));
+        List<UserDirectoryEntry> users = userRepo.findDirectoryPage(after == null ? 0 : after, Limit.of(limit));
+        Integer nextAfter = users.size() < limit ? null : users.get(users.size() - 1).id();
+        return new UserDirectoryPage(users, nextAfter);
+    }
+
+    /**
+     * Finds users for the executor picker by prefix of their email, first name, last name or full name.
+     *
+     * @param prefix the typed prefix; case is ignored.
+     * @param limit  the maximum number of users, capped at {@value #MAX_SUGGESTIONS}.
+     * @return the matching users, served from the in-memory index.
+     */
+    @Override
+    public List<UserSuggestion> suggestUsers(String prefix, int limit) {
+        return userSearchIndex.search(prefix, Math.min(limit, MAX_SUGGESTIONS));
     }
 
     /**
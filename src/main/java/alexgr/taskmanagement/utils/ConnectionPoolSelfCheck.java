@@ -0,0 +1,101 @@
+package alexgr.taskmanagement.utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks at startup that the connection pool fits the threads that will borrow from it.
+ * <p>
+ * Request threads (Tomcat), the task executor and the scheduler all compete for the same connections. With
+ * platform threads the check warns when connections can never all be in use, or when so many threads share each
+ * connection that requests will queue on the pool. With virtual threads the pool is the only limit on concurrent
+ * database work, so the check warns when a request may wait too long for a connection instead of failing fast.
+ * A pool much larger than the CPU can drive is reported in both modes.
+ * </p>
+ */
+@Component
+public class ConnectionPoolSelfCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolSelfCheck.class);
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final Environment environment;
+
+    public ConnectionPoolSelfCheck(ObjectProvider<DataSource> dataSource, Environment environment) {
+        this.dataSource = dataSource;
+        this.environment = environment;
+    }
+
+    /**
+     * Logs the pool shape and a warning for every mismatch found.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if (!(dataSource.getIfAvailable() instanceof HikariDataSource hikari)) {
+            return;
+        }
+        boolean virtual = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        Integer workers = virtual ? null
+                : environment.getProperty("server.tomcat.threads.max", Integer.class, 200)
+                + environment.getProperty("spring.task.execution.pool.core-size", Integer.class, 8)
+                + environment.getProperty("spring.task.scheduling.pool.size", Integer.class, 1);
+        PoolShape shape = new PoolShape(hikari.getMaximumPoolSize(), hikari.getConnectionTimeout(), workers,
+                Runtime.getRuntime().availableProcessors(),
+                environment.getProperty("datasource.pool.check.max-threads-per-connection", Integer.class, 10),
+                environment.getProperty("datasource.pool.check.max-virtual-wait-ms", Long.class, 5000L));
+        logger.info("Connection pool: {} connections, {} ms acquire timeout, {} worker threads, {} cores",
+                shape.poolSize(), shape.connectionTimeoutMs(), virtual ? "virtual" : workers, shape.cores());
+        for (String warning : evaluate(shape)) {
+            logger.warn(warning);
+        }
+    }
+
+    /**
+     * Finds the mismatches between the pool and the threads using it.
+     *
+     * @param shape the pool and executor sizes.
+     * @return a message per mismatch, empty if the sizes fit.
+     */
+    static List<String> evaluate(PoolShape shape) {
+        List<String> warnings = new ArrayList<>();
+        if (shape.workerThreads() == null) {
+            if (shape.connectionTimeoutMs() > shape.maxVirtualWaitMs()) {
+                warnings.add(String.format("Virtual threads are limited only by the %d pooled connections, but a "
+                                + "request may wait %d ms for one; lower spring.datasource.hikari.connection-timeout",
+                        shape.poolSize(), shape.connectionTimeoutMs()));
+            }
+        } else if (shape.poolSize() > shape.workerThreads()) {
+            warnings.add(String.format("The pool holds %d connections but only %d threads can use them",
+                    shape.poolSize(), shape.workerThreads()));
+        } else if (shape.workerThreads() > shape.poolSize() * shape.maxThreadsPerConnection()) {
+            warnings.add(String.format("%d threads share %d connections; requests will queue on the pool, "
+                            + "watch hikaricp.connections.pending and hikaricp.connections.acquire",
+                    shape.workerThreads(), shape.poolSize()));
+        }
+        if (shape.poolSize() > shape.cores() * 4 + 1) {
+            warnings.add(String.format("The pool holds %d connections for %d cores; connections beyond what the "
+                            + "database can run in parallel add contention rather than throughput",
+                    shape.poolSize(), shape.cores()));
+        }
+        return warnings;
+    }
+
+    /**
+     * The sizes compared by the check.
+     *
+     * @param workerThreads the number of threads that may use a connection, {@code null} for virtual threads.
+     */
+    record PoolShape(int poolSize, long connectionTimeoutMs, Integer workerThreads, int cores,
+                     int maxThreadsPerConnection, long maxVirtualWaitMs) {
+    }
+}
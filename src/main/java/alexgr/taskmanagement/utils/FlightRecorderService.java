@@ -0,0 +1,221 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.dto.diagnostics.FlightRecordingDump;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a continuous JDK Flight Recorder recording and dumps its recent part to a file on demand.
+ * <p>
+ * The recording uses the JDK's {@code default} settings (about 1% overhead) plus the application events
+ * ({@link TaskOperationEvent}, {@link TokenVerificationEvent}), and keeps at most {@code jfr.continuous.max-age-minutes}
+ * minutes and {@code jfr.continuous.max-size-mb} megabytes of data on disk. A dump goes through the same
+ * {@code JFR.dump} diagnostic command as {@code jcmd}, so profiling a container needs no agent or shell access.
+ * After each dump the oldest dump files are deleted so that at most {@code jfr.dump.max-files} files and
+ * {@code jfr.dump.max-total-mb} megabytes remain; the file just written is always kept.
+ * </p>
+ */
+@Component
+public class FlightRecorderService {
+
+    public static final String RECORDING_NAME = "continuous";
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+    private static final Pattern DUMP_FILE_NAME = Pattern.compile("taskmanagement-\\d{8}-\\d{6}(-\\d+)?\\.jfr");
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+    private final int maxDumpFiles;
+    private final long maxDumpBytes;
+    private final ReentrantLock dumpLock = new ReentrantLock();
+    private volatile Recording recording;
+
+    public FlightRecorderService(@Value("${jfr.continuous.enabled:true}") boolean enabled,
+                                 @Value("${jfr.continuous.max-age-minutes:30}") long maxAgeMinutes,
+                                 @Value("${jfr.continuous.max-size-mb:250}") long maxSizeMb,
+                                 @Value("${jfr.dump-dir:data/jfr}") String dumpDir,
+                                 @Value("${jfr.dump.max-files:20}") int maxDumpFiles,
+                                 @Value("${jfr.dump.max-total-mb:2048}") long maxDumpTotalMb) {
+        this.enabled = enabled;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.dumpDir = Path.of(dumpDir).toAbsolutePath().normalize();
+        this.maxDumpFiles = Math.max(1, maxDumpFiles);
+        this.maxDumpBytes = maxDumpTotalMb * 1024 * 1024;
+    }
+
+    /**
+     * Starts the continuous recording, unless it is disabled or Flight Recorder is unavailable in this JVM.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("JDK Flight Recorder is not available, continuous recording is off");
+            return;
+        }
+        try {
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName(RECORDING_NAME);
+            started.enable(TaskOperationEvent.class);
+            started.enable(TokenVerificationEvent.class);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSizeBytes);
+            started.setToDisk(true);
+            started.start();
+            recording = started;
+            logger.info("Continuous flight recording started, keeping {} min / {} MB", maxAge.toMinutes(),
+                    maxSizeBytes / 1024 / 1024);
+        } catch (IOException | ParseException e) {
+            logger.warn("Could not start the continuous flight recording", e);
+        }
+    }
+
+    /**
+     * Stops the recording and releases its repository files.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * @return {@code true} if the continuous recording is running.
+     */
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the last minutes of the continuous recording to a new file in the dump directory.
+     *
+     * @param minutes how many minutes back to include, capped by the recording's maximum age.
+     * @return the file written.
+     * @throws IllegalStateException if the recording is not running or the dump fails.
+     */
+    public FlightRecordingDump dump(int minutes) {
+        if (recording == null) {
+            throw new IllegalStateException("The continuous flight recording is not running");
+        }
+        long window = Math.max(1, Math.min(minutes, maxAge.toMinutes()));
+        dumpLock.lock();
+        try {
+            Files.createDirectories(dumpDir);
+            Instant now = Instant.now();
+            Path file = uniqueFile(FILE_TIMESTAMP.format(now));
+            ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "jfrDump",
+                    new Object[]{new String[]{"name=" + RECORDING_NAME, "maxage=" + window + "m",
+                            "filename=" + file}},
+                    new String[]{String[].class.getName()});
+            if (!Files.exists(file)) {
+                throw new IllegalStateException("JFR.dump did not write " + file.getFileName());
+            }
+            logger.info("Dumped the last {} min of the flight recording to {}", window, file);
+            deleteOldDumps(file);
+            return new FlightRecordingDump(file.getFileName().toString(), now, window, Files.size(file));
+        } catch (IOException | JMException e) {
+            throw new IllegalStateException("Could not dump the flight recording", e);
+        } finally {
+            dumpLock.unlock();
+        }
+    }
+
+    /**
+     * Resolves a file written by {@link #dump(int)}.
+     *
+     * @param fileName the name returned in the dump metadata.
+     * @return the path of the file, or {@code null} if the name is not a dump file name or the file does not exist.
+     */
+    public Path resolveDump(String fileName) {
+        if (fileName == null || !DUMP_FILE_NAME.matcher(fileName).matches()) {
+            return null;
+        }
+        Path file = dumpDir.resolve(fileName).normalize();
+        return file.startsWith(dumpDir) && Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Deletes the oldest dump files beyond {@code jfr.dump.max-files} or {@code jfr.dump.max-total-mb}.
+     * Runs under the dump lock; a file that cannot be deleted is logged and skipped.
+     *
+     * @param latest the file just written, which is never deleted.
+     * @throws IOException if the dump directory cannot be listed.
+     */
+    private void deleteOldDumps(Path latest) throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            dumps = files.filter(f -> DUMP_FILE_NAME.matcher(f.getFileName().toString()).matches())
+                    .filter(f -> !f.equals(latest))
+                    .sorted(Comparator.comparing(FlightRecorderService::lastModified)
+                            .thenComparing(Path::getFileName).reversed())
+                    .toList();
+        }
+        int kept = 1;
+        long keptBytes = Files.size(latest);
+        for (Path dump : dumps) {
+            long size = Files.size(dump);
+            if (kept < maxDumpFiles && keptBytes + size <= maxDumpBytes) {
+                kept++;
+                keptBytes += size;
+                continue;
+            }
+            try {
+                Files.deleteIfExists(dump);
+                logger.info("Deleted old flight recording dump {}", dump.getFileName());
+            } catch (IOException e) {
+                logger.warn("Could not delete old flight recording dump {}", dump.getFileName(), e);
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path uniqueFile(String timestamp) {
+        Path file = dumpDir.resolve("taskmanagement-" + timestamp + ".jfr");
+        for (int i = 1; Files.exists(file); i++) {
+            file = dumpDir.resolve("taskmanagement-" + timestamp + "-" + i + ".jfr");
+        }
+        return file;
+    }
+}
@@ -4,6 +4,10 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Deserializer;
+import io.jsonwebtoken.io.Serializer;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -15,7 +19,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.logging.Logger;
 
 /**
  * Service class for handling JWT (JSON Web Token) operations.
@@ -24,7 +27,12 @@ import java.util.logging.Logger;
 @Service
 public class JwtTokenService {
 
-    private final Logger logger = Logger.getAnonymousLogger();
+    /**
+     * The JSON codecs of the token body, given to jjwt explicitly so it does not look them up with
+     * {@link java.util.ServiceLoader} on every builder and parser, which a native image would also have to register.
+     */
+    private static final Serializer<Map<String, ?>> SERIALIZER = new JacksonSerializer<>();
+    private static final Deserializer<Map<String, ?>> DESERIALIZER = new JacksonDeserializer<>();
 
     /**
      * The secret key used for signing and validating JWT tokens.
@@ -40,9 +48,7 @@ public class JwtTokenService {
      * @return the username extracted from the token.
      */
     public String extractUserName(String token) {
-        String username = extractClaim(token, Claims::getSubject);
-        logger.info("Extracted username: " + username);
-        return username;
+        return extractClaim(token, Claims::getSubject);
     }
 
     /**
@@ -72,6 +78,7 @@ public class JwtTokenService {
                 .toList());
 
         return Jwts.builder()
+                .serializeToJsonWith(SERIALIZER)
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
@@ -88,8 +95,15 @@ public class JwtTokenService {
      * @return {@code true} if the token is valid, {@code false} otherwise.
      */
     public boolean IsTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        return (username.equals(userDetails.getUsername()) && !IsTokenExpired(token));
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        try {
+            final String username = extractUserName(token);
+            event.valid = username.equals(userDetails.getUsername()) && !IsTokenExpired(token);
+            return event.valid;
+        } finally {
+            event.commit();
+        }
     }
 
     /**
@@ -121,6 +135,7 @@ public class JwtTokenService {
     private Claims extractAllClaims(String token) {
         return Jwts
                 .parserBuilder()
+                .deserializeJsonWith(DESERIALIZER)
                 .setSigningKey(getSingInKey())
                 .build()
                 .parseClaimsJws(token)
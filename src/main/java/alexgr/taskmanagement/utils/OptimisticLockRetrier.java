@@ -0,0 +1,122 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.exceptions.TaskVersionConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs task write attempts with a bounded retry budget when they lose an optimistic-locking race.
+ * <p>
+ * Each attempt is expected to run in its own transaction. When an attempt fails with
+ * {@link ObjectOptimisticLockingFailureException}, the supplied {@link ConflictPolicy} decides whether
+ * the change can simply be re-applied on top of the fresh row (commutative change) or must be
+ * reported to the client. Between attempts the caller sleeps for a random ("full jitter") delay
+ * bounded by an exponentially growing ceiling, so competing writers on a hot task spread out instead
+ * of colliding again.
+ * </p>
+ */
+@Component
+public class OptimisticLockRetrier {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetrier.class);
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final Counter retries;
+    private final Counter conflicts;
+    private final Counter exhausted;
+
+    public OptimisticLockRetrier(MeterRegistry meterRegistry,
+                                 @Value("${task.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${task.retry.backoff-ms:15}") long backoffMs,
+                                 @Value("${task.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(0, backoffMs);
+        this.maxBackoffMs = Math.max(this.backoffMs, maxBackoffMs);
+        this.retries = Counter.builder("task.write.retries")
+                .description("Task writes re-applied after an optimistic-lock failure")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("task.write.conflicts")
+                .description("Task writes rejected with 409 because of a non-commutative concurrent change")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("task.write.retries.exhausted")
+                .description("Task writes rejected with 409 after the retry budget was used up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes the attempt, retrying it while the conflict policy allows and the budget is not used up.
+     *
+     * @param taskId  the ID of the task being written, reported back on conflict.
+     * @param attempt a single transactional write attempt.
+     * @param policy  decides whether a conflict can be retried and reports the current version.
+     * @param <T>     the result type of the attempt.
+     * @return the result of the first successful attempt.
+     * @throws TaskVersionConflictException if the conflict is not commutative or retries are exhausted.
+     */
+    public <T> T execute(Integer taskId, Supplier<T> attempt, ConflictPolicy policy) {
+        for (int attemptNo = 1; ; attemptNo++) {
+            try {
+                return attempt.get();
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                if (!policy.isRetryable()) {
+                    conflicts.increment();
+                    logger.debug("Non-commutative conflict on task {}", taskId);
+                    throw new TaskVersionConflictException(taskId, policy.currentVersion());
+                }
+                if (attemptNo >= maxAttempts) {
+                    exhausted.increment();
+                    logger.warn("Giving up on task {} after {} conflicting attempts", taskId, attemptNo);
+                    throw new TaskVersionConflictException(taskId, policy.currentVersion());
+                }
+                retries.increment();
+                logger.debug("Retrying write on task {}, attempt {} of {}", taskId, attemptNo + 1, maxAttempts);
+                pause(taskId, attemptNo);
+            }
+        }
+    }
+
+    /**
+     * Sleeps for a random delay between zero and the exponential ceiling for the given attempt.
+     *
+     * @param taskId    the ID of the task, used when the wait is interrupted.
+     * @param attemptNo the number of the attempt that just failed, starting at 1.
+     */
+    private void pause(Integer taskId, int attemptNo) {
+        long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attemptNo - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskVersionConflictException(taskId, null);
+        }
+    }
+
+    /**
+     * Decides how a lost optimistic-locking race is handled.
+     */
+    public interface ConflictPolicy {
+
+        /**
+         * @return {@code true} if the change may be re-applied on top of the current row.
+         */
+        boolean isRetryable();
+
+        /**
+         * @return the version currently stored for the task, or {@code null} if it no longer exists.
+         */
+        Integer currentVersion();
+    }
+}
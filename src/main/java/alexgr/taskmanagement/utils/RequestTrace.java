@@ -0,0 +1,205 @@
+package alexgr.taskmanagement.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Phase timings and SQL statements of the request running on the current thread.
+ * <p>
+ * A trace exists only while {@code RequestTraceFilter} handles a request with tracing enabled. The static methods
+ * used by the instrumented code first look up the current trace and do nothing if there is none, so with tracing
+ * off each call point costs a single thread-local read.
+ * </p>
+ */
+public final class RequestTrace {
+
+    /**
+     * The measured phases, with their {@code Server-Timing} metric names.
+     */
+    public enum Phase {
+        AUTH("auth", "JWT authentication, including the user lookup"),
+        USER_LOOKUP("user", "UserDetailsService lookup"),
+        CONNECTION("conn", "Connection acquisition"),
+        SQL("db", "SQL execution"),
+        HANDLER("handler", "Controller and service"),
+        SERIALIZATION("json", "Response serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int maxStatements;
+    private final List<String> statements = new ArrayList<>();
+    private int statementCount;
+    private long handlerStart;
+    private long serializationStart;
+
+    private RequestTrace(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * Starts a trace on the current thread.
+     *
+     * @param maxStatements how many SQL statements to keep the text of.
+     * @return the new trace.
+     */
+    public static RequestTrace begin(int maxStatements) {
+        RequestTrace trace = new RequestTrace(maxStatements);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Removes the trace from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the trace of the current request, or {@code null} if tracing is off.
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return a start timestamp for {@link #stop(Phase, long)}, or {@code 0} if tracing is off.
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Adds the time since {@code start} to a phase of the current trace.
+     *
+     * @param phase the phase to add to.
+     * @param start the value returned by {@link #start()}.
+     */
+    public static void stop(Phase phase, long start) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null && start != 0) {
+            trace.nanos[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Records a statement prepared by the current request.
+     *
+     * @param sql the statement text.
+     */
+    public static void statement(String sql) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.statementCount++;
+            if (trace.statements.size() < trace.maxStatements) {
+                trace.statements.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Marks the start of the controller invocation.
+     */
+    public void handlerStarted() {
+        handlerStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the controller phase and starts the serialization phase, called just before the body is written.
+     */
+    public void serializationStarted() {
+        if (handlerStart != 0 && serializationStart == 0) {
+            serializationStart = System.nanoTime();
+            nanos[Phase.HANDLER.ordinal()] += serializationStart - handlerStart;
+        }
+    }
+
+    /**
+     * Ends the controller or serialization phase, whichever is running.
+     */
+    public void handlerCompleted() {
+        long now = System.nanoTime();
+        if (serializationStart != 0) {
+            nanos[Phase.SERIALIZATION.ordinal()] += now - serializationStart;
+        } else if (handlerStart != 0) {
+            nanos[Phase.HANDLER.ordinal()] += now - handlerStart;
+        }
+        handlerStart = 0;
+        serializationStart = 0;
+    }
+
+    /**
+     * @return the nanoseconds elapsed since the trace began.
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return the phases measured so far, in milliseconds, in declaration order.
+     */
+    public Map<String, Double> phasesMillis() {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            if (nanos[phase.ordinal()] > 0) {
+                phases.put(phase.metric, nanos[phase.ordinal()] / 1_000_000.0);
+            }
+        }
+        return phases;
+    }
+
+    /**
+     * @return the number of SQL statements prepared.
+     */
+    public int statementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return the text of the first statements, up to the configured limit.
+     */
+    public List<String> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * Formats the phases measured so far and the total as a {@code Server-Timing} header value.
+     *
+     * @return the header value.
+     */
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            long value = nanos[phase.ordinal()];
+            if (value > 0) {
+                appendMetric(header, phase.metric, phase.description, value);
+            }
+        }
+        appendMetric(header, "total", "Until headers were sent", elapsedNanos());
+        header.append(", sql;desc=\"").append(statementCount).append(" statements\"");
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, String description, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";desc=\"").append(description).append("\";dur=")
+                .append(nanos / 1000 / 1000.0);
+    }
+}
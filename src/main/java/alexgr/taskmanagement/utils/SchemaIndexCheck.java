@@ -0,0 +1,210 @@
+package alexgr.taskmanagement.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup that every access path of the application is backed by an index.
+ * <p>
+ * Two kinds of access paths are compared with the indexes found in the database metadata: the filter and join
+ * columns of the repository queries, listed in {@link #QUERY_PATHS}, and the columns of every foreign key, which
+ * the mapped joins and the parent-side delete checks read. A path is covered when an index starts with its
+ * columns. The schema itself is owned by the Flyway migrations in {@code db/migration}; this check catches a
+ * query added without a matching migration, and an index left invalid by a failed {@code CREATE INDEX CONCURRENTLY}.
+ * </p>
+ */
+@Component
+public class SchemaIndexCheck {
+
+    /**
+     * The columns the repository queries filter, join or sort on, keep in step with the queries.
+     */
+    static final List<AccessPath> QUERY_PATHS = List.of(
+            new AccessPath("tasks", List.of("status", "priority"), "TaskRepo.findTasksByParams"),
+            new AccessPath("tasks", List.of("name"), "TaskRepo.existsByName"),
+            new AccessPath("tasks", List.of("executor"), "tasks by executor"),
+            new AccessPath("tasks", List.of("deleted_at"), "TaskRepo.findPurgeableIds"),
+            new AccessPath("tasks", List.of("updated_date", "id"), "TaskRepo.findChangesAfter"),
+            new AccessPath("comments", List.of("task_id"), "TaskRepo.purgeComments"),
+            new AccessPath("user_task", List.of("task_id"), "TaskRepo.purgeUserLinks"),
+            new AccessPath("users", List.of("email"), "UserEmailLookup.findUserByEmail"),
+            new AccessPath("idempotency_keys", List.of("owner", "idempotency_key"),
+                    "IdempotencyKeyRepo.findByOwnerAndIdempotencyKey"),
+            new AccessPath("idempotency_keys", List.of("expires_at"), "IdempotencyKeyRepo.deleteExpired"));
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexCheck.class);
+    private static final String MIGRATION_HISTORY = "flyway_schema_history";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final Environment environment;
+
+    public SchemaIndexCheck(ObjectProvider<DataSource> dataSource, Environment environment) {
+        this.dataSource = dataSource;
+        this.environment = environment;
+    }
+
+    /**
+     * Logs a warning for every access path without an index and for every invalid index.
+     *
+     * @throws IllegalStateException if {@code schema.index-check.fail-on-missing} is set and a path is not covered.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        DataSource source = dataSource.getIfAvailable();
+        if (source == null || !environment.getProperty("schema.index-check.enabled", Boolean.class, true)) {
+            return;
+        }
+        List<String> warnings;
+        try (Connection connection = source.getConnection()) {
+            SchemaIndexes schema = read(connection);
+            warnings = evaluate(schema);
+            logger.info("Schema index check: {} access paths over {} tables", schema.paths().size(),
+                    schema.indexes().size());
+        } catch (SQLException e) {
+            logger.warn("Could not read the schema metadata for the index check", e);
+            return;
+        }
+        for (String warning : warnings) {
+            logger.warn(warning);
+        }
+        if (!warnings.isEmpty() && environment.getProperty("schema.index-check.fail-on-missing", Boolean.class, false)) {
+            throw new IllegalStateException("Schema index check failed: " + String.join("; ", warnings));
+        }
+    }
+
+    /**
+     * Finds the access paths not covered by an index, and the indexes the database cannot use.
+     *
+     * @param schema the access paths and the indexes of every table.
+     * @return a message per uncovered path or invalid index, empty if the schema fits the queries.
+     */
+    static List<String> evaluate(SchemaIndexes schema) {
+        List<String> warnings = new ArrayList<>();
+        for (AccessPath path : schema.paths()) {
+            List<List<String>> indexes = schema.indexes().getOrDefault(path.table(), List.of());
+            if (indexes.stream().noneMatch(path::isCoveredBy)) {
+                warnings.add(String.format("No index on %s(%s) for %s; the lookup is a sequential scan",
+                        path.table(), String.join(", ", path.columns()), path.source()));
+            }
+        }
+        for (String index : schema.invalidIndexes()) {
+            warnings.add(String.format("Index %s is invalid, probably left by a failed CREATE INDEX CONCURRENTLY; "
+                    + "drop it and run the migration again", index));
+        }
+        return warnings;
+    }
+
+    private static SchemaIndexes read(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String schema = connection.getSchema();
+        List<String> tables = new ArrayList<>();
+        try (ResultSet rs = metaData.getTables(connection.getCatalog(), schema, "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                String table = rs.getString("TABLE_NAME").toLowerCase(Locale.ROOT);
+                if (!table.equals(MIGRATION_HISTORY)) {
+                    tables.add(table);
+                }
+            }
+        }
+        List<AccessPath> paths = new ArrayList<>(QUERY_PATHS);
+        Map<String, List<List<String>>> indexes = new LinkedHashMap<>();
+        for (String table : tables) {
+            paths.addAll(foreignKeys(metaData, connection.getCatalog(), schema, table));
+            indexes.put(table, indexes(metaData, connection.getCatalog(), schema, table));
+        }
+        return new SchemaIndexes(paths, indexes, invalidIndexes(connection));
+    }
+
+    private static List<AccessPath> foreignKeys(DatabaseMetaData metaData, String catalog, String schema,
+                                                String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByKey = new LinkedHashMap<>();
+        Map<String, String> referenced = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getImportedKeys(catalog, schema, table)) {
+            while (rs.next()) {
+                String key = rs.getString("FK_NAME");
+                columnsByKey.computeIfAbsent(key, k -> new TreeMap<>())
+                        .put(rs.getShort("KEY_SEQ"), rs.getString("FKCOLUMN_NAME").toLowerCase(Locale.ROOT));
+                referenced.put(key, rs.getString("PKTABLE_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        List<AccessPath> paths = new ArrayList<>();
+        columnsByKey.forEach((key, columns) -> paths.add(new AccessPath(table, List.copyOf(columns.values()),
+                "the foreign key to " + referenced.get(key))));
+        return paths;
+    }
+
+    private static List<List<String>> indexes(DatabaseMetaData metaData, String catalog, String schema,
+                                              String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, table, false, true)) {
+            while (rs.next()) {
+                String column = rs.getString("COLUMN_NAME");
+                if (rs.getShort("TYPE") != DatabaseMetaData.tableIndexStatistic && column != null) {
+                    columnsByIndex.computeIfAbsent(rs.getString("INDEX_NAME"), k -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        columnsByIndex.values().forEach(columns -> indexes.add(List.copyOf(columns.values())));
+        return indexes;
+    }
+
+    private static List<String> invalidIndexes(Connection connection) throws SQLException {
+        List<String> invalid = new ArrayList<>();
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return invalid;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT indexrelid::regclass::text FROM pg_index i "
+                     + "JOIN pg_class c ON c.oid = i.indrelid "
+                     + "WHERE NOT i.indisvalid AND c.relnamespace = current_schema()::regnamespace")) {
+            while (rs.next()) {
+                invalid.add(rs.getString(1));
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Columns read together by a query or a join.
+     *
+     * @param columns the columns in the order an index needs them.
+     * @param source  what reads the columns, for the warning.
+     */
+    record AccessPath(String table, List<String> columns, String source) {
+
+        boolean isCoveredBy(List<String> indexColumns) {
+            return indexColumns.size() >= columns.size()
+                    && indexColumns.subList(0, columns.size()).equals(columns);
+        }
+    }
+
+    /**
+     * The schema as seen by the check.
+     *
+     * @param indexes        the column lists of the indexes of every table.
+     * @param invalidIndexes the indexes the database does not use.
+     */
+    record SchemaIndexes(List<AccessPath> paths, Map<String, List<List<String>>> indexes,
+                         List<String> invalidIndexes) {
+    }
+}
@@ -0,0 +1,65 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.dto.diagnostics.SlowRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded in-memory ring buffer of the most recent slow requests.
+ * <p>
+ * Holds the last {@code request-tracing.capacity} requests slower than {@code request-tracing.slow-ms}; older
+ * entries are overwritten. Recording is lock-free, so slow requests do not contend with each other.
+ * </p>
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong next = new AtomicLong();
+    private final long thresholdNanos;
+
+    public SlowRequestRecorder(@Value("${request-tracing.capacity:100}") int capacity,
+                               @Value("${request-tracing.slow-ms:500}") long slowMs) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+    }
+
+    /**
+     * @param elapsedNanos the duration of a request.
+     * @return {@code true} if a request that long should be recorded.
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * Stores a slow request, overwriting the oldest one if the buffer is full.
+     *
+     * @param request the request to store.
+     */
+    public void record(SlowRequest request) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), request);
+    }
+
+    /**
+     * @return the stored requests, newest first.
+     */
+    public List<SlowRequest> recent() {
+        long end = next.get();
+        long start = Math.max(0, end - slots.length());
+        List<SlowRequest> requests = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            SlowRequest request = slots.get((int) (i % slots.length()));
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+}
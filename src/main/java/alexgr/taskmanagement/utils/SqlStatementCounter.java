@@ -0,0 +1,45 @@
+package alexgr.taskmanagement.utils;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * <p>
+ * Registered as Hibernate's {@link StatementInspector}; it returns every statement unchanged. Counting is active
+ * only between {@link #start()} and {@link #stop()}, which the request metrics filter calls around each request.
+ * The statement text is also added to the {@link RequestTrace} of the request, if it is traced.
+ * Statements issued through {@code JdbcTemplate} do not pass through Hibernate and are not counted.
+ * </p>
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /**
+     * Starts counting on the current thread.
+     */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the number of statements prepared since {@link #start()}, or {@code -1} if counting was not started.
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? -1 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        RequestTrace.statement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,56 @@
+package alexgr.taskmanagement.utils;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tags of single tasks, derived from the optimistic-locking version.
+ * <p>
+ * The tag names the task as well as the version, so a tag copied from another task never matches. The same tag
+ * is returned by the task detail and by every update, and is accepted back in {@code If-None-Match} and
+ * {@code If-Match}.
+ * </p>
+ */
+public final class TaskETag {
+
+    private static final Pattern TAG = Pattern.compile("(W/)?\"task-(\\d+)-(\\d+)\"");
+
+    private TaskETag() {
+    }
+
+    /**
+     * @param taskId  the ID of the task.
+     * @param version the version of the task.
+     * @return the strong entity tag, quoted.
+     */
+    public static String of(Integer taskId, int version) {
+        return "\"task-" + taskId + "-" + version + "\"";
+    }
+
+    /**
+     * Reads the versions of the given task an {@code If-Match} header accepts.
+     * <p>
+     * {@code If-Match} uses the strong comparison, so weak tags never match, nor do tags of other tasks.
+     * </p>
+     *
+     * @param taskId  the ID of the task being updated.
+     * @param ifMatch the header value, may be {@code null}.
+     * @return {@code null} if the update is unconditional (no header, or {@code *}), otherwise the accepted
+     * versions, empty if no tag can match.
+     */
+    public static Set<Integer> ifMatchVersions(Integer taskId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Integer> versions = new HashSet<>();
+        Matcher matcher = TAG.matcher(ifMatch);
+        while (matcher.find()) {
+            if (matcher.group(1) == null && matcher.group(2).equals(String.valueOf(taskId))) {
+                versions.add(Integer.valueOf(matcher.group(3)));
+            }
+        }
+        return versions;
+    }
+}
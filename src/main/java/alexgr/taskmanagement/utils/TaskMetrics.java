@@ -0,0 +1,87 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.dto.event.TaskEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Business counters for tasks and comments.
+ * <p>
+ * {@code task.changes} counts task lifecycle changes, tagged with the event type; {@code comments.added} counts
+ * comments, tagged with the ingestion mode ({@code sync} or {@code write-behind}). Inside a transaction a change
+ * is counted only once the transaction commits, so rolled-back writes are not reported.
+ * </p>
+ */
+@Component
+public class TaskMetrics {
+
+    private final Map<TaskEventType, Counter> taskChanges = new EnumMap<>(TaskEventType.class);
+    private final Counter commentsAdded;
+    private final Counter commentsQueued;
+
+    public TaskMetrics(MeterRegistry meterRegistry) {
+        for (TaskEventType type : TaskEventType.values()) {
+            if (type != TaskEventType.COMMENT_ADDED) {
+                taskChanges.put(type, Counter.builder("task.changes")
+                        .description("Committed task lifecycle changes")
+                        .tag("type", type.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+        }
+        this.commentsAdded = commentCounter(meterRegistry, "sync");
+        this.commentsQueued = commentCounter(meterRegistry, "write-behind");
+    }
+
+    /**
+     * Counts a task change.
+     *
+     * @param type the kind of change.
+     */
+    public void taskChanged(TaskEventType type) {
+        Counter counter = taskChanges.get(type);
+        if (counter != null) {
+            afterCommit(counter);
+        }
+    }
+
+    /**
+     * Counts a comment written directly to the database.
+     */
+    public void commentAdded() {
+        afterCommit(commentsAdded);
+    }
+
+    /**
+     * Counts a comment accepted by the write-behind queue.
+     */
+    public void commentQueued() {
+        commentsQueued.increment();
+    }
+
+    private static Counter commentCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("comments.added")
+                .description("Comments accepted")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    private static void afterCommit(Counter counter) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.increment();
+                }
+            });
+        } else {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package alexgr.taskmanagement.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one task service operation.
+ * <p>
+ * The event's duration covers the whole operation, including retries and SQL. Usage:
+ * </p>
+ * <pre>
+ * TaskOperationEvent event = TaskOperationEvent.begin(TaskOperationEvent.CREATE);
+ * try {
+ *     ...
+ *     event.succeeded(taskId, 1);
+ * } finally {
+ *     event.commit();
+ * }
+ * </pre>
+ * <p>
+ * When no recording enables the event, {@code begin} and {@code commit} do next to nothing.
+ * </p>
+ */
+@Name("alexgr.taskmanagement.TaskOperation")
+@Label("Task Operation")
+@Category("Task Management")
+@Description("A task or comment operation of the task service")
+@StackTrace(false)
+public class TaskOperationEvent extends Event {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String ASSIGN = "assign";
+    public static final String DELETE = "delete";
+    public static final String SEARCH = "search";
+    public static final String COMMENT = "comment";
+
+    @Label("Operation")
+    private final String operation;
+
+    @Label("Task ID")
+    private int taskId;
+
+    @Label("Rows")
+    @Description("Rows returned by a search, or rows written")
+    private int rows;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    private TaskOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Creates the event and starts timing it.
+     *
+     * @param operation one of the operation constants.
+     * @return the started event.
+     */
+    public static TaskOperationEvent begin(String operation) {
+        TaskOperationEvent event = new TaskOperationEvent(operation);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Marks the operation as successful.
+     *
+     * @param taskId the ID of the task, or {@code null} if the operation has none.
+     * @param rows   the number of rows read or written.
+     * @return this event.
+     */
+    public TaskOperationEvent succeeded(Integer taskId, int rows) {
+        this.taskId = taskId == null ? 0 : taskId;
+        this.rows = rows;
+        this.succeeded = true;
+        return this;
+    }
+
+    /**
+     * Sets the task ID of an operation that may still fail.
+     *
+     * @param taskId the ID of the task.
+     * @return this event.
+     */
+    public TaskOperationEvent task(Integer taskId) {
+        this.taskId = taskId == null ? 0 : taskId;
+        return this;
+    }
+}
@@ -0,0 +1,22 @@
+package alexgr.taskmanagement.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for the verification of a JWT against the user it names.
+ */
+@Name("alexgr.taskmanagement.TokenVerification")
+@Label("Token Verification")
+@Category("Task Management")
+@Description("Signature, subject and expiry check of a JWT")
+@StackTrace(false)
+class TokenVerificationEvent extends Event {
+
+    @Label("Valid")
+    boolean valid;
+}
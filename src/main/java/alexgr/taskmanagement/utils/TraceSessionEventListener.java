@@ -0,0 +1,47 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.utils.RequestTrace.Phase;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener that adds connection acquisition and statement execution time to the
+ * {@link RequestTrace} of the current request.
+ * <p>
+ * Hibernate creates one instance per session. Without an active trace the callbacks do nothing.
+ * </p>
+ */
+public class TraceSessionEventListener extends BaseSessionEventListener {
+
+    private long acquisitionStart;
+    private long executionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = RequestTrace.start();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTrace.stop(Phase.CONNECTION, acquisitionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = RequestTrace.start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTrace.stop(Phase.SQL, executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = RequestTrace.start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTrace.stop(Phase.SQL, executionStart);
+    }
+}
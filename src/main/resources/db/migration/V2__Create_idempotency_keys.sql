@@ -0,0 +1,14 @@
+CREATE TABLE idempotency_keys
+(
+    id              SERIAL PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL,
+    owner           VARCHAR(255) NOT NULL,
+    operation       VARCHAR(255) NOT NULL,
+    response_status INT,
+    response_body   TEXT,
+    created_date    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_idempotency_keys_owner_key UNIQUE (owner, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
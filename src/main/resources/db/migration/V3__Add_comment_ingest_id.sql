@@ -0,0 +1,6 @@
+-- Write-behind comment ingestion assigns every queued comment an id before it reaches the database,
+-- so a journal replayed after a crash can be inserted again without creating duplicates.
+ALTER TABLE comments
+    ADD COLUMN ingest_id UUID;
+
+CREATE UNIQUE INDEX uk_comments_ingest_id ON comments (ingest_id);
@@ -0,0 +1,10 @@
+-- Transactional outbox: task and comment writes append a row here in their own transaction,
+-- and TaskEventRelay drains it in id order and deletes what it has delivered.
+CREATE TABLE task_events
+(
+    id           BIGSERIAL PRIMARY KEY,
+    task_id      INT         NOT NULL,
+    event_type   VARCHAR(50) NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_date TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
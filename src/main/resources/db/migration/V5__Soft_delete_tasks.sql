@@ -0,0 +1,11 @@
+-- Soft delete: deleteTask only stamps deleted_at; TaskPurger removes the rows and their comments later.
+ALTER TABLE tasks
+    ADD COLUMN deleted_at TIMESTAMP;
+
+-- Partial indexes for the read paths of TaskRepo; deleted rows never enter them. Lookups by ID use the primary
+-- key and check deleted_at on the row they fetch anyway.
+CREATE INDEX idx_tasks_live_name ON tasks (name) WHERE deleted_at IS NULL;
+CREATE INDEX idx_tasks_live_status_priority ON tasks (status, priority) WHERE deleted_at IS NULL;
+
+-- Lets the purger find expired tombstones without scanning live rows.
+CREATE INDEX idx_tasks_deleted_at ON tasks (deleted_at) WHERE deleted_at IS NOT NULL;
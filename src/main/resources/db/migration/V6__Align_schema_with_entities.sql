@@ -0,0 +1,9 @@
+-- Hibernate only validates the schema now (ddl-auto=validate), so the tables must match the entities.
+-- users.role stores Role names and is NOT NULL in UserEntity; VARCHAR(10) left no room for a longer role.
+UPDATE users SET role = 'USER' WHERE role IS NULL;
+ALTER TABLE users
+    ALTER COLUMN role TYPE VARCHAR(50),
+    ALTER COLUMN role SET NOT NULL;
+
+-- The role of a user is a column of users; this join table from V1 was never mapped or written.
+DROP TABLE IF EXISTS user_roles;
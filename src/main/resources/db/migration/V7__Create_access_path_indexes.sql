@@ -0,0 +1,10 @@
+-- Indexes for the foreign-key joins, the purge of comments and user links, and executor lookups.
+-- Built CONCURRENTLY so tasks and comments stay writable meanwhile. Flyway runs a migration made only of
+-- CONCURRENTLY statements outside a transaction; keep transactional DDL out of this file.
+-- A failed build leaves an INVALID index that IF NOT EXISTS would skip: SchemaIndexCheck reports it at startup,
+-- drop it, run flyway repair and start the application again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id ON tasks (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_live_executor ON tasks (executor) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_task_id ON comments (task_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_user_id ON comments (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_task_task_id ON user_task (task_id);
@@ -0,0 +1,4 @@
+-- Keyset index of the /task/changes feed: TaskRepo.findChangesAfter seeks to the (updated_date, id) cursor and
+-- reads the page in index order. Not partial, since tombstones are part of the feed.
+-- Built CONCURRENTLY like V7; a failed build is reported by SchemaIndexCheck at startup.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_updated_date_id ON tasks (updated_date, id);
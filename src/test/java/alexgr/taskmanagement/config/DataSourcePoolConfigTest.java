@@ -0,0 +1,39 @@
+package alexgr.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataSourcePoolConfigTest {
+
+    @Test
+    void hikariPoolSizer_ShouldSizeFixedPoolFromCores_WhenConnectionsPerCoreSet() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("datasource.pool.connections-per-core", "2")
+                .withProperty("datasource.pool.effective-spindles", "1");
+        HikariDataSource dataSource = new HikariDataSource();
+
+        DataSourcePoolConfig.hikariPoolSizer(environment).postProcessBeforeInitialization(dataSource, "dataSource");
+
+        int expected = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        assertEquals(expected, dataSource.getMaximumPoolSize());
+        assertEquals(expected, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void hikariPoolSizer_ShouldKeepExplicitSize_WhenMaximumPoolSizeConfigured() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("datasource.pool.connections-per-core", "2")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7");
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(7);
+        BeanPostProcessor sizer = DataSourcePoolConfig.hikariPoolSizer(environment);
+
+        sizer.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertEquals(7, dataSource.getMaximumPoolSize());
+    }
+}
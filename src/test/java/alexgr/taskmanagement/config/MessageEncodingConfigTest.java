@@ -0,0 +1,56 @@
+package alexgr.taskmanagement.config;
+
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageEncodingConfigTest {
+
+    private final MessageEncodingConfig config = new MessageEncodingConfig();
+    private final List<Task> tasks = tasks(100);
+
+    @Test
+    void cborHttpMessageConverter_ShouldRoundTripTasks_InFewerBytesThanJson() throws Exception {
+        ObjectMapper cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        byte[] encoded = cbor.writeValueAsBytes(tasks);
+
+        assertEquals(tasks, cbor.readValue(encoded, new TypeReference<List<Task>>() {
+        }));
+        assertTrue(encoded.length < json().length);
+    }
+
+    @Test
+    void smileHttpMessageConverter_ShouldBackReferenceRepeatedValues_AndRoundTripTasks() throws Exception {
+        ObjectMapper smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        byte[] encoded = smile.writeValueAsBytes(tasks);
+
+        assertEquals(tasks, smile.readValue(encoded, new TypeReference<List<Task>>() {
+        }));
+        assertTrue(encoded.length < json().length / 2, () -> encoded.length + " bytes");
+    }
+
+    private byte[] json() throws Exception {
+        return new Jackson2ObjectMapperBuilder().build().writeValueAsBytes(tasks);
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new Task(i, "Task " + i, StatusOfTask.values()[i % 3], Priority.HIGH_PRIORITY,
+                    "Description of task " + i, "executor" + i % 7 + "@example.com"));
+        }
+        return tasks;
+    }
+}
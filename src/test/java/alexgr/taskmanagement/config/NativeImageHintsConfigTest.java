@@ -0,0 +1,35 @@
+package alexgr.taskmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeImageHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_ShouldRegisterJjwtAndCacheProvider_ForReflectiveCreation() throws Exception {
+        new NativeImageHintsConfig.LibraryHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Class.forName("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Class.forName("org.ehcache.jsr107.EhcacheCachingProvider"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldRegisterEhcacheConfiguration_WithItsXmlModel() throws Exception {
+        new NativeImageHintsConfig.LibraryHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Class.forName("org.ehcache.xml.model.ConfigType"))
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+}
@@ -0,0 +1,68 @@
+package alexgr.taskmanagement.controller;
+
+import alexgr.taskmanagement.service.impl.RoleTable;
+import alexgr.taskmanagement.service.impl.UserSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Builds the OpenAPI document from the production context, refreshed without a database by the {@code build}
+ * profile.
+ * <p>
+ * When {@code openapi.output} is set (the {@code startup} Maven profile does so) the document is written there and
+ * packaged as {@code static/openapi.json}, so the container serves it as a file instead of building it at runtime.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"prod", "build"})
+class OpenApiDocumentTest {
+
+    @MockitoBean
+    private RoleTable roleTable;
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void apiDocs_ShouldDescribeEveryController() throws Exception {
+        String document = mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode paths = objectMapper.readTree(document).path("paths");
+        for (String path : new String[]{"/authenticate", "/task/search", "/task/allPaged", "/task/comment/{id}",
+                "/user/updateInfo", "/diagnostics/slow-requests"}) {
+            assertTrue(paths.has(path), () -> "missing " + path + " in " + paths.properties());
+        }
+        JsonNode pageContent = paths.path("/task/allPaged").path("get").path("responses").path("200").path("content");
+        for (String mediaType : new String[]{"application/json", "application/cbor", "application/x-jackson-smile"}) {
+            assertTrue(pageContent.has(mediaType), () -> "missing " + mediaType + " in " + pageContent);
+        }
+
+        String output = System.getProperty("openapi.output");
+        if (output != null) {
+            Path file = Path.of(output);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, document);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package alexgr.taskmanagement.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestLogFilterTest {
+
+    private final RequestLogFilter filter = new RequestLogFilter(0.0, 1000, "s3cret");
+    private final SqlDebugTurboFilter turboFilter = new SqlDebugTurboFilter();
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    @Test
+    void doFilter_ShouldEnableSqlLoggingForRequest_WhenHeaderMatchesToken() throws Exception {
+        AtomicReference<FilterReply> sqlReply = new AtomicReference<>();
+        AtomicReference<FilterReply> otherReply = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/search");
+        request.addHeader(RequestLogFilter.SQL_DEBUG_HEADER, "s3cret");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            sqlReply.set(decide("org.hibernate.SQL"));
+            otherReply.set(decide("org.springframework.web"));
+        });
+
+        assertEquals(FilterReply.ACCEPT, sqlReply.get());
+        assertEquals(FilterReply.NEUTRAL, otherReply.get());
+        assertNull(MDC.get(SqlDebugTurboFilter.MDC_KEY));
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQL"));
+    }
+
+    @Test
+    void doFilter_ShouldLeaveSqlLoggingOff_WhenHeaderDoesNotMatchToken() throws Exception {
+        AtomicReference<FilterReply> bindReply = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/search");
+        request.addHeader(RequestLogFilter.SQL_DEBUG_HEADER, "guess");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> bindReply.set(decide("org.hibernate.orm.jdbc.bind")));
+
+        assertEquals(FilterReply.NEUTRAL, bindReply.get());
+    }
+
+    @Test
+    void isSqlDebugRequested_ShouldBeFalse_WhenNoTokenConfigured() {
+        RequestLogFilter disabled = new RequestLogFilter(0.0, 1000, "");
+
+        assertFalse(disabled.isSqlDebugRequested(""));
+    }
+
+    private FilterReply decide(String loggerName) {
+        return turboFilter.decide(null, loggerContext.getLogger(loggerName), Level.DEBUG, "", null, null);
+    }
+}
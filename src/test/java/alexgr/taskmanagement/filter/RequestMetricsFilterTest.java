@@ -0,0 +1,35 @@
+package alexgr.taskmanagement.filter;
+
+import alexgr.taskmanagement.utils.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry);
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    void doFilter_ShouldRecordStatementCount_TaggedWithUriPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/42");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/task/{id}");
+        });
+
+        DistributionSummary summary = meterRegistry.get(RequestMetricsFilter.METRIC)
+                .tag("method", "GET").tag("uri", "/task/{id}").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+        assertEquals(-1, SqlStatementCounter.stop());
+    }
+}
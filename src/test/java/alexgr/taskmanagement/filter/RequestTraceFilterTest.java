@@ -0,0 +1,72 @@
+package alexgr.taskmanagement.filter;
+
+import alexgr.taskmanagement.dto.diagnostics.SlowRequest;
+import alexgr.taskmanagement.utils.RequestTrace;
+import alexgr.taskmanagement.utils.SlowRequestRecorder;
+import alexgr.taskmanagement.utils.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTraceFilterTest {
+
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    void doFilter_ShouldAddServerTimingAndCaptureSlowRequest_WhenTracingEnabled() throws Exception {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(10, 0);
+        RequestTraceFilter filter = new RequestTraceFilter(recorder, true, 1, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/task/search"), response, (req, res) -> {
+            long start = RequestTrace.start();
+            inspector.inspect("select t from tasks t");
+            inspector.inspect("select u from users u");
+            RequestTrace.stop(RequestTrace.Phase.SQL, start);
+        });
+
+        String serverTiming = response.getHeader(RequestTraceFilter.SERVER_TIMING_HEADER);
+        assertTrue(serverTiming.contains("db;desc=\"SQL execution\";dur="));
+        assertTrue(serverTiming.contains("sql;desc=\"2 statements\""));
+        List<SlowRequest> captured = recorder.recent();
+        assertEquals(1, captured.size());
+        assertEquals("/task/search", captured.get(0).uri());
+        assertEquals(2, captured.get(0).statementCount());
+        assertEquals(List.of("select t from tasks t"), captured.get(0).statements());
+        assertNull(RequestTrace.current());
+    }
+
+    @Test
+    void doFilter_ShouldCaptureSlowRequestWithoutHeader_WhenServerTimingDisabled() throws Exception {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(10, 0);
+        RequestTraceFilter filter = new RequestTraceFilter(recorder, true, 50, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/task/search"), response,
+                (req, res) -> inspector.inspect("select t from tasks t"));
+
+        assertNull(response.getHeader(RequestTraceFilter.SERVER_TIMING_HEADER));
+        List<SlowRequest> captured = recorder.recent();
+        assertEquals(1, captured.size());
+        assertEquals(1, captured.get(0).statementCount());
+    }
+
+    @Test
+    void doFilter_ShouldNotTrace_WhenTracingDisabled() throws Exception {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(10, 0);
+        RequestTraceFilter filter = new RequestTraceFilter(recorder, false, 50, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/task/search"), response,
+                (req, res) -> assertNull(RequestTrace.current()));
+
+        assertNull(response.getHeader(RequestTraceFilter.SERVER_TIMING_HEADER));
+        assertTrue(recorder.recent().isEmpty());
+    }
+}
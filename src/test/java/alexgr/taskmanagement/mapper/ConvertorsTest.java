@@ -0,0 +1,145 @@
+package alexgr.taskmanagement.mapper;
+
+import alexgr.taskmanagement.dto.auth.AuthPayload;
+import alexgr.taskmanagement.dto.comment.Comment;
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.dto.user.User;
+import alexgr.taskmanagement.entity.CommentEntity;
+import alexgr.taskmanagement.entity.TaskEntity;
+import alexgr.taskmanagement.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the handwritten convertors field by field against the LOOSE ModelMapper mapping they replaced.
+ */
+class ConvertorsTest {
+
+    private final ModelMapper legacy = new ModelMapper();
+    private final UserConvertor userConvertor = new UserConvertor();
+    private final TaskConvertor taskConvertor = new TaskConvertor();
+    private final CommentsConvertor commentsConvertor = new CommentsConvertor(userConvertor, taskConvertor);
+
+    ConvertorsTest() {
+        legacy.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+    }
+
+    @Test
+    void taskConvertToEntity_ShouldMatchLegacyMapping() {
+        Task task = new Task(5, "name", StatusOfTask.IN_PROCESS, Priority.HIGH_PRIORITY, "description", "exec@example.com");
+
+        TaskEntity expected = legacy.map(task, TaskEntity.class);
+        TaskEntity actual = taskConvertor.convertToEntity(task);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getStatusOfTask(), actual.getStatusOfTask());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getExecutor(), actual.getExecutor());
+        assertEquals(expected.getCommentEntityList(), actual.getCommentEntityList());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertNull(actual.getCreatedDate());
+        assertNull(actual.getDeletedAt());
+        // The loose strategy built a bogus owner out of the task's id and name; the owner is now left to the caller.
+        assertEquals(task.getId(), expected.getUser().getId());
+        assertNull(actual.getUser());
+    }
+
+    @Test
+    void taskConvertToDto_ShouldCopyAllFields() {
+        TaskEntity entity = new TaskEntity();
+        entity.setId(3);
+        entity.setName("name");
+        entity.setStatusOfTask(StatusOfTask.COMPLETE);
+        entity.setPriority(Priority.LOW_PRIORITY);
+        entity.setDescription("description");
+        entity.setExecutor("exec@example.com");
+        entity.setVersion(4);
+
+        // The legacy mapping could not instantiate Task, which has no no-argument constructor.
+        assertThrows(RuntimeException.class, () -> legacy.map(entity, Task.class));
+        assertEquals(new Task(3, "name", StatusOfTask.COMPLETE, Priority.LOW_PRIORITY, "description",
+                "exec@example.com"), taskConvertor.convertToDto(entity));
+    }
+
+    @Test
+    void userConvertToDto_ShouldMatchLegacyMapping() {
+        UserEntity entity = new UserEntity();
+        entity.setId(7);
+        entity.setFirstName("John");
+        entity.setLastName("Doe");
+        entity.setEmail("john@example.com");
+        entity.setPassword("hash");
+        entity.setRole(Role.ADMIN);
+        entity.setCreatedDate(LocalDateTime.now());
+
+        assertEquals(legacy.map(entity, User.class), userConvertor.convertToDto(entity));
+    }
+
+    @Test
+    void userConvertToEntity_ShouldMatchLegacyMapping_ForAllSources() {
+        User user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john@example.com");
+        user.setPassword("hash");
+        AuthPayload payload = new AuthPayload();
+        payload.setEmail("jane@example.com");
+        payload.setPassword("password1");
+        UpdateUser updateUser = new UpdateUser();
+        updateUser.setFirstName("Jane");
+        updateUser.setLastName("Roe");
+        updateUser.setEmail("jane@example.com");
+
+        assertEquals(legacy.map(user, UserEntity.class), userConvertor.convertToEntity(user));
+        assertEquals(legacy.map(payload, UserEntity.class), userConvertor.convertToEntity(payload));
+        assertEquals(legacy.map(updateUser, UserEntity.class), userConvertor.updateConvertor(updateUser));
+    }
+
+    @Test
+    void commentConvertToEntity_ShouldMatchLegacyMapping_ForOwnFields() {
+        User user = new User();
+        user.setFirstName("John");
+        user.setEmail("john@example.com");
+        Comment comment = new Comment();
+        comment.setId(9);
+        comment.setComment("text");
+        comment.setUser(user);
+        comment.setTask(new Task(5, "name", StatusOfTask.EXPECTATION, Priority.MEDIUM_PRIORITY, null, null));
+
+        CommentEntity expected = legacy.map(comment, CommentEntity.class);
+        CommentEntity actual = commentsConvertor.convertToEntity(comment);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getComment(), actual.getComment());
+        assertEquals(expected.getUser().getFirstName(), actual.getUser().getFirstName());
+        assertEquals(expected.getUser().getEmail(), actual.getUser().getEmail());
+        assertEquals(expected.getTask().getId(), actual.getTask().getId());
+        assertEquals(expected.getTask().getName(), actual.getTask().getName());
+        assertEquals(expected.getTask().getStatusOfTask(), actual.getTask().getStatusOfTask());
+        // The loose strategy copied the comment id into the user id; nested objects now keep their own ids.
+        assertEquals(comment.getId(), expected.getUser().getId());
+        assertNull(actual.getUser().getId());
+    }
+
+    @Test
+    void convertors_ShouldReturnNull_WhenSourceIsNull() {
+        assertNull(taskConvertor.convertToDto(null));
+        assertNull(taskConvertor.convertToEntity(null));
+        assertNull(userConvertor.convertToDto(null));
+        assertNull(userConvertor.convertToEntity((User) null));
+        assertNull(userConvertor.convertToEntity((AuthPayload) null));
+        assertNull(userConvertor.updateConvertor(null));
+        assertNull(commentsConvertor.convertToEntity(null));
+    }
+}
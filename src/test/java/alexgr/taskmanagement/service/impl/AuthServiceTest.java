@@ -3,10 +3,11 @@ package alexgr.taskmanagement.service.impl;
 import alexgr.taskmanagement.dto.auth.AuthPayload;
 import alexgr.taskmanagement.dto.role.Role;
 import alexgr.taskmanagement.dto.user.User;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.RoleEntity;
 import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.exceptions.MailDuplicationException;
 import alexgr.taskmanagement.mapper.UserConvertor;
-import alexgr.taskmanagement.repository.RoleRepo;
 import alexgr.taskmanagement.repository.UserRepo;
 import alexgr.taskmanagement.utils.AuthenticationResponse;
 import alexgr.taskmanagement.utils.JwtTokenService;
@@ -15,12 +16,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Optional;
+import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +39,11 @@ class AuthServiceTest {
     @Mock
     private UserConvertor userConvertor;
     @Mock
-    private RoleRepo roleRepo;
+    private RoleTable roleTable;
+    @Mock
+    private UserDirectory userDirectory;
+    @Mock
+    private UserSearchIndex userSearchIndex;
 
     @InjectMocks
     private AuthService authService;
@@ -49,10 +58,12 @@ class AuthServiceTest {
         roleEntity.setRole(Role.USER);
         UserEntity userEntity = new UserEntity();
         userEntity.setEmail(authPayload.getEmail());
+        userEntity.setPassword("encodedPassword");
 
-        when(roleRepo.findByRole(Role.USER)).thenReturn(Optional.of(roleEntity));
+        when(roleTable.get(Role.USER)).thenReturn(roleEntity);
         when(passwordEncoder.encode(authPayload.getPassword())).thenReturn("encodedPassword");
         when(userConvertor.convertToEntity(any(User.class))).thenReturn(userEntity);
+        when(userRepo.save(userEntity)).thenReturn(userEntity);
         when(tokenService.generateToken(any())).thenReturn("testToken");
 
         AuthenticationResponse response = authService.register(authPayload);
@@ -60,10 +71,35 @@ class AuthServiceTest {
         assertNotNull(response);
         assertEquals("testToken", response.getToken());
         verify(userRepo, times(1)).save(userEntity);
-        verify(roleRepo, times(1)).findByRole(Role.USER);
+        assertEquals(Role.USER, userEntity.getRole());
         verify(passwordEncoder, times(1)).encode(authPayload.getPassword());
-        verify(tokenService, times(1)).generateToken(any());
+        verify(tokenService, times(1)).generateToken(argThat(principal ->
+                principal.getUsername().equals("test@example.com")
+                        && principal.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER"))));
+        verify(userDirectory).invalidate();
+        verify(userSearchIndex).put(new UserSuggestion(null, "test@example.com", null, null));
+
+
+    }
 
+    @Test
+    void register_ShouldThrowMailDuplication_WhenEmailIsTaken() {
+        AuthPayload authPayload = new AuthPayload();
+        authPayload.setEmail("taken@example.com");
+        authPayload.setPassword("password123");
+        RoleEntity roleEntity = new RoleEntity();
+        roleEntity.setRole(Role.USER);
+        UserEntity userEntity = new UserEntity();
+        userEntity.setEmail(authPayload.getEmail());
+
+        when(roleTable.get(Role.USER)).thenReturn(roleEntity);
+        when(passwordEncoder.encode(authPayload.getPassword())).thenReturn("encodedPassword");
+        when(userConvertor.convertToEntity(any(User.class))).thenReturn(userEntity);
+        when(userRepo.save(userEntity)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "users_email_key")));
 
+        assertThrows(MailDuplicationException.class, () -> authService.register(authPayload));
+        verifyNoInteractions(tokenService, userDirectory, userSearchIndex);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.comment.PendingComment;
+import alexgr.taskmanagement.exceptions.CommentQueueFullException;
+import alexgr.taskmanagement.repository.CommentBatchWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentIngestionBufferTest {
+
+    @Mock
+    private CommentBatchWriter batchWriter;
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    void flush_ShouldWriteQueuedCommentsAndDeleteSegment() throws IOException {
+        CommentIngestionBuffer buffer = buffer(100);
+        buffer.enqueue(1, 2, "first");
+        buffer.enqueue(1, 3, "second\twith tab");
+
+        buffer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PendingComment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter, times(1)).insert(captor.capture(), eq(500));
+        assertEquals(List.of("first", "second\twith tab"),
+                captor.getValue().stream().map(PendingComment::comment).toList());
+        assertEquals(0, buffer.backlog());
+        try (var files = Files.list(journalDir)) {
+            assertEquals(List.of(CommentIngestionBuffer.JOURNAL_FILE),
+                    files.map(path -> path.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void start_ShouldReplayJournalLeftByCrash() throws IOException {
+        CommentIngestionBuffer crashed = buffer(100);
+        PendingComment lost = crashed.enqueue(5, 6, "survives a crash");
+
+        CommentIngestionBuffer restarted = buffer(100);
+        assertEquals(1, restarted.backlog());
+        restarted.flush();
+
+        verify(batchWriter, times(1)).insert(eq(List.of(lost)), eq(500));
+        assertEquals(0, restarted.backlog());
+    }
+
+    @Test
+    void flush_ShouldKeepSegment_WhenDatabaseIsUnavailable() throws IOException {
+        CommentIngestionBuffer buffer = buffer(100);
+        buffer.enqueue(1, 2, "retry me");
+        doThrow(new DataAccessResourceFailureException("down")).doReturn(1)
+                .when(batchWriter).insert(anyList(), anyInt());
+
+        buffer.flush();
+        assertEquals(1, buffer.backlog());
+
+        buffer.flush();
+        verify(batchWriter, times(2)).insert(anyList(), anyInt());
+        assertEquals(0, buffer.backlog());
+    }
+
+    @Test
+    void enqueue_ShouldReopenJournal_WhenReopeningAfterSealFailed() throws IOException {
+        CommentIngestionBuffer buffer = spy(buffer(100));
+        buffer.enqueue(1, 2, "before");
+        doThrow(new IOException("disk full")).doCallRealMethod().when(buffer).openJournal();
+
+        buffer.flush();
+        PendingComment after = buffer.enqueue(1, 3, "after");
+        buffer.flush();
+
+        verify(batchWriter, times(1)).insert(eq(List.of(after)), eq(500));
+        verify(batchWriter, times(2)).insert(anyList(), anyInt());
+        assertEquals(0, buffer.backlog());
+    }
+
+    @Test
+    void enqueue_ShouldReject_WhenBacklogIsFull() throws IOException {
+        CommentIngestionBuffer buffer = buffer(1);
+        buffer.enqueue(1, 2, "fits");
+
+        assertThrows(CommentQueueFullException.class, () -> buffer.enqueue(1, 2, "overflows"));
+    }
+
+    private CommentIngestionBuffer buffer(int capacity) throws IOException {
+        CommentIngestionBuffer buffer = new CommentIngestionBuffer(batchWriter, "write-behind", capacity, 500,
+                false, journalDir.toString());
+        buffer.start();
+        return buffer;
+    }
+}
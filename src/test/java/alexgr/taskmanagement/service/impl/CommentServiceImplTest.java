@@ -9,10 +9,13 @@ import alexgr.taskmanagement.repository.CommentsRepo;
 import alexgr.taskmanagement.repository.TaskRepo;
 import alexgr.taskmanagement.repository.UserRepo;
 import alexgr.taskmanagement.service.UserService;
+import alexgr.taskmanagement.utils.TaskMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
@@ -31,6 +34,12 @@ class CommentServiceImplTest {
     private CommentsRepo commentsRepo;
     @Mock
     private UserService userService;
+    @Mock
+    private CommentIngestionBuffer ingestionBuffer;
+    @Mock
+    private TaskEventOutbox taskEventOutbox;
+    @Spy
+    private TaskMetrics taskMetrics = new TaskMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private CommentServiceImpl commentService;
@@ -63,6 +72,7 @@ class CommentServiceImplTest {
         verify(userService, times(1)).getCurrentUser();
         verify(userRepo, times(1)).findUserByEmail("test@example.com");
         verify(commentsRepo, times(1)).save(any(CommentEntity.class));
+        verify(taskEventOutbox, times(1)).commentAdded(eq(taskId), any(), any());
         assertEquals(1, taskEntity.getCommentEntityList().size());
         assertEquals("This is a test comment", taskEntity.getCommentEntityList().get(0).getComment());
     }
@@ -84,4 +94,22 @@ class CommentServiceImplTest {
         verify(taskRepo, times(1)).findTaskEntityById(taskId);
         verifyNoInteractions(userRepo, commentsRepo);
     }
-}
\ No newline at end of file
+
+    @Test
+    void addComment_ShouldQueueCommentByIds_WhenWriteBehindIsEnabled() throws IdNotFoundException {
+        Comment commentDto = new Comment();
+        commentDto.setComment("queued");
+
+        when(ingestionBuffer.isEnabled()).thenReturn(true);
+        when(taskRepo.existsById(1)).thenReturn(true);
+        when(userService.getCurrentUser()).thenReturn("test@example.com");
+        when(userRepo.findIdByEmail("test@example.com")).thenReturn(42);
+
+        commentService.addComment(1, commentDto);
+
+        verify(ingestionBuffer, times(1)).enqueue(1, 42, "queued");
+        verify(taskRepo, never()).findTaskEntityById(any());
+        verify(userRepo, never()).findUserByEmail(any());
+        verifyNoInteractions(commentsRepo, taskEventOutbox);
+    }
+}
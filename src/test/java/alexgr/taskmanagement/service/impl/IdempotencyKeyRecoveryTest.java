@@ -0,0 +1,87 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.repository.IdempotencyKeyRepo;
+import alexgr.taskmanagement.repository.UserRepo;
+import alexgr.taskmanagement.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks against the database that a request dying between reserving its key and storing the response leaves
+ * neither a reserved key nor a partial write behind, so that the client's retry runs the action.
+ */
+@JpaServiceTest
+@AutoConfigureJson
+@Import(IdempotencyServiceImpl.class)
+class IdempotencyKeyRecoveryTest {
+
+    private static final String OWNER = "owner@mail.ru";
+
+    @MockitoBean
+    private UserService userService;
+
+    @Autowired
+    private IdempotencyServiceImpl idempotencyService;
+    @Autowired
+    private IdempotencyKeyRepo idempotencyKeyRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getCurrentUser()).thenReturn(OWNER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM idempotency_keys");
+        jdbcTemplate.execute("DELETE FROM users");
+    }
+
+    @Test
+    void execute_ShouldFreeKeyAndUndoWrite_WhenRequestDiesAfterReserving() throws IdNotFoundException {
+        assertThrows(InternalError.class, () -> idempotencyService.execute("key-1", "POST /task/create", () -> {
+            register("first@mail.ru");
+            throw new InternalError("instance killed");
+        }));
+
+        assertNull(idempotencyKeyRepo.findByOwnerAndIdempotencyKey(OWNER, "key-1"));
+        assertNull(userRepo.findUserByEmail("first@mail.ru"));
+
+        ResponseEntity<?> retry = idempotencyService.execute("key-1", "POST /task/create", () -> {
+            register("first@mail.ru");
+            return ResponseEntity.ok(Map.of("message", "ok"));
+        });
+
+        assertEquals(200, retry.getStatusCode().value());
+        assertEquals(200, idempotencyKeyRepo.findByOwnerAndIdempotencyKey(OWNER, "key-1").getResponseStatus());
+        assertEquals(1, userRepo.count());
+    }
+
+    private void register(String email) {
+        UserEntity user = new UserEntity();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+        userRepo.save(user);
+    }
+}
@@ -0,0 +1,151 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.entity.IdempotencyKeyEntity;
+import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.repository.IdempotencyKeyRepo;
+import alexgr.taskmanagement.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyKeyRepo idempotencyKeyRepo;
+    @Mock
+    private UserService userService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepo, userService, new ObjectMapper(),
+                transactionTemplate, 24, 600, 100);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void execute_ShouldRunActionOnceAndReplayFromMemory() throws IdNotFoundException {
+        AtomicInteger calls = new AtomicInteger();
+        when(userService.getCurrentUser()).thenReturn("test@example.com");
+        when(idempotencyKeyRepo.saveAndFlush(any(IdempotencyKeyEntity.class))).thenAnswer(invocation -> {
+            IdempotencyKeyEntity entity = invocation.getArgument(0);
+            entity.setId(7);
+            return entity;
+        });
+
+        ResponseEntity<?> first = idempotencyService.execute("key-1", "POST /task/comment/1", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok(Map.of("message", "ok"));
+        });
+        ResponseEntity<?> retry = idempotencyService.execute("key-1", "POST /task/comment/1", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok(Map.of("message", "ok"));
+        });
+
+        assertEquals(1, calls.get());
+        assertEquals(200, first.getStatusCode().value());
+        assertEquals("{\"message\":\"ok\"}", retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyServiceImpl.REPLAYED_HEADER));
+        verify(idempotencyKeyRepo, times(1)).findByOwnerAndIdempotencyKey("test@example.com", "key-1");
+        verify(idempotencyKeyRepo, times(1)).save(any(IdempotencyKeyEntity.class));
+    }
+
+    @Test
+    void execute_ShouldReplayStoredResponse_WithoutRunningAction() throws IdNotFoundException {
+        IdempotencyKeyEntity stored = new IdempotencyKeyEntity();
+        stored.setId(3);
+        stored.setOperation("POST /task/create");
+        stored.setResponseStatus(200);
+        stored.setResponseBody("{\"id\":5}");
+        stored.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(userService.getCurrentUser()).thenReturn("test@example.com");
+        when(idempotencyKeyRepo.findByOwnerAndIdempotencyKey("test@example.com", "key-2")).thenReturn(stored);
+
+        ResponseEntity<?> response = idempotencyService.execute("key-2", "POST /task/create",
+                () -> fail("action must not run for a stored key"));
+
+        assertEquals("{\"id\":5}", response.getBody());
+        verify(idempotencyKeyRepo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void execute_ShouldReplayResponse_WhenConcurrentRetryCommittedFirst() throws IdNotFoundException {
+        IdempotencyKeyEntity committed = new IdempotencyKeyEntity();
+        committed.setId(4);
+        committed.setOperation("POST /task/create");
+        committed.setResponseStatus(200);
+        committed.setResponseBody("{\"id\":6}");
+        committed.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(userService.getCurrentUser()).thenReturn("test@example.com");
+        when(idempotencyKeyRepo.findByOwnerAndIdempotencyKey("test@example.com", "key-3")).thenReturn(null, committed);
+        when(idempotencyKeyRepo.saveAndFlush(any(IdempotencyKeyEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_owner_key"));
+
+        ResponseEntity<?> response = idempotencyService.execute("key-3", "POST /task/create",
+                () -> fail("action must not run when a concurrent retry committed first"));
+
+        assertEquals("{\"id\":6}", response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyServiceImpl.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_ShouldTakeOverReservation_LeftWithoutResponse() throws IdNotFoundException {
+        IdempotencyKeyEntity abandoned = new IdempotencyKeyEntity();
+        abandoned.setId(5);
+        abandoned.setOperation("POST /task/create");
+        abandoned.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(userService.getCurrentUser()).thenReturn("test@example.com");
+        when(idempotencyKeyRepo.findByOwnerAndIdempotencyKey("test@example.com", "key-5")).thenReturn(abandoned);
+        when(idempotencyKeyRepo.saveAndFlush(any(IdempotencyKeyEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResponseEntity<?> response = idempotencyService.execute("key-5", "POST /task/create", () -> ResponseEntity.ok("x"));
+
+        assertEquals("x", response.getBody());
+        verify(idempotencyKeyRepo, times(1)).deleteById(5);
+    }
+
+    @Test
+    void execute_ShouldRollBackReservation_WhenActionFails() {
+        when(userService.getCurrentUser()).thenReturn("test@example.com");
+        when(idempotencyKeyRepo.saveAndFlush(any(IdempotencyKeyEntity.class))).thenAnswer(invocation -> {
+            IdempotencyKeyEntity entity = invocation.getArgument(0);
+            entity.setId(9);
+            return entity;
+        });
+
+        assertThrows(IdNotFoundException.class, () -> idempotencyService.execute("key-4", "POST /task/comment/1",
+                () -> {
+                    throw new IdNotFoundException("id not found");
+                }));
+
+        verify(idempotencyKeyRepo, never()).save(any(IdempotencyKeyEntity.class));
+    }
+
+    @Test
+    void execute_ShouldRunAction_WhenNoKeyIsSent() throws IdNotFoundException {
+        ResponseEntity<?> response = idempotencyService.execute(null, "POST /task/create", () -> ResponseEntity.ok("x"));
+
+        assertEquals("x", response.getBody());
+        verifyNoInteractions(idempotencyKeyRepo, userService);
+    }
+}
@@ -0,0 +1,53 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs services against the JPA layer and an in-memory H2 database in PostgreSQL mode.
+ * <p>
+ * The schema is generated from the entities, since the Flyway migrations use PostgreSQL-only DDL. Test methods
+ * run without a surrounding transaction, so every service call commits on its own as in production and the
+ * second-level cache sees the same transaction boundaries. {@link MetricsConfig} registers the statement
+ * inspector used by {@code StatementBudget}. Tests import the services they need and clean up after themselves.
+ * </p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:taskmanagement;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaServiceTest.Config.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@interface JpaServiceTest {
+
+    @TestConfiguration
+    @EnableJpaAuditing
+    @Import(MetricsConfig.class)
+    class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
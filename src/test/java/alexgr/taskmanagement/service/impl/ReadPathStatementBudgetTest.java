@@ -0,0 +1,235 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.controller.TaskController;
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.entity.CommentEntity;
+import alexgr.taskmanagement.entity.TaskEntity;
+import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.mapper.TaskConvertor;
+import alexgr.taskmanagement.repository.CommentsRepo;
+import alexgr.taskmanagement.repository.TaskRepo;
+import alexgr.taskmanagement.repository.UserRepo;
+import alexgr.taskmanagement.service.CommentService;
+import alexgr.taskmanagement.service.IdempotencyService;
+import alexgr.taskmanagement.utils.OptimisticLockRetrier;
+import alexgr.taskmanagement.utils.TaskETag;
+import alexgr.taskmanagement.utils.TaskMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static alexgr.taskmanagement.utils.StatementBudget.atMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement budgets of the read paths behind the HTTP endpoints.
+ * <p>
+ * Every task has its own owner and two comments, so a lazy load of {@code TaskEntity.user} or
+ * {@code commentEntityList} adds a statement per row and breaks the budget. The result is serialized with the
+ * application's {@link ObjectMapper} inside the same session, as open-in-view does for a request, and the caches
+ * are cold unless a test says otherwise.
+ * </p>
+ */
+@JpaServiceTest
+@AutoConfigureJson
+@Import({TaskServiceImpl.class, UserServiceImpl.class, UserDirectory.class, UserSearchIndex.class,
+        CustomUserDetailService.class, TaskConvertor.class, OptimisticLockRetrier.class, TaskMetrics.class,
+        TaskChangeFeed.class})
+@TestPropertySource(properties = {"task.changes.settle-ms=0", "spring.transaction.default-timeout="})
+class ReadPathStatementBudgetTest {
+
+    private static final int TASKS = 30;
+
+    @MockitoBean
+    private TaskEventOutbox taskEventOutbox;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    @Autowired
+    private CustomUserDetailService userDetailService;
+    @Autowired
+    private TaskRepo taskRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private CommentsRepo commentsRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TaskConvertor taskConvertor;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < TASKS; i++) {
+                UserEntity owner = new UserEntity();
+                owner.setEmail("user" + i + "@mail.ru");
+                owner.setPassword("hash");
+                owner.setRole(Role.USER);
+                userRepo.save(owner);
+                TaskEntity task = new TaskEntity();
+                task.setName("Task " + i);
+                task.setStatusOfTask(StatusOfTask.EXPECTATION);
+                task.setPriority(Priority.values()[i % Priority.values().length]);
+                task.setExecutor(owner.getEmail());
+                task.setUser(owner);
+                taskRepo.save(task);
+                for (int c = 0; c < 2; c++) {
+                    CommentEntity comment = new CommentEntity();
+                    comment.setComment("Comment " + c);
+                    comment.setTask(task);
+                    comment.setUser(owner);
+                    commentsRepo.save(comment);
+                }
+            }
+        });
+        evictCaches();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM tasks");
+        jdbcTemplate.execute("DELETE FROM users");
+        evictCaches();
+    }
+
+    @Test
+    void getAllTasks_ShouldIssueAtMostTwoStatements_ForAnyPageSize() {
+        for (int size : new int[]{5, TASKS}) {
+            String json = atMost(2, "getAllTasks(size=" + size + ")",
+                    () -> serialized(() -> taskService.getAllTasks(PageRequest.of(0, size)).getContent()));
+            assertTrue(json.contains("Task " + (size - 1)));
+        }
+    }
+
+    @Test
+    void searchTasks_ShouldIssueOneStatement_ForAnyResultSize() throws Exception {
+        String json = atMost(1, "searchTasks", () -> serialized(() -> taskService.searchTasks(null, null)));
+
+        assertEquals(TASKS, objectMapper.readTree(json).size());
+    }
+
+    @Test
+    void getTaskListVersion_ShouldIssueOneStatement() {
+        assertEquals(TASKS, atMost(1, "getTaskListVersion", () -> taskService.getTaskListVersion()).count());
+    }
+
+    @Test
+    void getTask_ShouldIssueOneStatement_WhenIfNoneMatchMatches() throws Exception {
+        TaskController controller = new TaskController(taskService, mock(CommentService.class), userService,
+                mock(IdempotencyService.class), taskConvertor);
+        Integer id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tasks", Integer.class);
+        String etag = TaskETag.of(id, jdbcTemplate.queryForObject("SELECT version FROM tasks WHERE id = ?",
+                Integer.class, id));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/task/" + id);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(atMost(1, "getTask (not modified)",
+                () -> controller.getTask(id, new ServletWebRequest(request, response))));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+
+        ResponseEntity<Task> task = atMost(2, "getTask", () -> controller.getTask(id,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/task/" + id))));
+        assertEquals(etag, task.getHeaders().getETag());
+    }
+
+    @Test
+    void getChanges_ShouldIssueOneStatement_PerPage() throws Exception {
+        String json = atMost(1, "getChanges", () -> serialized(() -> taskService.getChanges(null, 1000)));
+
+        assertEquals(TASKS, objectMapper.readTree(json).path("changes").size());
+    }
+
+    @Test
+    void getUserDirectory_ShouldIssueOneStatement() {
+        String json = atMost(1, "getUserDirectory", () -> serialized(() -> userService.getUserDirectory(null, 100)));
+
+        assertTrue(json.contains("user29@mail.ru"));
+    }
+
+    @Test
+    void getAllUsers_ShouldIssueAtMostTwoStatements_AndNoneWhileSnapshotIsFresh() {
+        List<String> emails = atMost(2, "getAllUsers", () -> userService.getAllUsers());
+        atMost(0, "getAllUsers (fresh snapshot)", () -> userService.getAllUsers());
+
+        assertEquals(TASKS, emails.size());
+    }
+
+    @Test
+    void suggestUsers_ShouldNotQuery_OnceIndexIsBuilt() {
+        userSearchIndex.rebuild();
+
+        assertEquals(TASKS, atMost(0, "suggestUsers", () -> userService.suggestUsers("user", 50)).size());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldIssueOneStatement_AndNoneWhenCached() {
+        atMost(1, "loadUserByUsername (cold)", () -> userDetailService.loadUserByUsername("user7@mail.ru"));
+
+        assertEquals("user7@mail.ru", atMost(0, "loadUserByUsername (cached)",
+                () -> userDetailService.loadUserByUsername("user7@mail.ru")).getUsername());
+    }
+
+    @Test
+    void atMost_ShouldListStatements_WhenBudgetIsExceeded() {
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+                () -> atMost(0, "findAll", () -> taskRepo.findAll()));
+
+        assertTrue(error.getMessage().startsWith("findAll: expected at most 0 SQL statements, got 1 statements:"));
+        assertTrue(error.getMessage().contains("1. select"));
+    }
+
+    private String serialized(ThrowingSupplier<?> read) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsString(read.get());
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,65 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.entity.RoleEntity;
+import alexgr.taskmanagement.repository.RoleRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleTableTest {
+
+    @Mock
+    private RoleRepo roleRepo;
+
+    @InjectMocks
+    private RoleTable roleTable;
+
+    @Test
+    void get_ShouldServeRolesLoadedOnce() {
+        RoleEntity user = role(1, Role.USER);
+        RoleEntity admin = role(2, Role.ADMIN);
+        when(roleRepo.findAll()).thenReturn(List.of(user, admin));
+
+        roleTable.load();
+
+        assertSame(user, roleTable.get(Role.USER));
+        assertSame(admin, roleTable.get(Role.ADMIN));
+        verify(roleRepo, times(1)).findAll();
+    }
+
+    @Test
+    void get_ShouldLoadRoles_WhenCalledBeforeApplicationIsReady() {
+        RoleEntity user = role(1, Role.USER);
+        when(roleRepo.findAll()).thenReturn(List.of(user, role(2, Role.ADMIN)));
+
+        assertSame(user, roleTable.get(Role.USER));
+        roleTable.get(Role.ADMIN);
+
+        verify(roleRepo, times(1)).findAll();
+    }
+
+    @Test
+    void load_ShouldFail_WhenRoleIsMissing() {
+        when(roleRepo.findAll()).thenReturn(List.of(role(1, Role.USER)));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> roleTable.load());
+
+        assertEquals("Roles missing from the roles table: [ADMIN]", exception.getMessage());
+    }
+
+    private static RoleEntity role(int id, Role role) {
+        RoleEntity roleEntity = new RoleEntity();
+        roleEntity.setId(id);
+        roleEntity.setRole(role);
+        return roleEntity;
+    }
+}
@@ -0,0 +1,278 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.Task;
+import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.entity.RoleEntity;
+import alexgr.taskmanagement.entity.TaskEntity;
+import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.exceptions.IdNotFoundException;
+import alexgr.taskmanagement.mapper.TaskConvertor;
+import alexgr.taskmanagement.repository.RoleRepo;
+import alexgr.taskmanagement.repository.TaskRepo;
+import alexgr.taskmanagement.repository.UserRepo;
+import alexgr.taskmanagement.utils.OptimisticLockRetrier;
+import alexgr.taskmanagement.utils.TaskMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every write path of {@link TaskServiceImpl} and {@link UserServiceImpl} leaves the second-level
+ * cache consistent: a read after the write is served from the cache, without SQL, and sees the new state.
+ */
+@JpaServiceTest
+@Import({TaskServiceImpl.class, UserServiceImpl.class, TaskConvertor.class, OptimisticLockRetrier.class,
+        TaskMetrics.class, TaskChangeFeed.class})
+class SecondLevelCacheTest {
+
+    private static final String OWNER = "owner@mail.ru";
+
+    @MockitoBean
+    private TaskEventOutbox taskEventOutbox;
+    @MockitoBean
+    private UserDirectory userDirectory;
+    @MockitoBean
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private TaskRepo taskRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private RoleRepo roleRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private UserEntity owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = transactionTemplate.execute(status -> {
+            UserEntity user = new UserEntity();
+            user.setEmail(OWNER);
+            user.setPassword("hash");
+            user.setRole(Role.USER);
+            return userRepo.save(user);
+        });
+        UserDetails principal = User.withUsername(OWNER).password("hash").roles("USER").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.execute("DELETE FROM tasks");
+        jdbcTemplate.execute("DELETE FROM users");
+        jdbcTemplate.execute("DELETE FROM roles");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void createTask_ShouldServeTaskFromCache_AfterFirstRead() {
+        TaskEntity created = taskService.createTask(task("Created", Priority.LOW_PRIORITY));
+        // Hibernate does not cache rows inserted with an IDENTITY key; the first read fills the region
+        fromDatabase(() -> find(TaskEntity.class, created.getId()));
+
+        TaskEntity cached = fromCache(() -> find(TaskEntity.class, created.getId()));
+
+        assertEquals("Created", cached.getName());
+        assertEquals(OWNER, cached.getExecutor());
+    }
+
+    @Test
+    void updateTaskByAdmin_ShouldRefreshCachedTask() throws IdNotFoundException {
+        Integer id = cachedTask("Admin");
+
+        taskService.updateTaskByAdmin(id, task("Admin renamed", Priority.HIGH_PRIORITY));
+
+        TaskEntity cached = fromCache(() -> find(TaskEntity.class, id));
+        assertEquals("Admin renamed", cached.getName());
+        assertEquals(Priority.HIGH_PRIORITY, cached.getPriority());
+        assertEquals(1, cached.getVersion());
+    }
+
+    @Test
+    void updateTaskByExecutor_ShouldRefreshCachedTask() throws IdNotFoundException {
+        Integer id = cachedTask("Executor");
+
+        taskService.updateTaskByExecutor(id, task("Executor renamed", Priority.MEDIUM_PRIORITY));
+
+        TaskEntity cached = fromCache(() -> find(TaskEntity.class, id));
+        assertEquals("Executor renamed", cached.getName());
+        assertEquals(1, cached.getVersion());
+    }
+
+    @Test
+    void appointAnExecutor_ShouldRefreshCachedTask() throws IdNotFoundException {
+        Integer id = cachedTask("Assign");
+
+        taskService.appointAnExecutor(id, "executor@mail.ru");
+
+        TaskEntity cached = fromCache(() -> find(TaskEntity.class, id));
+        assertEquals("executor@mail.ru", cached.getExecutor());
+    }
+
+    @Test
+    void deleteTask_ShouldHideCachedTask() throws IdNotFoundException {
+        Integer id = cachedTask("Deleted");
+
+        taskService.deleteTask(id);
+
+        assertNull(taskRepo.findTaskEntityById(id));
+        assertThrows(IdNotFoundException.class, () -> taskService.deleteTask(id));
+    }
+
+    @Test
+    void getTask_ShouldReturnCurrentVersion_WhenRowChangedBehindCache() throws IdNotFoundException {
+        Integer id = cachedTask("Stale");
+        changeBehindCache(id);
+
+        TaskEntity task = taskService.getTask(id);
+
+        assertEquals(1, task.getVersion());
+        assertEquals("Changed elsewhere", task.getName());
+        assertEquals(1, fromCache(() -> find(TaskEntity.class, id)).getVersion());
+    }
+
+    @Test
+    void updateTaskByAdmin_ShouldAcceptCurrentIfMatch_WhenRowChangedBehindCache() throws IdNotFoundException {
+        Integer id = cachedTask("Stale");
+        changeBehindCache(id);
+
+        TaskEntity updated = taskService.updateTaskByAdmin(id, task("Admin renamed", Priority.HIGH_PRIORITY), Set.of(1));
+
+        assertEquals(2, updated.getVersion());
+        assertEquals("Admin renamed", updated.getName());
+    }
+
+    @Test
+    void updateUserInfo_ShouldRefreshCachedUser() {
+        assertEquals(owner.getId(), fromDatabase(() -> userRepo.findUserByEmail(OWNER)).getId());
+
+        UpdateUser update = new UpdateUser();
+        update.setEmail(OWNER);
+        update.setFirstName("Alex");
+        update.setLastName("Gr");
+        userService.updateUserInfo(update);
+
+        UserEntity cached = fromCache(() -> userRepo.findUserByEmail(OWNER));
+        assertEquals("Alex", cached.getFirstName());
+        assertEquals("Gr", cached.getLastName());
+        assertEquals(owner.getId(), cached.getId());
+    }
+
+    @Test
+    void findUserByEmail_ShouldUseNaturalIdCache_AfterFirstLookup() {
+        fromDatabase(() -> userRepo.findUserByEmail(OWNER));
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+
+        UserEntity cached = fromCache(() -> userRepo.findUserByEmail(OWNER));
+
+        assertEquals(owner.getId(), cached.getId());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > naturalIdHits);
+        assertNull(userRepo.findUserByEmail("missing@mail.ru"));
+    }
+
+    @Test
+    void findByRole_ShouldUseQueryCache_AfterFirstLookup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RoleEntity role = new RoleEntity();
+            role.setRole(Role.ADMIN);
+            roleRepo.save(role);
+        });
+        fromDatabase(() -> roleRepo.findByRole(Role.ADMIN));
+        long queryHits = statistics.getQueryCacheHitCount();
+
+        RoleEntity cached = fromCache(() -> roleRepo.findByRole(Role.ADMIN)).orElseThrow();
+
+        assertEquals(Role.ADMIN, cached.getRole());
+        assertTrue(statistics.getQueryCacheHitCount() > queryHits);
+    }
+
+    private Integer cachedTask(String name) {
+        Integer id = transactionTemplate.execute(status -> {
+            TaskEntity entity = new TaskEntity();
+            entity.setName(name);
+            entity.setStatusOfTask(StatusOfTask.EXPECTATION);
+            entity.setPriority(Priority.LOW_PRIORITY);
+            entity.setExecutor(OWNER);
+            entity.setUser(userRepo.getReferenceById(owner.getId()));
+            return taskRepo.save(entity).getId();
+        });
+        entityManagerFactory.getCache().evict(TaskEntity.class, id);
+        fromDatabase(() -> find(TaskEntity.class, id));
+        assertTrue(entityManagerFactory.getCache().contains(TaskEntity.class, id));
+        return id;
+    }
+
+    /**
+     * Writes a new version of the task directly to the table, as another instance would, leaving the cached
+     * entry of this instance at the old version.
+     */
+    private void changeBehindCache(Integer id) {
+        jdbcTemplate.update("UPDATE tasks SET name = 'Changed elsewhere', version = version + 1 WHERE id = ?", id);
+        assertEquals(0, fromCache(() -> find(TaskEntity.class, id)).getVersion());
+    }
+
+    private static Task task(String name, Priority priority) {
+        return new Task(null, name, StatusOfTask.IN_PROCESS, priority, "description", null);
+    }
+
+    private <T> T find(Class<T> type, Object id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(type, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private <T> T fromDatabase(Supplier<T> read) {
+        long statements = statistics.getPrepareStatementCount();
+        T result = read.get();
+        assertTrue(statistics.getPrepareStatementCount() > statements, "expected a cache miss");
+        return result;
+    }
+
+    private <T> T fromCache(Supplier<T> read) {
+        long statements = statistics.getPrepareStatementCount();
+        T result = read.get();
+        assertEquals(statements, statistics.getPrepareStatementCount(), "expected a cache hit without SQL");
+        return result;
+    }
+}
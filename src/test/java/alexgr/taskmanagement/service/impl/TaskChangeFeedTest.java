@@ -0,0 +1,170 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.dto.task.Priority;
+import alexgr.taskmanagement.dto.task.StatusOfTask;
+import alexgr.taskmanagement.dto.task.TaskChangesPage;
+import alexgr.taskmanagement.dto.task.TaskDelta;
+import alexgr.taskmanagement.dto.task.TaskSyncCursor;
+import alexgr.taskmanagement.entity.TaskEntity;
+import alexgr.taskmanagement.entity.UserEntity;
+import alexgr.taskmanagement.exceptions.InvalidSyncCursorException;
+import alexgr.taskmanagement.exceptions.SyncCursorExpiredException;
+import alexgr.taskmanagement.repository.TaskRepo;
+import alexgr.taskmanagement.repository.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JpaServiceTest
+class TaskChangeFeedTest {
+
+    @Autowired
+    private TaskRepo taskRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> taskIds = new ArrayList<>();
+    private TaskChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TaskChangeFeed(taskRepo, Clock.systemDefaultZone(), Duration.ZERO, Duration.ofHours(1));
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity owner = new UserEntity();
+            owner.setEmail("owner@mail.ru");
+            owner.setPassword("hash");
+            owner.setRole(Role.USER);
+            userRepo.save(owner);
+            for (int i = 0; i < 3; i++) {
+                TaskEntity task = new TaskEntity();
+                task.setName("Task " + i);
+                task.setStatusOfTask(StatusOfTask.EXPECTATION);
+                task.setPriority(Priority.LOW_PRIORITY);
+                task.setExecutor(owner.getEmail());
+                task.setUser(owner);
+                taskIds.add(taskRepo.save(task).getId());
+            }
+        });
+    }
+
+    private TaskChangeFeed feedAt(LocalDateTime now) {
+        Clock clock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        return new TaskChangeFeed(taskRepo, clock, Duration.ofSeconds(10), Duration.ofHours(1));
+    }
+
+    private void setUpdated(Integer id, LocalDateTime updated) {
+        jdbcTemplate.update("UPDATE tasks SET updated_date = ? WHERE id = ?", updated, id);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM tasks");
+        jdbcTemplate.execute("DELETE FROM users");
+    }
+
+    @Test
+    void changesSince_ShouldReturnOnlyUpdatesAndTombstones_AfterCursor() {
+        TaskChangesPage full = feed.changesSince(null, 100);
+        assertEquals(taskIds, full.changes().stream().map(TaskDelta::id).toList());
+        assertFalse(full.hasMore());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            TaskEntity renamed = taskRepo.findTaskEntityById(taskIds.get(0));
+            renamed.setName("Renamed");
+            taskRepo.save(renamed);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            TaskEntity deleted = taskRepo.findTaskEntityById(taskIds.get(1));
+            deleted.setDeletedAt(LocalDateTime.now());
+            taskRepo.save(deleted);
+        });
+
+        List<TaskDelta> changes = feed.changesSince(full.nextCursor(), 100).changes();
+
+        assertEquals(2, changes.size());
+        assertEquals("Renamed", changes.get(0).task().getName());
+        assertEquals(1, changes.get(0).version());
+        assertEquals(taskIds.get(1), changes.get(1).id());
+        assertTrue(changes.get(1).deleted());
+        assertNull(changes.get(1).task());
+    }
+
+    @Test
+    void changesSince_ShouldContinueFromCursor_WhenPageIsFull() {
+        TaskChangesPage first = feed.changesSince(null, 2);
+        TaskChangesPage second = feed.changesSince(first.nextCursor(), 2);
+
+        assertEquals(taskIds.subList(0, 2), first.changes().stream().map(TaskDelta::id).toList());
+        assertTrue(first.hasMore());
+        assertEquals(taskIds.subList(2, 3), second.changes().stream().map(TaskDelta::id).toList());
+        assertFalse(second.hasMore());
+        assertTrue(feed.changesSince(second.nextCursor(), 2).changes().isEmpty());
+    }
+
+    @Test
+    void changesSince_ShouldLeaveUnsettledChanges_ForNextRequest() {
+        TaskChangeFeed settling = new TaskChangeFeed(taskRepo, Clock.systemDefaultZone(), Duration.ofMinutes(1),
+                Duration.ofHours(1));
+
+        TaskChangesPage page = settling.changesSince(null, 100);
+
+        assertTrue(page.changes().isEmpty());
+        assertEquals(3, feed.changesSince(page.nextCursor(), 100).changes().size());
+    }
+
+    @Test
+    void changesSince_ShouldDeliverWrite_CommittedAfterCursorMovedOnWithAnOlderStamp() {
+        LocalDateTime t0 = LocalDateTime.now().withNano(0);
+        setUpdated(taskIds.get(0), t0.minusSeconds(20));
+        setUpdated(taskIds.get(1), t0.minusSeconds(6));
+        setUpdated(taskIds.get(2), t0.minusSeconds(30));
+
+        TaskChangesPage first = feedAt(t0).changesSince(null, 100);
+        // a write stamped 4 s before the first sync, which waited on a row lock and committed only after it
+        jdbcTemplate.update("UPDATE tasks SET name = 'Late', updated_date = ?, version = version + 1 WHERE id = ?",
+                t0.minusSeconds(4), taskIds.get(2));
+        TaskChangesPage second = feedAt(t0.plusSeconds(20)).changesSince(first.nextCursor(), 100);
+
+        assertEquals(List.of(taskIds.get(2), taskIds.get(0)), first.changes().stream().map(TaskDelta::id).toList());
+        assertEquals(List.of(taskIds.get(1), taskIds.get(2)), second.changes().stream().map(TaskDelta::id).toList());
+        assertEquals("Late", second.changes().get(1).task().getName());
+    }
+
+    @Test
+    void checkSettle_ShouldRequireSettleLongerThanTransactionTimeout() {
+        assertThrows(IllegalStateException.class, () -> TaskChangeFeed.checkSettle(Duration.ofSeconds(5), 5));
+        assertDoesNotThrow(() -> TaskChangeFeed.checkSettle(Duration.ofSeconds(10), 5));
+        assertDoesNotThrow(() -> TaskChangeFeed.checkSettle(Duration.ZERO, TransactionDefinition.TIMEOUT_DEFAULT));
+    }
+
+    @Test
+    void changesSince_ShouldRejectCursor_OlderThanTombstoneRetention() {
+        String stale = new TaskSyncCursor(LocalDateTime.now().minusHours(2), 0).encode();
+
+        assertThrows(SyncCursorExpiredException.class, () -> feed.changesSince(stale, 100));
+        assertThrows(InvalidSyncCursorException.class, () -> feed.changesSince("not-a-cursor", 100));
+    }
+}
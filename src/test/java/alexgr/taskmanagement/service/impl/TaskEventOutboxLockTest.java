@@ -0,0 +1,102 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.event.TaskEventType;
+import alexgr.taskmanagement.entity.TaskEventEntity;
+import alexgr.taskmanagement.repository.TaskEventRepo;
+import alexgr.taskmanagement.utils.H2AdvisoryLocks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the outbox locking query of two relays in two open transactions.
+ * <p>
+ * H2 has no advisory locks, so they are provided by {@link H2AdvisoryLocks}. The second relay runs in a
+ * {@code REQUIRES_NEW} transaction while the first one still holds its rows and locks.
+ * </p>
+ */
+@JpaServiceTest
+class TaskEventOutboxLockTest {
+
+    @Autowired
+    private TaskEventRepo taskEventRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate newTransaction;
+
+    @BeforeEach
+    void setUp() {
+        H2AdvisoryLocks.register(jdbcTemplate);
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        H2AdvisoryLocks.releaseAll();
+        jdbcTemplate.execute("DELETE FROM task_events");
+    }
+
+    @Test
+    void lockNextBatch_ShouldLeaveOtherTasksToSecondRelay_WhenFirstRelayHoldsItsBatch() {
+        long first = save(10);
+        long second = save(10);
+        long otherTask = save(11);
+        long laterOfFirstTask = save(10);
+        long thirdTask = save(12);
+
+        List<List<Long>> batches = newTransaction.execute(outer -> {
+            List<Long> firstRelay = ids(taskEventRepo.lockNextBatch(2));
+            List<Long> secondRelay = newTransaction.execute(inner -> ids(taskEventRepo.lockNextBatch(10)));
+            return List.of(firstRelay, secondRelay);
+        });
+
+        assertEquals(List.of(first, second), batches.get(0));
+        assertEquals(List.of(otherTask, thirdTask), batches.get(1));
+        assertFalse(batches.get(1).contains(laterOfFirstTask));
+    }
+
+    @Test
+    void lockNextBatch_ShouldSkipLaterEventOfTask_WhenOlderEventIsOutsideTheBatch() {
+        long first = save(10);
+        long later = save(10);
+        long otherTask = save(11);
+
+        List<Long> secondRelay = newTransaction.execute(outer -> {
+            taskEventRepo.lockNextBatch(1);
+            // the advisory lock is gone while the first event is still pending, as after a rollback
+            H2AdvisoryLocks.releaseAll();
+            return newTransaction.execute(inner -> ids(taskEventRepo.lockNextBatch(10)));
+        });
+
+        assertEquals(List.of(otherTask), secondRelay);
+        assertFalse(secondRelay.contains(first) || secondRelay.contains(later));
+    }
+
+    private long save(int taskId) {
+        TaskEventEntity event = new TaskEventEntity();
+        event.setTaskId(taskId);
+        event.setEventType(TaskEventType.TASK_UPDATED);
+        event.setPayload("{}");
+        event.setCreatedDate(LocalDateTime.now());
+        return taskEventRepo.save(event).getId();
+    }
+
+    private static List<Long> ids(List<TaskEventEntity> events) {
+        return events.stream().map(TaskEventEntity::getId).toList();
+    }
+}
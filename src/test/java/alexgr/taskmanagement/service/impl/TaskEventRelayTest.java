@@ -0,0 +1,79 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.event.TaskEvent;
+import alexgr.taskmanagement.dto.event.TaskEventType;
+import alexgr.taskmanagement.entity.TaskEventEntity;
+import alexgr.taskmanagement.repository.TaskEventRepo;
+import alexgr.taskmanagement.service.TaskEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventRelayTest {
+
+    @Mock
+    private TaskEventRepo taskEventRepo;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private TaskEventSink sink;
+
+    private TaskEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new TaskEventRelay(taskEventRepo, transactionTemplate, List.of(sink), true, 2);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_ShouldDeliverBatchesInOrderAndDeleteThem() throws Exception {
+        List<TaskEventEntity> first = List.of(event(1L, 10), event(2L, 10));
+        List<TaskEventEntity> second = List.of(event(3L, 11));
+        when(taskEventRepo.lockNextBatch(2)).thenReturn(first, second);
+
+        relay.relay();
+
+        verify(sink).deliver(List.of(
+                new TaskEvent(1L, 10, TaskEventType.TASK_UPDATED, "{}", first.get(0).getCreatedDate()),
+                new TaskEvent(2L, 10, TaskEventType.TASK_UPDATED, "{}", first.get(1).getCreatedDate())));
+        verify(taskEventRepo).deleteAllInBatch(first);
+        verify(taskEventRepo).deleteAllInBatch(second);
+        verify(taskEventRepo, times(2)).lockNextBatch(2);
+    }
+
+    @Test
+    void relay_ShouldKeepEvents_WhenSinkFails() throws Exception {
+        List<TaskEventEntity> batch = List.of(event(1L, 10));
+        when(taskEventRepo.lockNextBatch(2)).thenReturn(batch);
+        doThrow(new IOException("disk full")).when(sink).deliver(any());
+
+        assertDoesNotThrow(() -> relay.relay());
+
+        verify(taskEventRepo, never()).deleteAllInBatch(any());
+    }
+
+    private static TaskEventEntity event(Long id, Integer taskId) {
+        TaskEventEntity event = new TaskEventEntity();
+        event.setId(id);
+        event.setTaskId(taskId);
+        event.setEventType(TaskEventType.TASK_UPDATED);
+        event.setPayload("{}");
+        event.setCreatedDate(LocalDateTime.of(2025, 1, 1, 12, 0).plusSeconds(id));
+        return event;
+    }
+}
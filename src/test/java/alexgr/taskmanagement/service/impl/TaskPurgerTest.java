@@ -0,0 +1,55 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.repository.TaskRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPurgerTest {
+
+    @Mock
+    private TaskRepo taskRepo;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void purge_ShouldDeleteCommentsInChunksBeforeTasks() {
+        TaskPurger purger = new TaskPurger(taskRepo, transactionTemplate, 60, 20, 2, 0, 60);
+        List<Integer> ids = List.of(7, 8);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskRepo.findPurgeableIds(any(), anyInt())).thenReturn(ids, List.of());
+        when(taskRepo.purgeComments(ids, 2)).thenReturn(2, 2, 1);
+        when(taskRepo.purgeTasks(ids)).thenReturn(2);
+
+        purger.purge();
+
+        InOrder inOrder = inOrder(taskRepo);
+        inOrder.verify(taskRepo, times(3)).purgeComments(ids, 2);
+        inOrder.verify(taskRepo).purgeUserLinks(ids);
+        inOrder.verify(taskRepo).purgeTasks(ids);
+        verify(taskRepo, times(2)).findPurgeableIds(any(), eq(20));
+    }
+
+    @Test
+    void purge_ShouldDoNothing_WhenNoTombstonesExpired() {
+        TaskPurger purger = new TaskPurger(taskRepo, transactionTemplate, 60, 20, 2, 0, 60);
+        when(taskRepo.findPurgeableIds(any(), anyInt())).thenReturn(List.of());
+
+        purger.purge();
+
+        verify(taskRepo, never()).purgeComments(any(), anyInt());
+        verifyNoInteractions(transactionTemplate);
+    }
+}
@@ -1,5 +1,6 @@
 package alexgr.taskmanagement.service.impl;
 
+import alexgr.taskmanagement.dto.event.TaskEventType;
 import alexgr.taskmanagement.dto.task.Priority;
 import alexgr.taskmanagement.dto.task.StatusOfTask;
 import alexgr.taskmanagement.dto.task.Task;
@@ -7,19 +8,29 @@ import alexgr.taskmanagement.entity.TaskEntity;
 import alexgr.taskmanagement.entity.UserEntity;
 import alexgr.taskmanagement.exceptions.IdNotFoundException;
 import alexgr.taskmanagement.exceptions.NameDuplicateException;
+import alexgr.taskmanagement.exceptions.TaskPreconditionFailedException;
+import alexgr.taskmanagement.exceptions.TaskVersionConflictException;
 import alexgr.taskmanagement.mapper.TaskConvertor;
 import alexgr.taskmanagement.repository.TaskRepo;
 import alexgr.taskmanagement.repository.UserRepo;
 import alexgr.taskmanagement.service.UserService;
+import alexgr.taskmanagement.utils.OptimisticLockRetrier;
+import alexgr.taskmanagement.utils.TaskMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +44,14 @@ class TaskServiceImplTest {
     private UserService userService;
     @Mock
     private TaskConvertor taskConvertor;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private TaskEventOutbox taskEventOutbox;
+    @Spy
+    private TaskMetrics taskMetrics = new TaskMetrics(new SimpleMeterRegistry());
+    @Spy
+    private OptimisticLockRetrier conflictRetrier = new OptimisticLockRetrier(new SimpleMeterRegistry(), 3, 0, 0);
 
     @InjectMocks
     private TaskServiceImpl taskService;
@@ -57,8 +76,134 @@ class TaskServiceImplTest {
         verify(taskConvertor, times(1)).convertToEntity(taskDto);
         verify(userRepo, times(1)).findUserByEmail("test@example.com");
         verify(taskRepo, times(1)).save(taskEntity);
+        verify(taskEventOutbox, times(1)).taskChanged(TaskEventType.TASK_CREATED, taskEntity);
         assertEquals(userEntity, taskEntity.getUser());
         assertEquals("test@example.com", taskEntity.getExecutor());
     }
 
-}
\ No newline at end of file
+    @Test
+    void updateTaskByAdmin_ShouldReapplyStatus_WhenConcurrentWriterChangedAnotherField() throws IdNotFoundException {
+        Task request = new Task(1, "Task", StatusOfTask.COMPLETE, Priority.LOW_PRIORITY, "desc", null);
+        TaskEntity firstRead = taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 0);
+        TaskEntity afterConflict = taskEntity(StatusOfTask.EXPECTATION, Priority.HIGH_PRIORITY, 1);
+        TaskEntity retryRead = taskEntity(StatusOfTask.EXPECTATION, Priority.HIGH_PRIORITY, 1);
+
+        runTransactionsInline();
+        when(taskRepo.findCurrentById(1)).thenReturn(firstRead, afterConflict, retryRead);
+        when(taskRepo.saveAndFlush(any(TaskEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TaskEntity.class, 1))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskEntity updated = taskService.updateTaskByAdmin(1, request);
+
+        assertSame(retryRead, updated);
+        assertEquals(StatusOfTask.COMPLETE, updated.getStatusOfTask());
+        assertEquals(Priority.HIGH_PRIORITY, updated.getPriority());
+        verify(taskRepo, times(2)).saveAndFlush(any(TaskEntity.class));
+        verify(taskEventOutbox, times(1)).taskChanged(TaskEventType.TASK_UPDATED, retryRead);
+    }
+
+    @Test
+    void updateTaskByAdmin_ShouldReportConflict_WhenConcurrentWriterRenamedTask() {
+        Task request = new Task(1, "Renamed by admin", StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, "desc", null);
+        TaskEntity firstRead = taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 0);
+        TaskEntity afterConflict = taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 1);
+        afterConflict.setName("Renamed by someone else");
+
+        runTransactionsInline();
+        when(taskRepo.findCurrentById(1)).thenReturn(firstRead, afterConflict);
+        when(taskRepo.saveAndFlush(any(TaskEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TaskEntity.class, 1));
+        when(taskRepo.findVersionById(1)).thenReturn(1);
+
+        TaskVersionConflictException exception = assertThrows(TaskVersionConflictException.class,
+                () -> taskService.updateTaskByAdmin(1, request));
+
+        assertEquals(1, exception.getCurrentVersion());
+        verify(taskRepo, times(1)).saveAndFlush(any(TaskEntity.class));
+        verifyNoInteractions(taskEventOutbox);
+    }
+
+    @Test
+    void updateTaskByAdmin_ShouldRejectUpdate_WhenIfMatchNamesStaleVersion() {
+        Task request = new Task(1, "Task", StatusOfTask.COMPLETE, Priority.LOW_PRIORITY, "desc", null);
+
+        runTransactionsInline();
+        when(taskRepo.findCurrentById(1)).thenReturn(taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 2));
+
+        TaskPreconditionFailedException exception = assertThrows(TaskPreconditionFailedException.class,
+                () -> taskService.updateTaskByAdmin(1, request, Set.of(1)));
+
+        assertEquals(2, exception.getCurrentVersion());
+        verify(taskRepo, never()).saveAndFlush(any(TaskEntity.class));
+        verifyNoInteractions(taskEventOutbox);
+    }
+
+    @Test
+    void updateTaskByAdmin_ShouldNotReapplyChange_WhenIfMatchGivenAndConcurrentWriterWins() {
+        Task request = new Task(1, "Task", StatusOfTask.COMPLETE, Priority.LOW_PRIORITY, "desc", null);
+        TaskEntity firstRead = taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 0);
+        TaskEntity afterConflict = taskEntity(StatusOfTask.EXPECTATION, Priority.HIGH_PRIORITY, 1);
+        TaskEntity retryRead = taskEntity(StatusOfTask.EXPECTATION, Priority.HIGH_PRIORITY, 1);
+
+        runTransactionsInline();
+        when(taskRepo.findCurrentById(1)).thenReturn(firstRead, afterConflict, retryRead);
+        when(taskRepo.saveAndFlush(any(TaskEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TaskEntity.class, 1));
+
+        TaskPreconditionFailedException exception = assertThrows(TaskPreconditionFailedException.class,
+                () -> taskService.updateTaskByAdmin(1, request, Set.of(0)));
+
+        assertEquals(1, exception.getCurrentVersion());
+        assertEquals(StatusOfTask.EXPECTATION, retryRead.getStatusOfTask());
+        verify(taskRepo, times(1)).saveAndFlush(any(TaskEntity.class));
+        verifyNoInteractions(taskEventOutbox);
+    }
+
+    @Test
+    void appointAnExecutor_ShouldReportConflict_WhenRetryBudgetIsExhausted() {
+        runTransactionsInline();
+        when(taskRepo.findCurrentById(1))
+                .thenAnswer(invocation -> taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 3));
+        when(taskRepo.saveAndFlush(any(TaskEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TaskEntity.class, 1));
+        when(taskRepo.findVersionById(1)).thenReturn(3);
+
+        TaskVersionConflictException exception = assertThrows(TaskVersionConflictException.class,
+                () -> taskService.appointAnExecutor(1, "executor@example.com"));
+
+        assertEquals(3, exception.getCurrentVersion());
+        verify(taskRepo, times(3)).saveAndFlush(any(TaskEntity.class));
+    }
+
+    @Test
+    void deleteTask_ShouldOnlyMarkTaskAsDeleted() throws IdNotFoundException {
+        TaskEntity taskEntity = taskEntity(StatusOfTask.EXPECTATION, Priority.LOW_PRIORITY, 0);
+        when(taskRepo.findCurrentById(1)).thenReturn(taskEntity);
+
+        taskService.deleteTask(1);
+
+        assertNotNull(taskEntity.getDeletedAt());
+        verify(taskRepo, times(1)).save(taskEntity);
+        verify(taskRepo, never()).delete(any(TaskEntity.class));
+        verify(taskEventOutbox, times(1)).taskChanged(TaskEventType.TASK_DELETED, taskEntity);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static TaskEntity taskEntity(StatusOfTask status, Priority priority, int version) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(1);
+        taskEntity.setName("Task");
+        taskEntity.setDescription("desc");
+        taskEntity.setStatusOfTask(status);
+        taskEntity.setPriority(priority);
+        taskEntity.setExecutor("owner@example.com");
+        taskEntity.setVersion(version);
+        return taskEntity;
+    }
+
+}
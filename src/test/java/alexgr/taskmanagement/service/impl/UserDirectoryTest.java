@@ -0,0 +1,67 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.user.UserDirectorySnapshot;
+import alexgr.taskmanagement.dto.user.UserDirectoryVersion;
+import alexgr.taskmanagement.repository.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock
+    private UserRepo userRepo;
+
+    @Test
+    void snapshot_ShouldServeCachedCopy_WithinRevalidationWindow() {
+        UserDirectory directory = new UserDirectory(userRepo, 60_000);
+        when(userRepo.findDirectoryVersion()).thenReturn(new UserDirectoryVersion(2L, 5));
+        when(userRepo.findAllEmails()).thenReturn(List.of("a@example.com", "b@example.com"));
+
+        UserDirectorySnapshot first = directory.snapshot();
+        UserDirectorySnapshot second = directory.snapshot();
+
+        assertSame(first, second);
+        assertEquals("W/\"users-2-5\"", first.etag());
+        assertEquals(List.of("a@example.com", "b@example.com"), first.emails());
+        verify(userRepo, times(1)).findDirectoryVersion();
+        verify(userRepo, times(1)).findAllEmails();
+    }
+
+    @Test
+    void snapshot_ShouldKeepEmails_WhenVersionIsUnchangedAfterInvalidate() {
+        UserDirectory directory = new UserDirectory(userRepo, 60_000);
+        when(userRepo.findDirectoryVersion()).thenReturn(new UserDirectoryVersion(1L, 1));
+        when(userRepo.findAllEmails()).thenReturn(List.of("a@example.com"));
+
+        UserDirectorySnapshot first = directory.snapshot();
+        directory.invalidate();
+        UserDirectorySnapshot second = directory.snapshot();
+
+        assertSame(first, second);
+        verify(userRepo, times(2)).findDirectoryVersion();
+        verify(userRepo, times(1)).findAllEmails();
+    }
+
+    @Test
+    void snapshot_ShouldRebuild_WhenVersionChanged() {
+        UserDirectory directory = new UserDirectory(userRepo, 0);
+        when(userRepo.findDirectoryVersion()).thenReturn(new UserDirectoryVersion(1L, 1),
+                new UserDirectoryVersion(2L, 4));
+        when(userRepo.findAllEmails()).thenReturn(List.of("a@example.com"),
+                List.of("a@example.com", "new@example.com"));
+
+        directory.snapshot();
+        UserDirectorySnapshot rebuilt = directory.snapshot();
+
+        assertEquals("W/\"users-2-4\"", rebuilt.etag());
+        assertEquals(List.of("a@example.com", "new@example.com"), rebuilt.emails());
+    }
+}
@@ -0,0 +1,115 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.auth.AuthPayload;
+import alexgr.taskmanagement.dto.role.Role;
+import alexgr.taskmanagement.dto.user.ProvisioningResult;
+import alexgr.taskmanagement.dto.user.ProvisioningResult.Status;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
+import alexgr.taskmanagement.entity.RoleEntity;
+import alexgr.taskmanagement.repository.UserBatchWriter;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserBatchWriter batchWriter;
+    @Mock
+    private RoleTable roleTable;
+    @Mock
+    private UserDirectory userDirectory;
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    private UserProvisioningService provisioningService;
+    private final List<ProvisioningResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        provisioningService = new UserProvisioningService(passwordEncoder, batchWriter, roleTable, userDirectory,
+                userSearchIndex, VALIDATOR, 2, 2, 100, 600000);
+        RoleEntity roleEntity = new RoleEntity();
+        roleEntity.setRole(Role.USER);
+        lenient().when(roleTable.get(Role.USER)).thenReturn(roleEntity);
+        lenient().when(passwordEncoder.encode(any())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        provisioningService.shutdown();
+    }
+
+    @Test
+    void provision_ShouldInsertInBatches_AndReportEveryUser() {
+        when(batchWriter.insert(Map.of("a@example.com", "hash:password1", "b@example.com", "hash:password2"), Role.USER))
+                .thenReturn(Map.of("a@example.com", 1, "b@example.com", 2));
+        when(batchWriter.insert(Map.of("c@example.com", "hash:password3"), Role.USER))
+                .thenReturn(Map.of());
+
+        provisioningService.provision(List.of(user("a@example.com", "password1"), user("b@example.com", "password2"),
+                user("c@example.com", "password3")), results::add);
+
+        assertEquals(List.of(ProvisioningResult.created("a@example.com", 1), ProvisioningResult.created("b@example.com", 2),
+                ProvisioningResult.rejected("c@example.com", Status.DUPLICATE, "Email is already registered")), results);
+        verify(batchWriter, times(2)).insert(any(), eq(Role.USER));
+        verify(userSearchIndex).put(new UserSuggestion(1, "a@example.com", null, null));
+        verify(userSearchIndex).put(new UserSuggestion(2, "b@example.com", null, null));
+        verify(userDirectory).invalidate();
+    }
+
+    @Test
+    void provision_ShouldRejectInvalidAndRepeatedUsers_WithoutHashingThem() {
+        when(batchWriter.insert(Map.of("a@example.com", "hash:password1"), Role.USER))
+                .thenReturn(Map.of("a@example.com", 1));
+
+        provisioningService.provision(List.of(user("not-an-email", "password1"), user("b@example.com", "short"),
+                user("a@example.com", "password1"), user("a@example.com", "password2")), results::add);
+
+        assertEquals(Status.INVALID, results.get(0).status());
+        assertEquals(Status.INVALID, results.get(1).status());
+        assertEquals("password: Пароль не может быть меньше 8 и больше 16 символов", results.get(1).message());
+        assertEquals(Status.DUPLICATE, results.get(2).status());
+        assertEquals(ProvisioningResult.created("a@example.com", 1), results.get(3));
+        verify(passwordEncoder, times(1)).encode(any());
+    }
+
+    @Test
+    void provision_ShouldReportBatchAsFailed_WhenInsertFails() {
+        when(batchWriter.insert(any(), eq(Role.USER))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        provisioningService.provision(List.of(user("a@example.com", "password1")), results::add);
+
+        assertEquals(List.of(ProvisioningResult.rejected("a@example.com", Status.FAILED, "The user could not be saved")),
+                results);
+        verifyNoInteractions(userDirectory, userSearchIndex);
+    }
+
+    private static AuthPayload user(String email, String password) {
+        AuthPayload payload = new AuthPayload();
+        payload.setEmail(email);
+        payload.setPassword(password);
+        return payload;
+    }
+}
@@ -0,0 +1,100 @@
+package alexgr.taskmanagement.service.impl;
+
+import alexgr.taskmanagement.dto.user.UserSuggestion;
+import alexgr.taskmanagement.repository.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    private static final UserSuggestion JOHN = new UserSuggestion(1, "john.doe@example.com", "John", "Doe");
+    private static final UserSuggestion JANE = new UserSuggestion(2, "jane@example.com", "Jane", "Johnson");
+    private static final UserSuggestion BOB = new UserSuggestion(3, "bob@example.com", null, null);
+
+    @Mock
+    private UserRepo userRepo;
+
+    @Test
+    void search_ShouldMatchEmailAndNames_IgnoringCase() {
+        UserSearchIndex index = new UserSearchIndex(userRepo, 2);
+        when(userRepo.findSuggestionPage(0, Limit.of(2))).thenReturn(List.of(JOHN, JANE));
+        when(userRepo.findSuggestionPage(2, Limit.of(2))).thenReturn(List.of(BOB));
+        index.rebuild();
+
+        assertEquals(List.of(JOHN, JANE), index.search(" JO", 10));
+        assertEquals(List.of(JANE), index.search("jane", 10));
+        assertEquals(List.of(JOHN), index.search("john d", 10));
+        assertEquals(List.of(BOB), index.search("bob@", 10));
+        assertEquals(List.of(JOHN), index.search("jo", 1));
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTerms_ForSameEmail() {
+        UserSearchIndex index = new UserSearchIndex(userRepo, 100);
+        index.put(JOHN);
+
+        index.put(new UserSuggestion(1, "john.doe@example.com", "Jonathan", "Smith"));
+
+        assertTrue(index.search("doe", 10).isEmpty());
+        assertEquals("Smith", index.search("smi", 10).get(0).lastName());
+        assertEquals(1, index.search("jo", 10).size());
+    }
+
+    @Test
+    void rebuild_ShouldReplaceIndex_WithDatabaseContent() {
+        UserSearchIndex index = new UserSearchIndex(userRepo, 100);
+        when(userRepo.findSuggestionPage(0, Limit.of(100))).thenReturn(List.of(JOHN));
+        index.put(BOB);
+
+        index.rebuild();
+
+        assertTrue(index.search("bob", 10).isEmpty());
+        assertEquals(List.of(JOHN), index.search("john", 10));
+    }
+
+    @Test
+    void rebuild_ShouldKeepUserPut_WhileItsOldRowWasBeingLoaded() {
+        UserSearchIndex index = new UserSearchIndex(userRepo, 100);
+        UserSuggestion renamed = new UserSuggestion(1, "john.doe@example.com", "Jonathan", "Smith");
+        when(userRepo.findSuggestionPage(0, Limit.of(100))).thenAnswer(invocation -> {
+            index.put(renamed);
+            return List.of(JOHN);
+        });
+
+        index.rebuild();
+
+        assertTrue(index.search("doe", 10).isEmpty());
+        assertEquals(List.of(renamed), index.search("smith", 10));
+    }
+
+    @Test
+    void put_ShouldPublishOnlyAfterCommit_WhenCalledInTransaction() {
+        UserSearchIndex index = new UserSearchIndex(userRepo, 100);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(JOHN);
+            index.put(BOB);
+            assertTrue(index.search("john", 10).isEmpty());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(JOHN), index.search("john", 10));
+        assertTrue(index.search("bob", 10).isEmpty());
+    }
+}
@@ -1,6 +1,9 @@
 package alexgr.taskmanagement.service.impl;
 
 import alexgr.taskmanagement.dto.user.UpdateUser;
+import alexgr.taskmanagement.dto.user.UserDirectoryEntry;
+import alexgr.taskmanagement.dto.user.UserDirectoryPage;
+import alexgr.taskmanagement.dto.user.UserSuggestion;
 import alexgr.taskmanagement.entity.UserEntity;
 import alexgr.taskmanagement.exceptions.UserEmailNotFoundException;
 import alexgr.taskmanagement.repository.UserRepo;
@@ -9,6 +12,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +25,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepo userRepo;
 
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
     @InjectMocks
     private UserServiceImpl userService;
     @Test
@@ -42,6 +54,7 @@ class UserServiceImplTest {
         verify(userRepo, times(1)).save(existingUser);
         assertEquals("UpdatedFirstName", existingUser.getFirstName());
         assertEquals("UpdatedLastName", existingUser.getLastName());
+        verify(userSearchIndex).put(new UserSuggestion(null, "test@example.com", "UpdatedFirstName", "UpdatedLastName"));
         assertEquals(updateUser, result);
     }
 
@@ -61,4 +74,27 @@ class UserServiceImplTest {
         verify(userRepo, times(1)).findUserByEmail("nonexistent@example.com");
         verifyNoMoreInteractions(userRepo);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserDirectory_ShouldReturnCursor_WhenPageIsFull() {
+        List<UserDirectoryEntry> users = List.of(new UserDirectoryEntry(3, "a@example.com"),
+                new UserDirectoryEntry(8, "b@example.com"));
+        when(userRepo.findDirectoryPage(0, Limit.of(2))).thenReturn(users);
+
+        UserDirectoryPage page = userService.getUserDirectory(null, 2);
+
+        assertEquals(users, page.users());
+        assertEquals(8, page.nextAfter());
+    }
+
+    @Test
+    void getUserDirectory_ShouldClampSize_AndEndOnShortPage() {
+        when(userRepo.findDirectoryPage(8, Limit.of(UserServiceImpl.MAX_DIRECTORY_PAGE_SIZE)))
+                .thenReturn(List.of(new UserDirectoryEntry(9, "c@example.com")));
+
+        UserDirectoryPage page = userService.getUserDirectory(8, 50_000);
+
+        assertEquals(1, page.users().size());
+        assertNull(page.nextAfter());
+    }
+}
@@ -0,0 +1,42 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.utils.ConnectionPoolSelfCheck.PoolShape;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolSelfCheckTest {
+
+    @Test
+    void evaluate_ShouldReturnNoWarnings_WhenPoolFitsThreads() {
+        assertTrue(ConnectionPoolSelfCheck.evaluate(new PoolShape(17, 3000, 120, 8, 10, 5000)).isEmpty());
+    }
+
+    @Test
+    void evaluate_ShouldWarn_WhenPoolIsLargerThanThreads() {
+        List<String> warnings = ConnectionPoolSelfCheck.evaluate(new PoolShape(30, 3000, 20, 8, 10, 5000));
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("only 20 threads"));
+    }
+
+    @Test
+    void evaluate_ShouldWarn_WhenTooManyThreadsShareEachConnection() {
+        List<String> warnings = ConnectionPoolSelfCheck.evaluate(new PoolShape(10, 3000, 209, 4, 10, 5000));
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("209 threads share 10 connections"));
+    }
+
+    @Test
+    void evaluate_ShouldWarnAboutTimeoutAndSize_WhenVirtualThreadsWaitLongOnLargePool() {
+        List<String> warnings = ConnectionPoolSelfCheck.evaluate(new PoolShape(50, 30000, null, 4, 10, 5000));
+
+        assertEquals(2, warnings.size());
+        assertTrue(warnings.get(0).contains("wait 30000 ms"));
+        assertTrue(warnings.get(1).contains("50 connections for 4 cores"));
+    }
+}
@@ -0,0 +1,96 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.dto.diagnostics.FlightRecordingDump;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path dumpDir;
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecorderService(true, 5, 50, dumpDir.toString(), 2, 100);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void dump_ShouldWriteTaskOperationEvents_WhenRecording() throws Exception {
+        TaskOperationEvent event = TaskOperationEvent.begin(TaskOperationEvent.SEARCH);
+        event.succeeded(null, 7);
+        event.commit();
+
+        FlightRecordingDump dump = service.dump(60);
+
+        assertEquals(5, dump.minutes());
+        Path file = service.resolveDump(dump.fileName());
+        assertEquals(dumpDir.resolve(dump.fileName()), file);
+        assertEquals(Files.size(file), dump.sizeBytes());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("alexgr.taskmanagement.TaskOperation"))
+                .toList();
+        assertTrue(events.stream().anyMatch(e -> TaskOperationEvent.SEARCH.equals(e.getString("operation"))
+                && e.getInt("rows") == 7 && e.getBoolean("succeeded")));
+    }
+
+    @Test
+    void dump_ShouldDeleteOldestDumps_WhenMoreThanMaxFiles() throws Exception {
+        Path oldest = dumpDir.resolve("taskmanagement-20260101-120000.jfr");
+        Path older = dumpDir.resolve("taskmanagement-20260101-130000.jfr");
+        Path unrelated = dumpDir.resolve("other.jfr");
+        Files.writeString(oldest, "x");
+        Files.writeString(older, "x");
+        Files.writeString(unrelated, "x");
+        Files.setLastModifiedTime(oldest, FileTime.from(Instant.parse("2026-01-01T12:00:00Z")));
+        Files.setLastModifiedTime(older, FileTime.from(Instant.parse("2026-01-01T13:00:00Z")));
+
+        FlightRecordingDump dump = service.dump(1);
+
+        assertTrue(Files.exists(dumpDir.resolve(dump.fileName())));
+        assertTrue(Files.exists(older));
+        assertFalse(Files.exists(oldest));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void resolveDump_ShouldRejectNamesOutsideDumpDirectory() throws Exception {
+        Files.writeString(dumpDir.resolve("other.jfr"), "x");
+
+        assertNull(service.resolveDump("../taskmanagement-20260101-120000.jfr"));
+        assertNull(service.resolveDump("other.jfr"));
+        assertNull(service.resolveDump("taskmanagement-20260101-120000.jfr"));
+    }
+
+    @Test
+    void dump_ShouldFail_WhenRecordingIsDisabled() {
+        FlightRecorderService disabled = new FlightRecorderService(false, 5, 50, dumpDir.toString(), 2, 100);
+        disabled.start();
+
+        assertFalse(disabled.isRecording());
+        assertThrows(IllegalStateException.class, () -> disabled.dump(10));
+    }
+}
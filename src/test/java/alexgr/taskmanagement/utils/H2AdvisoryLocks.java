@@ -0,0 +1,65 @@
+package alexgr.taskmanagement.utils;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-ins for PostgreSQL's {@code pg_try_advisory_xact_lock} and {@code hashtext} in the H2 test database.
+ * <p>
+ * A lock belongs to the H2 session that took it first and is held until {@link #releaseAll()}, which the test
+ * calls once its transactions are over; H2 gives no hook to release it at commit.
+ * </p>
+ * <pre>
+ * H2AdvisoryLocks.register(jdbcTemplate);
+ * </pre>
+ */
+public final class H2AdvisoryLocks {
+
+    private static final Map<String, Integer> LOCKS = new ConcurrentHashMap<>();
+
+    private H2AdvisoryLocks() {
+    }
+
+    /**
+     * Registers the functions as aliases in the database behind the template.
+     *
+     * @param jdbcTemplate the template of the H2 database.
+     */
+    public static void register(JdbcTemplate jdbcTemplate) {
+        String owner = H2AdvisoryLocks.class.getName();
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS pg_try_advisory_xact_lock FOR '" + owner + ".tryLock'");
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS hashtext FOR '" + owner + ".hashText'");
+    }
+
+    /**
+     * Releases every lock.
+     */
+    public static void releaseAll() {
+        LOCKS.clear();
+    }
+
+    /**
+     * Takes the lock for the calling session, which H2 passes as the connection.
+     *
+     * @return {@code true} if the session holds the lock, also when it already did.
+     */
+    public static boolean tryLock(Connection connection, int namespace, int key) throws SQLException {
+        int session;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT SESSION_ID()")) {
+            rs.next();
+            session = rs.getInt(1);
+        }
+        return LOCKS.computeIfAbsent(namespace + ":" + key, ignored -> session) == session;
+    }
+
+    public static int hashText(String text) {
+        return text.hashCode();
+    }
+}
@@ -0,0 +1,50 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.utils.SchemaIndexCheck.AccessPath;
+import alexgr.taskmanagement.utils.SchemaIndexCheck.SchemaIndexes;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaIndexCheckTest {
+
+    private static final AccessPath SEARCH = new AccessPath("tasks", List.of("status", "priority"), "search");
+    private static final AccessPath TASK_FK = new AccessPath("comments", List.of("task_id"), "the foreign key to tasks");
+
+    @Test
+    void evaluate_ShouldReturnNoWarnings_WhenIndexesStartWithPathColumns() {
+        SchemaIndexes schema = new SchemaIndexes(List.of(SEARCH, TASK_FK), Map.of(
+                "tasks", List.of(List.of("id"), List.of("status", "priority", "id")),
+                "comments", List.of(List.of("task_id"))), List.of());
+
+        assertTrue(SchemaIndexCheck.evaluate(schema).isEmpty());
+    }
+
+    @Test
+    void evaluate_ShouldWarn_WhenIndexColumnsAreInAnotherOrder() {
+        SchemaIndexes schema = new SchemaIndexes(List.of(SEARCH, TASK_FK), Map.of(
+                "tasks", List.of(List.of("priority", "status")),
+                "comments", List.of(List.of("user_id", "task_id"))), List.of());
+
+        List<String> warnings = SchemaIndexCheck.evaluate(schema);
+
+        assertEquals(2, warnings.size());
+        assertTrue(warnings.get(0).startsWith("No index on tasks(status, priority) for search"));
+        assertTrue(warnings.get(1).startsWith("No index on comments(task_id) for the foreign key to tasks"));
+    }
+
+    @Test
+    void evaluate_ShouldWarn_WhenIndexIsInvalid() {
+        SchemaIndexes schema = new SchemaIndexes(List.of(TASK_FK), Map.of(
+                "comments", List.of(List.of("task_id"))), List.of("idx_comments_task_id"));
+
+        List<String> warnings = SchemaIndexCheck.evaluate(schema);
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).startsWith("Index idx_comments_task_id is invalid"));
+    }
+}
@@ -0,0 +1,38 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.dto.diagnostics.SlowRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowRequestRecorderTest {
+
+    private final SlowRequestRecorder recorder = new SlowRequestRecorder(3, 500);
+
+    @Test
+    void recent_ShouldReturnNewestFirst_AndDropOldest_WhenBufferIsFull() {
+        for (int i = 1; i <= 5; i++) {
+            recorder.record(request("/task/" + i));
+        }
+
+        List<SlowRequest> recent = recorder.recent();
+
+        assertEquals(List.of("/task/5", "/task/4", "/task/3"), recent.stream().map(SlowRequest::uri).toList());
+    }
+
+    @Test
+    void isSlow_ShouldCompareWithThreshold() {
+        assertFalse(recorder.isSlow(499_000_000L));
+        assertTrue(recorder.isSlow(500_000_000L));
+    }
+
+    private static SlowRequest request(String uri) {
+        return new SlowRequest(Instant.now(), "GET", uri, 200, 600, Map.of(), 0, List.of());
+    }
+}
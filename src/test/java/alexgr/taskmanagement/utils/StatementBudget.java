@@ -0,0 +1,83 @@
+package alexgr.taskmanagement.utils;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * Test assertion that limits the SQL statements an operation may issue.
+ * <p>
+ * Statements are collected through {@link SqlStatementCounter}, which must be registered as Hibernate's statement
+ * inspector (import {@code MetricsConfig}). A failure lists every statement issued, so a lazy load added to a read
+ * path shows up as the repeated query in the message. Statements sent through {@code JdbcTemplate} are not seen.
+ * </p>
+ * <pre>
+ * Page&lt;Task&gt; page = StatementBudget.atMost(2, "getAllTasks", () -&gt; taskService.getAllTasks(pageable));
+ * </pre>
+ */
+public final class StatementBudget {
+
+    private static final int MAX_LISTED = 200;
+
+    private StatementBudget() {
+    }
+
+    /**
+     * Runs an operation and fails if it issues more SQL statements than allowed.
+     *
+     * @param budget    the maximum number of statements.
+     * @param operation the name of the operation, for the failure message.
+     * @param call      the operation.
+     * @param <T>       the result type.
+     * @return the result of the operation.
+     */
+    public static <T> T atMost(int budget, String operation, ThrowingSupplier<T> call) {
+        RequestTrace trace = RequestTrace.begin(MAX_LISTED);
+        T result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            throw new AssertionFailedError(operation + " failed after " + describe(trace), e);
+        } finally {
+            RequestTrace.end();
+        }
+        if (trace.statementCount() > budget) {
+            throw new AssertionFailedError(String.format("%s: expected at most %d SQL statements, got %s",
+                    operation, budget, describe(trace)));
+        }
+        return result;
+    }
+
+    /**
+     * Runs an operation and returns how many SQL statements it issued.
+     *
+     * @param call the operation.
+     * @return the number of statements.
+     */
+    public static int count(ThrowingSupplier<?> call) {
+        RequestTrace trace = RequestTrace.begin(0);
+        try {
+            call.get();
+        } catch (Throwable e) {
+            throw new AssertionFailedError("operation failed", e);
+        } finally {
+            RequestTrace.end();
+        }
+        return trace.statementCount();
+    }
+
+    private static String describe(RequestTrace trace) {
+        StringBuilder message = new StringBuilder().append(trace.statementCount()).append(" statements:");
+        List<String> statements = trace.statements();
+        for (int i = 0; i < statements.size(); i++) {
+            message.append(System.lineSeparator()).append("  ").append(i + 1).append(". ")
+                    .append(statements.get(i).replaceAll("\\s+", " ").trim());
+        }
+        if (trace.statementCount() > statements.size()) {
+            message.append(System.lineSeparator()).append("  ... ")
+                    .append(trace.statementCount() - statements.size()).append(" more");
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package alexgr.taskmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TaskETagTest {
+
+    @Test
+    void ifMatchVersions_ShouldReadVersionsOfTheTask_FromTagList() {
+        String ifMatch = TaskETag.of(7, 3) + ", " + TaskETag.of(7, 4) + ", " + TaskETag.of(8, 5);
+
+        assertEquals(Set.of(3, 4), TaskETag.ifMatchVersions(7, ifMatch));
+    }
+
+    @Test
+    void ifMatchVersions_ShouldIgnoreWeakTags() {
+        assertEquals(Set.of(), TaskETag.ifMatchVersions(7, "W/" + TaskETag.of(7, 3)));
+    }
+
+    @Test
+    void ifMatchVersions_ShouldBeUnconditional_WhenHeaderIsMissingOrWildcard() {
+        assertNull(TaskETag.ifMatchVersions(7, null));
+        assertNull(TaskETag.ifMatchVersions(7, " * "));
+    }
+}
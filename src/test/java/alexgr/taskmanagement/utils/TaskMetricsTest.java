@@ -0,0 +1,41 @@
+package alexgr.taskmanagement.utils;
+
+import alexgr.taskmanagement.dto.event.TaskEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskMetrics taskMetrics = new TaskMetrics(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void taskChanged_ShouldCountImmediately_WhenNoTransactionIsActive() {
+        taskMetrics.taskChanged(TaskEventType.TASK_CREATED);
+
+        assertEquals(1.0, meterRegistry.get("task.changes").tag("type", "task_created").counter().count());
+    }
+
+    @Test
+    void commentAdded_ShouldCountOnlyAfterCommit_WhenTransactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        taskMetrics.commentAdded();
+        assertEquals(0.0, meterRegistry.get("comments.added").tag("mode", "sync").counter().count());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1.0, meterRegistry.get("comments.added").tag("mode", "sync").counter().count());
+    }
+}